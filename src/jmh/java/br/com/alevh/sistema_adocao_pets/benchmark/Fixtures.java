@@ -0,0 +1,136 @@
+package br.com.alevh.sistema_adocao_pets.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import br.com.alevh.sistema_adocao_pets.data.dto.common.CpfVO;
+import br.com.alevh.sistema_adocao_pets.data.dto.common.DescricaoVO;
+import br.com.alevh.sistema_adocao_pets.data.dto.common.EnderecoVO;
+import br.com.alevh.sistema_adocao_pets.data.dto.common.SiteVO;
+import br.com.alevh.sistema_adocao_pets.data.dto.security.RegistroDTO;
+import br.com.alevh.sistema_adocao_pets.enums.StatusAdocao;
+import br.com.alevh.sistema_adocao_pets.enums.StatusAnimal;
+import br.com.alevh.sistema_adocao_pets.model.Administrador;
+import br.com.alevh.sistema_adocao_pets.model.Adocao;
+import br.com.alevh.sistema_adocao_pets.model.Animal;
+import br.com.alevh.sistema_adocao_pets.model.Ong;
+import br.com.alevh.sistema_adocao_pets.model.Usuario;
+import br.com.alevh.sistema_adocao_pets.security.Roles;
+
+// dados fixos usados pelos benchmarks, parecidos com as cargas iniciais do
+// Flyway
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static EnderecoVO endereco() {
+        return new EnderecoVO("Rua das Flores", "123", "Sala 2", "Centro", "São Paulo", "SP", "01001000");
+    }
+
+    static DescricaoVO descricao() {
+        DescricaoVO descricao = new DescricaoVO();
+        descricao.setGeral("Dócil, brincalhão e se dá bem com crianças");
+        descricao.setHistoricoSaude("Castrado, sem doenças pré-existentes");
+        descricao.setVacinacao("V10 e antirrábica em dia");
+        return descricao;
+    }
+
+    static SiteVO site() {
+        SiteVO site = new SiteVO();
+        site.setSite("https://patinhas.org.br");
+        site.setInstagram("https://instagram.com/patinhas");
+        site.setWhatsapp("https://wa.me/5511912345678");
+        return site;
+    }
+
+    static Ong ong() {
+        Ong ong = new Ong();
+        ong.setIdOng(1L);
+        ong.setNome("Patinhas Felizes");
+        ong.setNomeUsuario("patinhas");
+        ong.setEmail("contato@patinhas.org.br");
+        ong.setSenha("$2a$10$abcdefghijklmnopqrstuv");
+        ong.setCell("(11) 91234-5678");
+        ong.setCnpj("12.345.678/0001-95");
+        ong.setResponsavel("Maria Silva");
+        ong.setDescricao("Resgate e adoção de cães e gatos");
+        ong.setEndereco(endereco());
+        ong.setSite(site());
+        ong.setRole(Roles.ONG);
+        return ong;
+    }
+
+    static Animal animal(long id, Ong ong) {
+        Animal animal = new Animal();
+        animal.setIdAnimal(id);
+        animal.setNome("Rex " + id);
+        animal.setEspecie("Cachorro");
+        animal.setRaca("SRD");
+        animal.setDataNascimento(LocalDate.of(2022, 3, 10));
+        animal.setFoto("https://cdn.patinhas.org.br/rex.jpg");
+        animal.setDescricao(descricao());
+        animal.setPorte("Médio");
+        animal.setSexo("Macho");
+        animal.setStatus(StatusAnimal.DISPONIVEL);
+        animal.setOng(ong);
+        return animal;
+    }
+
+    static List<Animal> animais(int quantidade) {
+        Ong ong = ong();
+        List<Animal> animais = new ArrayList<>(quantidade);
+        for (int i = 1; i <= quantidade; i++) {
+            animais.add(animal(i, ong));
+        }
+        return animais;
+    }
+
+    static Usuario usuario() {
+        Usuario usuario = new Usuario();
+        usuario.setIdUsuario(1L);
+        usuario.setNome("João Souza");
+        usuario.setNomeUsuario("joaosouza");
+        usuario.setEmail("joao@email.com");
+        usuario.setSenha("$2a$10$abcdefghijklmnopqrstuv");
+        usuario.setCell("(11) 99876-5432");
+        usuario.setCpf("123.456.789-09");
+        usuario.setRole(Roles.USER);
+        return usuario;
+    }
+
+    static RegistroDTO registro() {
+        RegistroDTO registro = new RegistroDTO();
+        registro.setNome("João Souza");
+        registro.setNomeUsuario("joaosouza");
+        registro.setEmail("joao@email.com");
+        registro.setPassword("123456");
+        registro.setFotoPerfil("https://cdn.patinhas.org.br/joao.jpg");
+        registro.setCell("(11) 99876-5432");
+        registro.setCpf(new CpfVO("123.456.789-09"));
+        return registro;
+    }
+
+    static Adocao adocao() {
+        Adocao adocao = new Adocao();
+        adocao.setIdAdocao(1L);
+        adocao.setDataAdocao(LocalDate.of(2025, 1, 15));
+        adocao.setStatus(StatusAdocao.APROVADA);
+        adocao.setUsuario(usuario());
+        adocao.setAnimal(animal(1L, ong()));
+        return adocao;
+    }
+
+    static Administrador administrador() {
+        Administrador administrador = new Administrador();
+        administrador.setIdAdministrador(1L);
+        administrador.setNome("Admin");
+        administrador.setNomeUsuario("admin");
+        administrador.setEmail("admin@adocoes.com");
+        administrador.setSenha("$2a$10$abcdefghijklmnopqrstuv");
+        administrador.setCell("(11) 90000-0000");
+        administrador.setRole(Roles.ADMIN);
+        return administrador;
+    }
+}
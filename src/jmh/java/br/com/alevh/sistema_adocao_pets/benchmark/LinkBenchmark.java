@@ -0,0 +1,99 @@
+package br.com.alevh.sistema_adocao_pets.benchmark;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.Link;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import br.com.alevh.sistema_adocao_pets.controller.AdministradorController;
+import br.com.alevh.sistema_adocao_pets.controller.AdocaoController;
+import br.com.alevh.sistema_adocao_pets.controller.AnimalController;
+import br.com.alevh.sistema_adocao_pets.controller.OngController;
+import br.com.alevh.sistema_adocao_pets.controller.UsuarioController;
+import br.com.alevh.sistema_adocao_pets.util.LinkFactory;
+
+// montagem de links HATEOAS feita para cada item das páginas nos *Service.findAll:
+// linkTo(methodOn(...)) x LinkFactory (o estado é por thread porque o
+// RequestContextHolder é ThreadLocal)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkBenchmark {
+
+    private long id;
+
+    private String baseUri;
+
+    @Setup
+    public void setup() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/animais");
+        request.setServerName("localhost");
+        request.setServerPort(8080);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        baseUri = LinkFactory.baseUri();
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public Link animalSelf() {
+        return linkTo(methodOn(AnimalController.class).acharAnimalPorId(++id)).withSelfRel();
+    }
+
+    @Benchmark
+    public Link ongSelf() {
+        return linkTo(methodOn(OngController.class).acharOngPorId(++id)).withSelfRel();
+    }
+
+    @Benchmark
+    public Link usuarioSelf() {
+        return linkTo(methodOn(UsuarioController.class).acharUsuarioPorId(++id)).withSelfRel();
+    }
+
+    @Benchmark
+    public Link adocaoSelf() {
+        return linkTo(methodOn(AdocaoController.class).acharAdocaoPorId(++id)).withSelfRel();
+    }
+
+    @Benchmark
+    public Link administradorSelf() {
+        return linkTo(methodOn(AdministradorController.class).acharAdministradorPorId(++id)).withSelfRel();
+    }
+
+    @Benchmark
+    public Link paginaAnimais() {
+        return linkTo(methodOn(AnimalController.class).listarAnimais(0, 10, "asc", null)).withSelfRel();
+    }
+
+    @Benchmark
+    public Link animalSelfTemplate() {
+        return LinkFactory.self(baseUri, LinkFactory.ANIMAL_POR_ID, ++id);
+    }
+
+    @Benchmark
+    public Link paginaAnimaisTemplate() {
+        return LinkFactory.self(baseUri, LinkFactory.ANIMAIS, 0, 10, "asc");
+    }
+}
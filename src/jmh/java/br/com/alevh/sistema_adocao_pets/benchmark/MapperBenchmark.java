@@ -0,0 +1,138 @@
+package br.com.alevh.sistema_adocao_pets.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.dozermapper.core.DozerBeanMapperBuilder;
+import com.github.dozermapper.core.Mapper;
+
+import br.com.alevh.sistema_adocao_pets.data.dto.security.RegistroDTO;
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.AdministradorDTO;
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.AdocaoDTO;
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.AnimalDTO;
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.OngDTO;
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.UsuarioDTO;
+import br.com.alevh.sistema_adocao_pets.mapper.DozerMapper;
+import br.com.alevh.sistema_adocao_pets.model.Administrador;
+import br.com.alevh.sistema_adocao_pets.model.Adocao;
+import br.com.alevh.sistema_adocao_pets.model.Animal;
+import br.com.alevh.sistema_adocao_pets.model.Ong;
+import br.com.alevh.sistema_adocao_pets.model.Usuario;
+
+// DozerMapper.parseObject para cada par entidade/DTO usado pelos services; os
+// métodos dozer* medem o Dozer puro como referência
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private Mapper dozer;
+
+    private Animal animal;
+    private AnimalDTO animalDTO;
+    private Ong ong;
+    private OngDTO ongDTO;
+    private Usuario usuario;
+    private UsuarioDTO usuarioDTO;
+    private RegistroDTO registro;
+    private Adocao adocao;
+    private AdocaoDTO adocaoDTO;
+    private Administrador administrador;
+    private AdministradorDTO administradorDTO;
+
+    @Setup
+    public void setup() {
+        dozer = DozerBeanMapperBuilder.buildDefault();
+
+        ong = Fixtures.ong();
+        animal = Fixtures.animal(1L, ong);
+        usuario = Fixtures.usuario();
+        registro = Fixtures.registro();
+        adocao = Fixtures.adocao();
+        administrador = Fixtures.administrador();
+
+        animalDTO = DozerMapper.parseObject(animal, AnimalDTO.class);
+        ongDTO = DozerMapper.parseObject(ong, OngDTO.class);
+        usuarioDTO = DozerMapper.parseObject(usuario, UsuarioDTO.class);
+        adocaoDTO = DozerMapper.parseObject(adocao, AdocaoDTO.class);
+        administradorDTO = DozerMapper.parseObject(administrador, AdministradorDTO.class);
+    }
+
+    @Benchmark
+    public AnimalDTO dozerAnimalParaDTO() {
+        return dozer.map(animal, AnimalDTO.class);
+    }
+
+    @Benchmark
+    public AdocaoDTO dozerAdocaoParaDTO() {
+        return dozer.map(adocao, AdocaoDTO.class);
+    }
+
+    @Benchmark
+    public AnimalDTO animalParaDTO() {
+        return DozerMapper.parseObject(animal, AnimalDTO.class);
+    }
+
+    @Benchmark
+    public Animal dtoParaAnimal() {
+        return DozerMapper.parseObject(animalDTO, Animal.class);
+    }
+
+    @Benchmark
+    public OngDTO ongParaDTO() {
+        return DozerMapper.parseObject(ong, OngDTO.class);
+    }
+
+    @Benchmark
+    public Ong dtoParaOng() {
+        return DozerMapper.parseObject(ongDTO, Ong.class);
+    }
+
+    @Benchmark
+    public UsuarioDTO usuarioParaDTO() {
+        return DozerMapper.parseObject(usuario, UsuarioDTO.class);
+    }
+
+    @Benchmark
+    public Usuario dtoParaUsuario() {
+        return DozerMapper.parseObject(usuarioDTO, Usuario.class);
+    }
+
+    @Benchmark
+    public Usuario registroParaUsuario() {
+        return DozerMapper.parseObject(registro, Usuario.class);
+    }
+
+    @Benchmark
+    public AdocaoDTO adocaoParaDTO() {
+        return DozerMapper.parseObject(adocao, AdocaoDTO.class);
+    }
+
+    @Benchmark
+    public Adocao dtoParaAdocao() {
+        return DozerMapper.parseObject(adocaoDTO, Adocao.class);
+    }
+
+    @Benchmark
+    public AdministradorDTO administradorParaDTO() {
+        return DozerMapper.parseObject(administrador, AdministradorDTO.class);
+    }
+
+    @Benchmark
+    public Administrador dtoParaAdministrador() {
+        return DozerMapper.parseObject(administradorDTO, Administrador.class);
+    }
+}
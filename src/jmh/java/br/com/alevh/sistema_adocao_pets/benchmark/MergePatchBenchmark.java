@@ -0,0 +1,56 @@
+package br.com.alevh.sistema_adocao_pets.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.alevh.sistema_adocao_pets.model.Animal;
+import br.com.alevh.sistema_adocao_pets.model.Ong;
+import br.com.alevh.sistema_adocao_pets.util.MergePatch;
+
+// PATCH típico das ongs: troca de status do animal e ajuste parcial do
+// endereço/site da ong
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MergePatchBenchmark {
+
+    private final Map<String, Object> patchStatus = Map.of("status", "ADOTADO");
+
+    private final Map<String, Object> patchOng = Map.of(
+            "cell", "11988887777",
+            "endereco", Map.of("numero", "200", "complemento", "Sala 2"),
+            "site", Map.of("instagram", "https://instagram.com/ong"));
+
+    private Animal animal;
+    private Ong ong;
+
+    @Setup
+    public void setup() {
+        ong = Fixtures.ong();
+        animal = Fixtures.animal(1L, ong);
+    }
+
+    @Benchmark
+    public Animal statusDoAnimal() {
+        return MergePatch.aplicar(animal, patchStatus);
+    }
+
+    @Benchmark
+    public Ong enderecoESiteDaOng() {
+        return MergePatch.aplicar(ong, patchOng);
+    }
+}
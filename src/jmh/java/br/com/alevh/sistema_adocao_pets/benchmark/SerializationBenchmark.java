@@ -0,0 +1,121 @@
+package br.com.alevh.sistema_adocao_pets.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.PagedModel.PageMetadata;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.AnimalDTO;
+import br.com.alevh.sistema_adocao_pets.mapper.DozerMapper;
+import br.com.alevh.sistema_adocao_pets.model.Animal;
+import br.com.alevh.sistema_adocao_pets.serialization.converter.YamlJackson2HttpMessageConverter;
+
+// serialização de uma página de animais nos formatos anunciados pelos
+// controllers (JSON em HAL, XML, YAML, CBOR e Smile). O tamanho em bytes de
+// cada formato é impresso no setup, antes das iterações
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.AverageTime, Mode.Throughput })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({ "10", "100" })
+    private int tamanho;
+
+    private PagedModel<EntityModel<AnimalDTO>> pagina;
+
+    private ObjectMapper json;
+    private ObjectMapper xml;
+    private ObjectMapper yaml;
+    private ObjectMapper cbor;
+    private ObjectMapper smile;
+
+    @Setup
+    public void setup() {
+        List<EntityModel<AnimalDTO>> conteudo = new ArrayList<>(tamanho);
+        for (Animal animal : Fixtures.animais(tamanho)) {
+            AnimalDTO dto = DozerMapper.parseObject(animal, AnimalDTO.class);
+            dto.add(Link.of("http://localhost:8080/api/v1/animais/id/" + animal.getIdAnimal()).withSelfRel());
+            conteudo.add(EntityModel.of(dto));
+        }
+        pagina = PagedModel.of(conteudo, new PageMetadata(tamanho, 0, tamanho * 10L),
+                Link.of("http://localhost:8080/api/v1/animais?page=0&size=" + tamanho + "&sort=nome,asc")
+                        .withSelfRel());
+
+        json = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new Jackson2HalModule());
+        json.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DefaultLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+
+        xml = new XmlMapper().registerModule(new JavaTimeModule());
+
+        // o YAMLMapper do conversor não registra o JavaTimeModule por conta
+        // própria, sem ele o LocalDate do AnimalDTO não serializa
+        yaml = new YamlJackson2HttpMessageConverter().getObjectMapper().copy()
+                .registerModule(new JavaTimeModule());
+
+        cbor = new CBORMapper().registerModule(new JavaTimeModule());
+        smile = new SmileMapper().registerModule(new JavaTimeModule());
+
+        try {
+            System.out.printf("%n[tamanho=%d] json=%d xml=%d yaml=%d cbor=%d smile=%d bytes%n", tamanho,
+                    json().length, xml().length, yaml().length, cbor().length, smile().length);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Benchmark
+    public byte[] json() throws JsonProcessingException {
+        return json.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    public byte[] xml() throws JsonProcessingException {
+        return xml.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    public byte[] yaml() throws JsonProcessingException {
+        return yaml.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    public byte[] cbor() throws JsonProcessingException {
+        return cbor.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    public byte[] smile() throws JsonProcessingException {
+        return smile.writeValueAsBytes(pagina);
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.alevh.sistema_adocao_pets.repository.custom;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.AnimalFiltroDTO;
+
+// compilação do SQL de AnimalRepositoryImpl.filtrarAnimaisNativo, sem banco;
+// fica no mesmo pacote para enxergar o formato PAGINA package-private
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnimalFiltroSqlBenchmark {
+
+    private AnimalFiltroDTO vazio;
+    private AnimalFiltroDTO completo;
+
+    @Setup
+    public void setup() {
+        vazio = new AnimalFiltroDTO();
+
+        completo = new AnimalFiltroDTO();
+        completo.setNome("Rex");
+        completo.setEspecie("Cachorro");
+        completo.setRaca("SRD");
+        completo.setPorte("Médio");
+        completo.setSexo("Macho");
+        completo.setStatus("DISPONIVEL");
+        completo.setCidadeOng("São Paulo");
+    }
+
+    @Benchmark
+    public ConsultaFiltro semFiltros() {
+        return AnimalRepositoryImpl.PAGINA.compilar(vazio);
+    }
+
+    @Benchmark
+    public ConsultaFiltro todosOsFiltros() {
+        return AnimalRepositoryImpl.PAGINA.compilar(completo);
+    }
+}
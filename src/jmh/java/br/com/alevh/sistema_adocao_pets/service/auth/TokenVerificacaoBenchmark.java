@@ -0,0 +1,78 @@
+package br.com.alevh.sistema_adocao_pets.service.auth;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// verificação do bearer a cada requisição autenticada: como era (algoritmo e
+// verificador montados por chamada), com o verificador reutilizado e com o
+// token já no cache de verificados; fica no mesmo pacote para enxergar o
+// TokenService.verificar package-private
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenVerificacaoBenchmark {
+
+    private static final String SEGREDO = "segredo-do-benchmark";
+
+    private TokenService tokenService;
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(
+                new MapPropertySource("benchmark", Map.of("security.jwt.secret", SEGREDO)));
+        tokenService = new TokenService(environment, new SimpleMeterRegistry(), 3_600_000, 10_000);
+
+        token = JWT.create()
+                .withIssuer("auth-api")
+                .withSubject("usuario1@email.com")
+                .withClaim("role", "USER")
+                .withClaim("ver", 0)
+                .withClaim("conta", 1L)
+                .withExpiresAt(Instant.now().plusSeconds(3600))
+                .sign(Algorithm.HMAC256(SEGREDO));
+    }
+
+    @Benchmark
+    public String verificadorPorChamada() {
+        return JWT.require(Algorithm.HMAC256(SEGREDO))
+                .withIssuer("auth-api")
+                .build()
+                .verify(token)
+                .getSubject();
+    }
+
+    @Benchmark
+    public TokenService.Claims verificadorReutilizado() {
+        return tokenService.verificar(token);
+    }
+
+    @Benchmark
+    public TokenService.Claims tokenVerificado() {
+        return tokenService.validateToken(token);
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.alevh.sistema_adocao_pets.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// tarefas periódicas (ex.: a verificação do índice de animais)
+@Configuration
+@EnableScheduling
+public class AgendamentoConfig {
+}
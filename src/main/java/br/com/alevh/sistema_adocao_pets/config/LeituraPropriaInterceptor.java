@@ -0,0 +1,132 @@
+package br.com.alevh.sistema_adocao_pets.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// leia o que você escreveu: depois que uma transação de escrita faz commit, as
+// leituras do mesmo cliente vão para o primário durante a janela, para um PATCH
+// seguido de GET não ver a réplica atrasada. Só commit de transação que não é
+// readOnly abre a janela, então POSTs de consulta (/animais/filtro) continuam
+// na réplica. O fim da janela vai num cookie, que qualquer nó respeita, e fica
+// também em memória por cliente (usuário autenticado ou, sem login, o
+// endereço) para quem não devolve cookies e cai no mesmo nó
+@Component
+public class LeituraPropriaInterceptor implements HandlerInterceptor, TransactionExecutionListener {
+
+    static final String COOKIE = "leitura-primario";
+
+    // acima disso as marcações vencidas são descartadas na próxima escrita
+    private static final int LIMITE_CLIENTES = 10_000;
+
+    private final long janelaMs;
+
+    // fim da janela (epoch ms) por cliente
+    private final Map<String, Long> ultimaEscrita = new ConcurrentHashMap<>();
+
+    // cliente e resposta da requisição em andamento na thread, para o commit
+    // saber quem marcar
+    private final ThreadLocal<Requisicao> requisicao = new ThreadLocal<>();
+
+    public LeituraPropriaInterceptor(
+            @Value("${datasource.replica.janela-leitura-propria-ms:5000}") long janelaMs) {
+        this.janelaMs = janelaMs;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String cliente = cliente(request);
+        requisicao.set(new Requisicao(cliente, response));
+        long agora = System.currentTimeMillis();
+        RoteamentoLeitura.usarPrimario(
+                dentroDaJanela(ultimaEscrita.get(cliente), agora) || dentroDaJanela(cookie(request), agora));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        requisicao.remove();
+        RoteamentoLeitura.usarPrimario(false);
+    }
+
+    // chamado pelo JpaTransactionManager (o Spring Boot registra os listeners
+    // que forem beans); fora de requisição (jobs agendados) não há cliente
+    @Override
+    public void afterCommit(TransactionExecution transacao, Throwable falha) {
+        Requisicao atual = requisicao.get();
+        if (atual == null || falha != null || transacao.isReadOnly() || !transacao.isNewTransaction()) {
+            return;
+        }
+        long ate = System.currentTimeMillis() + janelaMs;
+        marcar(atual.cliente(), ate);
+        if (!atual.response().isCommitted()) {
+            atual.response().addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE, Long.toString(ate))
+                    .path("/")
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .maxAge(Duration.ofMillis(janelaMs))
+                    .build()
+                    .toString());
+        }
+        // o resto da própria requisição também lê o que acabou de gravar
+        RoteamentoLeitura.usarPrimario(true);
+    }
+
+    private void marcar(String cliente, long ate) {
+        if (ultimaEscrita.size() > LIMITE_CLIENTES) {
+            long agora = System.currentTimeMillis();
+            ultimaEscrita.values().removeIf(fim -> fim <= agora);
+        }
+        ultimaEscrita.put(cliente, ate);
+    }
+
+    // um cookie forjado não passa de uma janela a partir de agora
+    private boolean dentroDaJanela(Long ate, long agora) {
+        return ate != null && ate > agora && ate - agora <= janelaMs;
+    }
+
+    private static Long cookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String cliente(HttpServletRequest request) {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacao != null && autenticacao.isAuthenticated()
+                && !(autenticacao instanceof AnonymousAuthenticationToken)) {
+            return "u:" + autenticacao.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private record Requisicao(String cliente, HttpServletResponse response) {
+    }
+}
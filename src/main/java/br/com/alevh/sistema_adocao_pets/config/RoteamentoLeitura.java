@@ -0,0 +1,53 @@
+package br.com.alevh.sistema_adocao_pets.config;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+// destino das conexões somente leitura (ver DataSourceConfig): a réplica, a
+// não ser que a thread tenha pedido o primário — leitura logo depois de uma
+// escrita do mesmo cliente (LeituraPropriaInterceptor) ou leitura que não
+// pode ver dados atrasados (noPrimario)
+public class RoteamentoLeitura extends AbstractRoutingDataSource {
+
+    private static final String PRIMARIO = "primario";
+
+    private static final String REPLICA = "replica";
+
+    private static final ThreadLocal<Boolean> NO_PRIMARIO = ThreadLocal.withInitial(() -> false);
+
+    public RoteamentoLeitura(DataSource primario, DataSource replica) {
+        setTargetDataSources(Map.of(PRIMARIO, primario, REPLICA, replica));
+        setDefaultTargetDataSource(replica);
+        afterPropertiesSet();
+    }
+
+    // para quem compara o banco com estado em memória atualizado pelos commits
+    // do primário (índices, caches por versão do catálogo): a réplica pode
+    // estar atrasada e fazer um dado novo parecer divergente
+    public static <T> T noPrimario(Supplier<T> leitura) {
+        boolean anterior = NO_PRIMARIO.get();
+        NO_PRIMARIO.set(true);
+        try {
+            return leitura.get();
+        } finally {
+            NO_PRIMARIO.set(anterior);
+        }
+    }
+
+    static void usarPrimario(boolean primario) {
+        if (primario) {
+            NO_PRIMARIO.set(true);
+        } else {
+            NO_PRIMARIO.remove();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return NO_PRIMARIO.get() ? PRIMARIO : REPLICA;
+    }
+}
@@ -8,23 +8,39 @@ import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.ContentNegotiationConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import br.com.alevh.sistema_adocao_pets.serialization.converter.YamlJackson2HttpMessageConverter;
+import lombok.RequiredArgsConstructor;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
     private static final MediaType MEDIA_TYPE_APPLICATION_YML = MediaType.valueOf("application/yaml");
 
+    private static final MediaType MEDIA_TYPE_APPLICATION_CBOR = MediaType.valueOf("application/cbor");
+
+    private static final MediaType MEDIA_TYPE_APPLICATION_SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private final LeituraPropriaInterceptor leituraPropriaInterceptor;
+
     @Value("${cors.originPatterns:default}")
     private String corsOriginPatterns = "";
 
     @Override
     public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // CBOR e Smile não entram aqui: os conversores padrão do Spring MVC já
+        // são registrados quando jackson-dataformat-cbor/smile estão no classpath
         converters.add(new YamlJackson2HttpMessageConverter());
     }
 
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(leituraPropriaInterceptor);
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         var allowedOrigins = corsOriginPatterns.split(",");
@@ -48,6 +64,8 @@ public class WebConfig implements WebMvcConfigurer {
                 .defaultContentType(MediaType.APPLICATION_JSON)
                 .mediaType("json", MediaType.APPLICATION_JSON)
                 .mediaType("xml", MediaType.APPLICATION_XML)
-                .mediaType("x-yaml", MEDIA_TYPE_APPLICATION_YML);
+                .mediaType("x-yaml", MEDIA_TYPE_APPLICATION_YML)
+                .mediaType("cbor", MEDIA_TYPE_APPLICATION_CBOR)
+                .mediaType("smile", MEDIA_TYPE_APPLICATION_SMILE);
     }
 }
\ No newline at end of file
@@ -35,7 +35,8 @@ public class AdministradorController {
 
     private final AdministradorService administradorService;
 
-    @GetMapping(produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML, MediaType.APPLICATION_XML })
+    @GetMapping(produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML, MediaType.APPLICATION_XML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
     public ResponseEntity<PagedModel<EntityModel<AdministradorDTO>>> listarAdministradores(
             @RequestParam(value = "page", defaultValue = "0") int page,
             @RequestParam(value = "size", defaultValue = "10") int size,
@@ -48,35 +49,38 @@ public class AdministradorController {
     }
 
     @GetMapping(value = "/id/{id}", produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-            MediaType.APPLICATION_XML })
+                    MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
     public AdministradorDTO acharAdministradorPorId(@PathVariable(value = "id") Long id) {
         return administradorService.findById(id);
     }
 
     @GetMapping(value = "/{nomeUsuario}", produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-            MediaType.APPLICATION_XML })
+                    MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
     public AdministradorDTO acharAdministradorPorNomeUsuario(@PathVariable(value = "nomeUsuario") String nomeUsuario) {
         return administradorService.findByNomeUsuario(nomeUsuario);
     }
 
     @PostMapping(value = "/register", consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-            MediaType.APPLICATION_XML }, produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                    MediaType.APPLICATION_XML })
+                    MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE },
+                    produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML, MediaType.APPLICATION_XML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
     public AdministradorDTO registrarAdministrador(@RequestBody @Valid AdministradorDTO admin) {
         return administradorService.create(admin);
     }
 
     @PutMapping(value = "/{nomeUsuario}", consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-            MediaType.APPLICATION_XML }, produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                    MediaType.APPLICATION_XML })
+                    MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE },
+                    produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML, MediaType.APPLICATION_XML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
     public AdministradorDTO atualizarAdministrador(@PathVariable(value = "nomeUsuario") String nomeUsuario,
             @RequestBody @Valid AdministradorDTO administrador) {
         return administradorService.update(administrador, nomeUsuario);
     }
 
     @PatchMapping(value = "/{nomeUsuario}", consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-            MediaType.APPLICATION_XML }, produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                    MediaType.APPLICATION_XML })
+                    MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE },
+                    produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML, MediaType.APPLICATION_XML,
+                    MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
     public ResponseEntity<AdministradorDTO> atualizarParcialAdministrador(
             @PathVariable(value = "nomeUsuario") String nomeUsuario,
             @RequestBody Map<String, Object> updates) {
@@ -85,7 +89,7 @@ public class AdministradorController {
     }
 
     @DeleteMapping(value = "/{nomeUsuario}", produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-            MediaType.APPLICATION_XML })
+                    MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
     public ResponseEntity<?> deletarPorNomeUsuario(@PathVariable(name = "nomeUsuario") String nomeUsuario) {
         administradorService.delete(nomeUsuario);
         return ResponseEntity.noContent().build();
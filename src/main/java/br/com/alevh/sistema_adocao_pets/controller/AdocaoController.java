@@ -6,8 +6,8 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.PagedModel;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -35,11 +35,18 @@ public class AdocaoController implements AdocaoControllerDocs {
 
         private final AdocaoService adocaoService;
 
-        @GetMapping(produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML })
-        public ResponseEntity<PagedModel<EntityModel<AdocaoDTO>>> listarAdocoes(
+        @GetMapping(produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML,
+                        MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
+        public ResponseEntity<CollectionModel<EntityModel<AdocaoDTO>>> listarAdocoes(
                         @RequestParam(value = "page", defaultValue = "0") int page,
                         @RequestParam(value = "size", defaultValue = "10") int size,
-                        @RequestParam(value = "direction", defaultValue = "asc") String direction) {
+                        @RequestParam(value = "direction", defaultValue = "asc") String direction,
+                        @RequestParam(value = "after", required = false) String after) {
+
+                // com "after" a listagem segue em modo keyset (sem OFFSET nem contagem)
+                if (after != null) {
+                        return ResponseEntity.ok(adocaoService.findAllApos(after, size));
+                }
 
                 var sortDirection = "desc".equalsIgnoreCase(direction) ? Direction.DESC : Direction.ASC;
 
@@ -48,28 +55,31 @@ public class AdocaoController implements AdocaoControllerDocs {
         }
 
         @GetMapping(value = "/{id}", produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                        MediaType.APPLICATION_XML })
+                        MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
         public AdocaoDTO acharAdocaoPorId(@PathVariable(value = "id") Long id) {
                 return adocaoService.findById(id);
         }
 
         @PostMapping(value = "/registro", consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                        MediaType.APPLICATION_XML }, produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                                        MediaType.APPLICATION_XML })
+                        MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE },
+                        produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML, MediaType.APPLICATION_XML,
+                        MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
         public AdocaoDTO registrarAdocao(@RequestBody AdocaoDTO adocao) {
                 return adocaoService.create(adocao);
         }
 
         @PutMapping(value = "/{id}", consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                        MediaType.APPLICATION_XML }, produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                                        MediaType.APPLICATION_XML })
+                        MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE },
+                        produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML, MediaType.APPLICATION_XML,
+                        MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
         public AdocaoDTO atualizarAdocao(@PathVariable(value = "id") Long id, @RequestBody AdocaoDTO adocao) {
                 return adocaoService.update(adocao, id);
         }
 
         @PatchMapping(value = "/{id}", consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                        MediaType.APPLICATION_XML }, produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                                        MediaType.APPLICATION_XML })
+                        MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE },
+                        produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML, MediaType.APPLICATION_XML,
+                        MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
         public ResponseEntity<AdocaoDTO> atualizarParcialAdocao(@PathVariable(value = "id") Long id,
                         @RequestBody Map<String, Object> updates) {
                 AdocaoDTO adocaoAtualizado = adocaoService.partialUpdate(id, updates);
@@ -77,7 +87,7 @@ public class AdocaoController implements AdocaoControllerDocs {
         }
 
         @DeleteMapping(value = "/{id}", produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                        MediaType.APPLICATION_XML })
+                        MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
         public ResponseEntity<?> deletarPorId(@PathVariable(name = "id") Long id) {
                 adocaoService.delete(id);
                 return ResponseEntity.noContent().build();
@@ -2,13 +2,13 @@ package br.com.alevh.sistema_adocao_pets.controller;
 
 import java.util.Map;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.PagedModel;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -24,6 +24,8 @@ import org.springframework.web.bind.annotation.RestController;
 import br.com.alevh.sistema_adocao_pets.controller.docs.AnimalControllerDocs;
 import br.com.alevh.sistema_adocao_pets.data.dto.v1.AnimalDTO;
 import br.com.alevh.sistema_adocao_pets.data.dto.v1.AnimalFiltroDTO;
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.AnimalProximoDTO;
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.FacetasAnimalDTO;
 import br.com.alevh.sistema_adocao_pets.service.AnimalService;
 import br.com.alevh.sistema_adocao_pets.util.MediaType;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -37,11 +39,18 @@ public class AnimalController implements AnimalControllerDocs {
 
         private final AnimalService animalService;
 
-        @GetMapping(produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML, MediaType.APPLICATION_XML })
-        public ResponseEntity<PagedModel<EntityModel<AnimalDTO>>> listarAnimais(
+        @GetMapping(produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML, MediaType.APPLICATION_XML,
+                        MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
+        public ResponseEntity<CollectionModel<EntityModel<AnimalDTO>>> listarAnimais(
                         @RequestParam(value = "page", defaultValue = "0") int page,
                         @RequestParam(value = "size", defaultValue = "10") int size,
-                        @RequestParam(value = "direction", defaultValue = "asc") String direction) {
+                        @RequestParam(value = "direction", defaultValue = "asc") String direction,
+                        @RequestParam(value = "after", required = false) String after) {
+
+                // com "after" a listagem segue em modo keyset (sem OFFSET nem contagem)
+                if (after != null) {
+                        return ResponseEntity.ok(animalService.findAllApos(after, size));
+                }
 
                 var sortDirection = "desc".equalsIgnoreCase(direction) ? Direction.DESC : Direction.ASC;
 
@@ -50,49 +59,90 @@ public class AnimalController implements AnimalControllerDocs {
         }
 
         @GetMapping(value = "/id/{id}", produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                        MediaType.APPLICATION_XML })
+                        MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
         public AnimalDTO acharAnimalPorId(@PathVariable(value = "id") Long id) {
                 return animalService.findById(id);
         }
 
         @GetMapping(value = "/{nome}", produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                        MediaType.APPLICATION_XML })
+                        MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
         public AnimalDTO acharAnimalPorNome(@PathVariable(value = "nome") String nome) {
                 return animalService.findByNome(nome);
         }
 
+        // total=false devolve só a fatia (sem total de elementos nem de páginas)
         @PostMapping(value = "/filtro", produces = MediaType.APPLICATION_JSON)
-        public ResponseEntity<Page<AnimalDTO>> filtrarAnimais(
+        public ResponseEntity<Slice<AnimalDTO>> filtrarAnimais(
                         @RequestBody AnimalFiltroDTO filtro,
                         @RequestParam(value = "page", defaultValue = "0") int page,
                         @RequestParam(value = "size", defaultValue = "10") int size,
-                        @RequestParam(value = "direction", defaultValue = "asc") String direction) {
+                        @RequestParam(value = "direction", defaultValue = "asc") String direction,
+                        @RequestParam(value = "total", defaultValue = "true") boolean total) {
 
                 Sort.Direction sortDirection = direction.equalsIgnoreCase("desc") ? Sort.Direction.DESC
                                 : Sort.Direction.ASC;
                 Pageable pageable = PageRequest.of(page, size, sortDirection, "nome");
 
-                Page<AnimalDTO> resultados = animalService.filtrarAnimais(filtro, pageable);
+                Slice<AnimalDTO> resultados = animalService.filtrarAnimais(filtro, pageable, total);
                 return ResponseEntity.ok(resultados);
         }
 
+        // contagem por valor de cada faceta (espécie, porte, sexo, status e cidade da
+        // ong) dentro do filtro, para a interface mostrar ao lado das opções
+        @PostMapping(value = "/filtro/facetas", produces = MediaType.APPLICATION_JSON)
+        public ResponseEntity<FacetasAnimalDTO> contarFacetas(@RequestBody AnimalFiltroDTO filtro) {
+                return ResponseEntity.ok(animalService.contarFacetas(filtro));
+        }
+
+        // busca textual ranqueada (q aceita a sintaxe de busca web: "frases", -exclusão,
+        // or); o filtro vem pelos parâmetros da query e a paginação é sempre por cursor
+        @GetMapping(value = "/busca", produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
+                        MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
+        public ResponseEntity<CollectionModel<EntityModel<AnimalDTO>>> buscarAnimais(
+                        @RequestParam(value = "q") String q,
+                        @RequestParam(value = "size", defaultValue = "10") int size,
+                        @RequestParam(value = "after", required = false) String after,
+                        AnimalFiltroDTO filtro) {
+                return ResponseEntity.ok(animalService.buscar(q, filtro, after, size));
+        }
+
+        // animais disponíveis perto do adotante: latitude/longitude ou, na falta
+        // delas, o CEP; raio em km e resultado da ong mais próxima para a mais
+        // distante, paginado pelo cursor "after". A coordenada das ongs vem do
+        // prefixo do CEP (centro da cidade ou região), então a distância é
+        // aproximada e ongs da mesma região empatam
+        @GetMapping(value = "/proximos", produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
+                        MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
+        public ResponseEntity<CollectionModel<EntityModel<AnimalProximoDTO>>> buscarAnimaisProximos(
+                        @RequestParam(value = "latitude", required = false) Double latitude,
+                        @RequestParam(value = "longitude", required = false) Double longitude,
+                        @RequestParam(value = "cep", required = false) String cep,
+                        @RequestParam(value = "raio", defaultValue = "10") double raio,
+                        @RequestParam(value = "after", required = false) String after,
+                        @RequestParam(value = "size", defaultValue = "20") int size) {
+                return ResponseEntity.ok(animalService.buscarProximos(latitude, longitude, cep, raio, after, size));
+        }
+
         @PostMapping(value = "/registro", consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                        MediaType.APPLICATION_XML }, produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                                        MediaType.APPLICATION_XML })
+                        MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE },
+                        produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML, MediaType.APPLICATION_XML,
+                        MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
         public AnimalDTO registrarAnimal(@RequestBody AnimalDTO animal) {
                 return animalService.create(animal);
         }
 
         @PutMapping(value = "/{nome}", consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                        MediaType.APPLICATION_XML }, produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                                        MediaType.APPLICATION_XML })
+                        MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE },
+                        produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML, MediaType.APPLICATION_XML,
+                        MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
         public AnimalDTO atualizarAnimal(@PathVariable(value = "nome") String nome, @RequestBody AnimalDTO animal) {
                 return animalService.update(animal, nome);
         }
 
         @PatchMapping(value = "/{nome}", consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                        MediaType.APPLICATION_XML }, produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                                        MediaType.APPLICATION_XML })
+                        MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE },
+                        produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML, MediaType.APPLICATION_XML,
+                        MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
         public ResponseEntity<AnimalDTO> atualizarParcialAnimal(@PathVariable(value = "nome") String nome,
                         @RequestBody Map<String, Object> updates) {
                 AnimalDTO animalAtualizado = animalService.partialUpdate(nome, updates);
@@ -100,7 +150,7 @@ public class AnimalController implements AnimalControllerDocs {
         }
 
         @DeleteMapping(value = "/{nome}", produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                        MediaType.APPLICATION_XML })
+                        MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
         public ResponseEntity<?> deletarPorNome(@PathVariable(name = "nome") String nome) {
                 animalService.delete(nome);
                 return ResponseEntity.noContent().build();
@@ -0,0 +1,43 @@
+package br.com.alevh.sistema_adocao_pets.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import br.com.alevh.sistema_adocao_pets.controller.docs.ExportacaoControllerDocs;
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.AnimalFiltroDTO;
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.OngFiltroDTO;
+import br.com.alevh.sistema_adocao_pets.service.ExportacaoService;
+import br.com.alevh.sistema_adocao_pets.util.MediaType;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+// catálogos completos em NDJSON, lidos por cursor e escritos conforme chegam;
+// o filtro vem pelos parâmetros da query. Fica fora de /animais, /ongs e
+// /adocoes para não disputar caminho com /{nome}, /{nomeUsuario} e /{id}
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("api/v1/exportacoes")
+@Tag(name = "Exportações", description = "Endpoints para exportação dos catálogos em NDJSON.")
+public class ExportacaoController implements ExportacaoControllerDocs {
+
+        private final ExportacaoService exportacaoService;
+
+        @GetMapping(value = "/animais", produces = MediaType.APPLICATION_NDJSON)
+        public ResponseEntity<StreamingResponseBody> exportarAnimais(AnimalFiltroDTO filtro) {
+                return ResponseEntity.ok(saida -> exportacaoService.exportarAnimais(filtro, saida));
+        }
+
+        @GetMapping(value = "/ongs", produces = MediaType.APPLICATION_NDJSON)
+        public ResponseEntity<StreamingResponseBody> exportarOngs(OngFiltroDTO filtro) {
+                return ResponseEntity.ok(saida -> exportacaoService.exportarOngs(filtro, saida));
+        }
+
+        // o filtro se aplica ao animal adotado
+        @GetMapping(value = "/adocoes", produces = MediaType.APPLICATION_NDJSON)
+        public ResponseEntity<StreamingResponseBody> exportarAdocoes(AnimalFiltroDTO filtro) {
+                return ResponseEntity.ok(saida -> exportacaoService.exportarAdocoes(filtro, saida));
+        }
+}
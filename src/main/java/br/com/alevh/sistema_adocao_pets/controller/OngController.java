@@ -2,11 +2,12 @@ package br.com.alevh.sistema_adocao_pets.controller;
 
 import java.util.Map;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.ResponseEntity;
@@ -44,11 +45,18 @@ public class OngController implements OngControllerDocs {
 
         private final AnimalService animalService;
 
-        @GetMapping(produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML, MediaType.APPLICATION_XML })
-        public ResponseEntity<PagedModel<EntityModel<OngDTO>>> listarOngs(
+        @GetMapping(produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML, MediaType.APPLICATION_XML,
+                        MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
+        public ResponseEntity<CollectionModel<EntityModel<OngDTO>>> listarOngs(
                         @RequestParam(value = "page", defaultValue = "0") int page,
                         @RequestParam(value = "size", defaultValue = "10") int size,
-                        @RequestParam(value = "direction", defaultValue = "asc") String direction) {
+                        @RequestParam(value = "direction", defaultValue = "asc") String direction,
+                        @RequestParam(value = "after", required = false) String after) {
+
+                // com "after" a listagem segue em modo keyset (sem OFFSET nem contagem)
+                if (after != null) {
+                        return ResponseEntity.ok(ongService.findAllApos(after, size));
+                }
 
                 var sortDirection = "desc".equalsIgnoreCase(direction) ? Direction.DESC : Direction.ASC;
 
@@ -57,19 +65,19 @@ public class OngController implements OngControllerDocs {
         }
 
         @GetMapping(value = "/id/{id}", produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                        MediaType.APPLICATION_XML })
+                        MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
         public OngDTO acharOngPorId(@PathVariable(value = "id") Long id) {
                 return ongService.findById(id);
         }
 
         @GetMapping(value = "/{nome_usuario}", produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                        MediaType.APPLICATION_XML })
+                        MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
         public OngDTO acharOngPorNomeUsuario(@PathVariable(value = "nome_usuario") String nomeUsuario) {
                 return ongService.findByNomeUsuario(nomeUsuario);
         }
 
         @GetMapping(value = "/{id}/adocoes", produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                        MediaType.APPLICATION_XML })
+                        MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
         public ResponseEntity<PagedModel<EntityModel<AdocaoDTO>>> listarAdocoesPorOngId(
                         @PathVariable("id") Long id,
                         @RequestParam(value = "page", defaultValue = "0") int page,
@@ -86,12 +94,19 @@ public class OngController implements OngControllerDocs {
         }
 
         @GetMapping(value = "/{nomeUsuario}/animais", produces = { MediaType.APPLICATION_JSON,
-                        MediaType.APPLICATION_YML, MediaType.APPLICATION_XML })
-        public ResponseEntity<PagedModel<EntityModel<AnimalDTO>>> listarAnimaisDeUmaOng(
+                        MediaType.APPLICATION_YML, MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR,
+                        MediaType.APPLICATION_SMILE })
+        public ResponseEntity<CollectionModel<EntityModel<AnimalDTO>>> listarAnimaisDeUmaOng(
                         @PathVariable("nomeUsuario") String nomeUsuario,
                         @RequestParam(value = "page", defaultValue = "0") int page,
                         @RequestParam(value = "size", defaultValue = "10") int size,
-                        @RequestParam(value = "direction", defaultValue = "asc") String direction) {
+                        @RequestParam(value = "direction", defaultValue = "asc") String direction,
+                        @RequestParam(value = "after", required = false) String after) {
+
+                // com "after" a listagem segue em modo keyset (sem OFFSET nem contagem)
+                if (after != null) {
+                        return ResponseEntity.ok(animalService.findAllByOngNomeApos(nomeUsuario, after, size));
+                }
 
                 var sortDirection = "desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC : Sort.Direction.ASC;
                 Pageable pageable = PageRequest.of(page, size, sortDirection, "nome");
@@ -101,37 +116,42 @@ public class OngController implements OngControllerDocs {
         }
 
         @PostMapping(value = "/signup", produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                        MediaType.APPLICATION_XML }, consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                                        MediaType.APPLICATION_XML })
+                        MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE },
+                        consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML, MediaType.APPLICATION_XML,
+                        MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
         public OngDTO registrarOng(@RequestBody @Valid OngDTO ong) {
                 return ongService.create(ong);
         }
 
+        // total=false devolve só a fatia (sem total de elementos nem de páginas)
         @PostMapping(value = "/filtro", produces = MediaType.APPLICATION_JSON)
-        public ResponseEntity<Page<OngDTO>> filtrarOngs(
+        public ResponseEntity<Slice<OngDTO>> filtrarOngs(
                         @RequestBody OngFiltroDTO filtro,
                         @RequestParam(value = "page", defaultValue = "0") int page,
                         @RequestParam(value = "size", defaultValue = "10") int size,
-                        @RequestParam(value = "direction", defaultValue = "asc") String direction) {
+                        @RequestParam(value = "direction", defaultValue = "asc") String direction,
+                        @RequestParam(value = "total", defaultValue = "true") boolean total) {
 
                 Sort.Direction sortDirection = direction.equalsIgnoreCase("desc") ? Sort.Direction.DESC
                                 : Sort.Direction.ASC;
                 Pageable pageable = PageRequest.of(page, size, sortDirection, "nome");
-                Page<OngDTO> resultados = ongService.filtrarOngs(filtro, pageable);
+                Slice<OngDTO> resultados = ongService.filtrarOngs(filtro, pageable, total);
                 return ResponseEntity.ok(resultados);
         }
 
         @PutMapping(value = "/{nomeUsuario}", produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                        MediaType.APPLICATION_XML }, consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                                        MediaType.APPLICATION_XML })
+                        MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE },
+                        consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML, MediaType.APPLICATION_XML,
+                        MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
         public OngDTO atualizarOng(@PathVariable(value = "nomeUsuario") String nomeUsuario,
                         @RequestBody @Valid OngUpdateDTO ong) {
                 return ongService.update(ong, nomeUsuario);
         }
 
         @PatchMapping(value = "/{nomeUsuario}", consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                        MediaType.APPLICATION_XML }, produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                                        MediaType.APPLICATION_XML })
+                        MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE },
+                        produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML, MediaType.APPLICATION_XML,
+                        MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
         public ResponseEntity<OngDTO> atualizarParcialOng(@PathVariable(value = "nomeUsuario") String nomeUsuario,
                         @RequestBody Map<String, Object> updates) {
                 OngDTO ongAtualizada = ongService.partialUpdate(nomeUsuario, updates);
@@ -139,7 +159,7 @@ public class OngController implements OngControllerDocs {
         }
 
         @DeleteMapping(value = "/{nomeUsuario}", produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                        MediaType.APPLICATION_XML })
+                        MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
         public ResponseEntity<?> deletarOngPorNomeUsuario(@PathVariable(name = "nomeUsuario") String nomeUsuario) {
                 ongService.delete(nomeUsuario);
                 return ResponseEntity.noContent().build();
@@ -7,6 +7,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.ResponseEntity;
@@ -41,11 +42,18 @@ public class UsuarioController implements UsuarioControllerDocs {
 
         private final UsuarioService usuarioService;
 
-        @GetMapping(produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML, MediaType.APPLICATION_XML })
-        public ResponseEntity<PagedModel<EntityModel<UsuarioDTO>>> listarUsuarios(
+        @GetMapping(produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML, MediaType.APPLICATION_XML,
+                        MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
+        public ResponseEntity<CollectionModel<EntityModel<UsuarioDTO>>> listarUsuarios(
                         @RequestParam(value = "page", defaultValue = "0") int page,
                         @RequestParam(value = "size", defaultValue = "10") int size,
-                        @RequestParam(value = "direction", defaultValue = "asc") String direction) {
+                        @RequestParam(value = "direction", defaultValue = "asc") String direction,
+                        @RequestParam(value = "after", required = false) String after) {
+
+                // com "after" a listagem segue em modo keyset (sem OFFSET nem contagem)
+                if (after != null) {
+                        return ResponseEntity.ok(usuarioService.findAllApos(after, size));
+                }
 
                 var sortDirection = "desc".equalsIgnoreCase(direction) ? Direction.DESC : Direction.ASC;
 
@@ -54,20 +62,20 @@ public class UsuarioController implements UsuarioControllerDocs {
         }
 
         @GetMapping(value = "/id/{id}", produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                        MediaType.APPLICATION_XML })
+                        MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
         public UsuarioDTO acharUsuarioPorId(@PathVariable(value = "id") Long id) {
                 return usuarioService.findById(id);
         }
 
         @GetMapping(value = "/{nomeUsuario}", produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                        MediaType.APPLICATION_XML })
+                        MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
         public UsuarioDTO acharUsuarioPorNomeUsuario(@PathVariable(value = "nomeUsuario") String nomeUsuario) {
                 return usuarioService.findByNomeUsuario(nomeUsuario);
         }
 
         @GetMapping(value = "/{nomeUsuario}/adocoes", produces = { MediaType.APPLICATION_JSON,
-                        MediaType.APPLICATION_YML,
-                        MediaType.APPLICATION_XML })
+                        MediaType.APPLICATION_YML, MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR,
+                        MediaType.APPLICATION_SMILE })
         public ResponseEntity<PagedModel<EntityModel<AdocaoDTO>>> listarAdocoesPorNomeUsuario(
                         @PathVariable("nomeUsuario") String nomeUsuario,
                         @RequestParam(value = "page", defaultValue = "0") int page,
@@ -84,23 +92,26 @@ public class UsuarioController implements UsuarioControllerDocs {
         }
 
         @PostMapping(value = "/signup", consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                        MediaType.APPLICATION_XML }, produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                                        MediaType.APPLICATION_XML })
+                        MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE },
+                        produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML, MediaType.APPLICATION_XML,
+                        MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
         public UsuarioDTO registrarUsuario(@RequestBody @Valid RegistroDTO registroDTO) {
                 return usuarioService.create(registroDTO);
         }
 
         @PutMapping(value = "/{nomeUsuario}", consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                        MediaType.APPLICATION_XML }, produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                                        MediaType.APPLICATION_XML })
+                        MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE },
+                        produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML, MediaType.APPLICATION_XML,
+                        MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
         public UsuarioDTO atualizarUsuario(@PathVariable(value = "nomeUsuario") String nomeUsuario,
                         @RequestBody @Valid UsuarioUpdateDTO usuario) {
                 return usuarioService.update(usuario, nomeUsuario);
         }
 
         @PatchMapping(value = "/{nomeUsuario}", consumes = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                        MediaType.APPLICATION_XML }, produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                                        MediaType.APPLICATION_XML })
+                        MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE },
+                        produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML, MediaType.APPLICATION_XML,
+                        MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
         public ResponseEntity<UsuarioDTO> atualizarParcialUsuario(
                         @PathVariable(value = "nomeUsuario") String nomeUsuario,
                         @RequestBody Map<String, Object> updates) {
@@ -109,7 +120,7 @@ public class UsuarioController implements UsuarioControllerDocs {
         }
 
         @DeleteMapping(value = "/{nomeUsuario}", produces = { MediaType.APPLICATION_JSON, MediaType.APPLICATION_YML,
-                        MediaType.APPLICATION_XML })
+                        MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR, MediaType.APPLICATION_SMILE })
         public ResponseEntity<?> deletarPorNomeUsuario(@PathVariable(name = "nomeUsuario") String nomeUsuario) {
                 usuarioService.delete(nomeUsuario);
                 return ResponseEntity.noContent().build();
@@ -131,17 +142,21 @@ public class UsuarioController implements UsuarioControllerDocs {
                 return ResponseEntity.ok(response);
         }
 
-        @GetMapping(value = "/{nomeUsuario}/favoritos", produces = {
-                        MediaType.APPLICATION_JSON,
-                        MediaType.APPLICATION_YML,
-                        MediaType.APPLICATION_XML
-        })
-        public ResponseEntity<PagedModel<EntityModel<AnimalDTO>>> listarAnimaisFavoritos(
+        @GetMapping(value = "/{nomeUsuario}/favoritos", produces = { MediaType.APPLICATION_JSON,
+                        MediaType.APPLICATION_YML, MediaType.APPLICATION_XML, MediaType.APPLICATION_CBOR,
+                        MediaType.APPLICATION_SMILE })
+        public ResponseEntity<CollectionModel<EntityModel<AnimalDTO>>> listarAnimaisFavoritos(
                         @PathVariable("nomeUsuario") String nomeUsuario,
                         @RequestParam(value = "page", defaultValue = "0") int page,
                         @RequestParam(value = "size", defaultValue = "10") int size,
                         @RequestParam(value = "direction", defaultValue = "asc") String direction,
-                        @RequestParam(value = "sort", defaultValue = "nome") String sort) {
+                        @RequestParam(value = "sort", defaultValue = "nome") String sort,
+                        @RequestParam(value = "after", required = false) String after) {
+
+                // com "after" a listagem segue em modo keyset (sem OFFSET nem contagem)
+                if (after != null) {
+                        return ResponseEntity.ok(usuarioService.findAnimaisFavoritosApos(nomeUsuario, after, size));
+                }
 
                 var sortDirection = "desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC : Sort.Direction.ASC;
                 Pageable pageable = PageRequest.of(page, size, sortDirection, sort);
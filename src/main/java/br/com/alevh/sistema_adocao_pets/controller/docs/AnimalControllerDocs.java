@@ -2,8 +2,8 @@ package br.com.alevh.sistema_adocao_pets.controller.docs;
 
 import java.util.Map;
 
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.PagedModel;
 import org.springframework.http.ResponseEntity;
 
 import br.com.alevh.sistema_adocao_pets.data.dto.v1.AnimalDTO;
@@ -23,7 +23,8 @@ public interface AnimalControllerDocs {
                         @ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
                         @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content),
         })
-        ResponseEntity<PagedModel<EntityModel<AnimalDTO>>> listarAnimais(int page, int size, String direction);
+        ResponseEntity<CollectionModel<EntityModel<AnimalDTO>>> listarAnimais(int page, int size, String direction,
+                        String after);
 
         @Operation(summary = "Retorna o animal de id especificado", responses = {
                         @ApiResponse(description = "Success", responseCode = "200", content = {
@@ -0,0 +1,39 @@
+package br.com.alevh.sistema_adocao_pets.controller.docs;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.AnimalFiltroDTO;
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.OngFiltroDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+
+public interface ExportacaoControllerDocs {
+        @Operation(summary = "Exporta os animais filtrados em NDJSON", responses = {
+                        @ApiResponse(description = "Success", responseCode = "200", content = {
+                                        @Content(mediaType = "application/x-ndjson")
+                        }),
+                        @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+                        @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+        })
+        ResponseEntity<StreamingResponseBody> exportarAnimais(AnimalFiltroDTO filtro);
+
+        @Operation(summary = "Exporta as ONGs filtradas em NDJSON", responses = {
+                        @ApiResponse(description = "Success", responseCode = "200", content = {
+                                        @Content(mediaType = "application/x-ndjson")
+                        }),
+                        @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+                        @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+        })
+        ResponseEntity<StreamingResponseBody> exportarOngs(OngFiltroDTO filtro);
+
+        @Operation(summary = "Exporta as adoções dos animais filtrados em NDJSON", responses = {
+                        @ApiResponse(description = "Success", responseCode = "200", content = {
+                                        @Content(mediaType = "application/x-ndjson")
+                        }),
+                        @ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+                        @ApiResponse(description = "Internal Error", responseCode = "500", content = @Content)
+        })
+        ResponseEntity<StreamingResponseBody> exportarAdocoes(AnimalFiltroDTO filtro);
+}
@@ -2,6 +2,7 @@ package br.com.alevh.sistema_adocao_pets.controller.docs;
 
 import java.util.Map;
 
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.ResponseEntity;
@@ -25,7 +26,8 @@ public interface OngControllerDocs {
                         @ApiResponse(responseCode = "404", description = "Not Found", content = @Content),
                         @ApiResponse(responseCode = "500", description = "Internal Error", content = @Content)
         })
-        ResponseEntity<PagedModel<EntityModel<OngDTO>>> listarOngs(int page, int size, String direction);
+        ResponseEntity<CollectionModel<EntityModel<OngDTO>>> listarOngs(int page, int size, String direction,
+                        String after);
 
         @Operation(summary = "Retorna a ONG de id especificado", responses = {
                         @ApiResponse(responseCode = "200", description = "Success", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = OngDTO.class)))),
@@ -64,8 +66,8 @@ public interface OngControllerDocs {
                         @ApiResponse(responseCode = "404", description = "Not Found", content = @Content),
                         @ApiResponse(responseCode = "500", description = "Internal Error", content = @Content)
         })
-        ResponseEntity<PagedModel<EntityModel<AnimalDTO>>> listarAnimaisDeUmaOng(String nomeUsuario, int page, int size,
-                        String direction);
+        ResponseEntity<CollectionModel<EntityModel<AnimalDTO>>> listarAnimaisDeUmaOng(String nomeUsuario, int page,
+                        int size, String direction, String after);
 
         @Operation(summary = "Registra uma ONG", responses = {
                         @ApiResponse(responseCode = "200", description = "Success", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = OngDTO.class)))),
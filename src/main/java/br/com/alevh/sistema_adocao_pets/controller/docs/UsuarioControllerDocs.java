@@ -2,6 +2,7 @@ package br.com.alevh.sistema_adocao_pets.controller.docs;
 
 import java.util.Map;
 
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.ResponseEntity;
@@ -26,7 +27,8 @@ public interface UsuarioControllerDocs {
                         @ApiResponse(responseCode = "404", description = "Not Found", content = @Content),
                         @ApiResponse(responseCode = "500", description = "Internal Error", content = @Content)
         })
-        ResponseEntity<PagedModel<EntityModel<UsuarioDTO>>> listarUsuarios(int page, int size, String direction);
+        ResponseEntity<CollectionModel<EntityModel<UsuarioDTO>>> listarUsuarios(int page, int size, String direction,
+                        String after);
 
         @Operation(summary = "Retorna o usuário de id especificado", responses = {
                         @ApiResponse(responseCode = "200", description = "Success", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = UsuarioDTO.class)))),
@@ -110,6 +112,6 @@ public interface UsuarioControllerDocs {
                         @ApiResponse(responseCode = "404", description = "Not Found", content = @Content),
                         @ApiResponse(responseCode = "500", description = "Internal Error", content = @Content)
         })
-        ResponseEntity<PagedModel<EntityModel<AnimalDTO>>> listarAnimaisFavoritos(String nomeUsuario, int page,
-                        int size, String direction, String sort);
+        ResponseEntity<CollectionModel<EntityModel<AnimalDTO>>> listarAnimaisFavoritos(String nomeUsuario, int page,
+                        int size, String direction, String sort, String after);
 }
\ No newline at end of file
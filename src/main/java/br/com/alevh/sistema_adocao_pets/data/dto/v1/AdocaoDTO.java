@@ -68,4 +68,21 @@ public class AdocaoDTO extends RepresentationModel<AdocaoDTO> implements Seriali
     @JsonProperty(access = JsonProperty.Access.READ_ONLY, value = "celularUsuario")
     @Mapping("usuario.cell")
     private String cellUsuario;
+
+    // usado pelas consultas de projeção do AdocaoRepository
+    public AdocaoDTO(Long key, LocalDate dataAdocao, StatusAdocao status, Long idAnimal, String nomeAnimal,
+            String especieAnimal, String sexoAnimal, Long idUsuario, String nomeUsuario, String emailUsuario,
+            String cellUsuario) {
+        this.key = key;
+        this.dataAdocao = dataAdocao;
+        this.status = status;
+        this.idAnimal = idAnimal;
+        this.nomeAnimal = nomeAnimal;
+        this.especieAnimal = especieAnimal;
+        this.sexoAnimal = sexoAnimal;
+        this.idUsuario = idUsuario;
+        this.nomeUsuario = nomeUsuario;
+        this.emailUsuario = emailUsuario;
+        this.cellUsuario = cellUsuario;
+    }
 }
\ No newline at end of file
@@ -78,4 +78,24 @@ public class AnimalDTO extends RepresentationModel<AnimalDTO> implements Seriali
     @JsonProperty(access = JsonProperty.Access.READ_ONLY)
     @Mapping("ong.endereco")
     private EnderecoVO enderecoOng;
+
+    // usado pelas consultas de projeção do AnimalRepository
+    public AnimalDTO(Long key, String nome, String especie, String raca, LocalDate dataNascimento, String foto,
+            DescricaoVO descricao, String porte, String sexo, StatusAnimal status, Long idOng, String nomeOng,
+            String telefoneOng, EnderecoVO enderecoOng) {
+        this.key = key;
+        this.nome = nome;
+        this.especie = especie;
+        this.raca = raca;
+        this.dataNascimento = dataNascimento;
+        this.foto = foto;
+        this.descricao = descricao;
+        this.porte = porte;
+        this.sexo = sexo;
+        this.status = status;
+        this.idOng = idOng;
+        this.nomeOng = nomeOng;
+        this.telefoneOng = telefoneOng;
+        this.enderecoOng = enderecoOng;
+    }
 }
\ No newline at end of file
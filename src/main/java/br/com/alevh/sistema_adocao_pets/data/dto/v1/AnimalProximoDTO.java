@@ -0,0 +1,19 @@
+package br.com.alevh.sistema_adocao_pets.data.dto.v1;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// animal da busca por proximidade, com a distância em linha reta (km) entre o
+// ponto pedido e a ong; a posição da ong é a do prefixo do CEP dela
+// (cep_coordenada), então a distância é aproximada
+@Getter
+@AllArgsConstructor
+public class AnimalProximoDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final AnimalDTO animal;
+
+    private final double distanciaKm;
+}
@@ -0,0 +1,24 @@
+package br.com.alevh.sistema_adocao_pets.data.dto.v1;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.Getter;
+
+// quantidade de animais por valor de cada faceta do filtro, já restrita pelo
+// próprio filtro; cada mapa vem do maior para o menor total
+@Getter
+public class FacetasAnimalDTO implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final Map<String, Long> especie = new LinkedHashMap<>();
+
+    private final Map<String, Long> porte = new LinkedHashMap<>();
+
+    private final Map<String, Long> sexo = new LinkedHashMap<>();
+
+    private final Map<String, Long> status = new LinkedHashMap<>();
+
+    private final Map<String, Long> cidadeOng = new LinkedHashMap<>();
+}
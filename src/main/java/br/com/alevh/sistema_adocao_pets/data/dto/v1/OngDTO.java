@@ -78,4 +78,20 @@ public class OngDTO extends RepresentationModel<OngDTO> implements Serializable
 
     @Valid
     private SiteVO site;
+
+    // usado pelas consultas de projeção do OngRepository (sem a senha)
+    public OngDTO(Long key, String nome, String nomeUsuario, String fotoPerfil, String email, EnderecoVO endereco,
+            String cell, String cnpj, String responsavel, String descricao, SiteVO site) {
+        this.key = key;
+        this.nome = nome;
+        this.nomeUsuario = nomeUsuario;
+        this.fotoPerfil = fotoPerfil;
+        this.email = email;
+        this.endereco = endereco;
+        this.cell = cell;
+        this.cnpj = cnpj == null ? null : new CnpjVO(cnpj);
+        this.responsavel = responsavel;
+        this.descricao = descricao;
+        this.site = site;
+    }
 }
\ No newline at end of file
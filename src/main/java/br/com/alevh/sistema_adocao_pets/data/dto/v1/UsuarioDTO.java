@@ -61,4 +61,16 @@ public class UsuarioDTO extends RepresentationModel<UsuarioDTO> implements Seria
     @Valid
     @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private CpfVO cpf;
+
+    // usado pelas consultas de projeção do UsuarioRepository (sem a senha)
+    public UsuarioDTO(Long key, String nome, String email, String nomeUsuario, String fotoPerfil, String cell,
+            String cpf) {
+        this.key = key;
+        this.nome = nome;
+        this.email = email;
+        this.nomeUsuario = nomeUsuario;
+        this.fotoPerfil = fotoPerfil;
+        this.cell = cell;
+        this.cpf = cpf == null ? null : new CpfVO(cpf);
+    }
 }
\ No newline at end of file
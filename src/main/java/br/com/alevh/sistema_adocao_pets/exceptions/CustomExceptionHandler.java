@@ -1,11 +1,15 @@
 package br.com.alevh.sistema_adocao_pets.exceptions;
 
+import java.sql.SQLException;
 import java.util.Date;
 import java.util.List;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -53,6 +57,26 @@ public class CustomExceptionHandler {
                 return new ResponseEntity<>(exceptionResponse, HttpStatus.BAD_REQUEST);
         }
 
+        @ExceptionHandler(InvalidCursorException.class)
+        public final ResponseEntity<ExceptionResponse> handleInvalidCursor(InvalidCursorException ex,
+                        WebRequest request) {
+                ExceptionResponse exceptionResponse = new ExceptionResponse(
+                                new Date(),
+                                List.of(ex.getMessage()),
+                                request.getDescription(false));
+                return new ResponseEntity<>(exceptionResponse, HttpStatus.BAD_REQUEST);
+        }
+
+        @ExceptionHandler(InvalidLocalizacaoException.class)
+        public final ResponseEntity<ExceptionResponse> handleInvalidLocalizacao(InvalidLocalizacaoException ex,
+                        WebRequest request) {
+                ExceptionResponse exceptionResponse = new ExceptionResponse(
+                                new Date(),
+                                List.of(ex.getMessage()),
+                                request.getDescription(false));
+                return new ResponseEntity<>(exceptionResponse, HttpStatus.BAD_REQUEST);
+        }
+
         @ExceptionHandler(IllegalStateException.class)
         public final ResponseEntity<ExceptionResponse> handleIllegalStateException(IllegalStateException ex,
                         WebRequest request) {
@@ -63,6 +87,23 @@ public class CustomExceptionHandler {
                 return new ResponseEntity<>(exceptionResponse, HttpStatus.CONFLICT);
         }
 
+        // escritas concorrentes com o mesmo email, nome de usuário etc. passam pelas
+        // validações e esbarram nos índices únicos (inclusive os da login_identity,
+        // dentro do gatilho); unique_violation é conflito, o resto segue como erro
+        @ExceptionHandler(DataIntegrityViolationException.class)
+        public final ResponseEntity<ExceptionResponse> handleDataIntegrityViolationException(
+                        DataIntegrityViolationException ex, WebRequest request) {
+                if (!(ex.getMostSpecificCause() instanceof SQLException sql)
+                                || !"23505".equals(sql.getSQLState())) {
+                        return handleAllExceptions(ex, request);
+                }
+                ExceptionResponse exceptionResponse = new ExceptionResponse(
+                                new Date(),
+                                List.of("Dados já estão em uso por outro cadastro"),
+                                request.getDescription(false));
+                return new ResponseEntity<>(exceptionResponse, HttpStatus.CONFLICT);
+        }
+
         @ExceptionHandler(BadCredentialsException.class)
         public final ResponseEntity<ExceptionResponse> handleBadCredentialsException(BadCredentialsException ex,
                         WebRequest request) {
@@ -73,6 +114,29 @@ public class CustomExceptionHandler {
                 return new ResponseEntity<>(exceptionResponse, HttpStatus.UNAUTHORIZED);
         }
 
+        @ExceptionHandler(HashingOverloadedException.class)
+        public final ResponseEntity<ExceptionResponse> handleHashingOverloadedException(
+                        HashingOverloadedException ex, WebRequest request) {
+                ExceptionResponse exceptionResponse = new ExceptionResponse(
+                                new Date(),
+                                List.of(ex.getMessage()),
+                                request.getDescription(false));
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSegundos()))
+                                .body(exceptionResponse);
+        }
+
+        // o Spring Security embrulha o que sai da busca do usuário (inclusive o
+        // hash de proteção contra timing feito quando ele não existe)
+        @ExceptionHandler(InternalAuthenticationServiceException.class)
+        public final ResponseEntity<ExceptionResponse> handleInternalAuthenticationServiceException(
+                        InternalAuthenticationServiceException ex, WebRequest request) {
+                if (ex.getCause() instanceof HashingOverloadedException sobrecarga) {
+                        return handleHashingOverloadedException(sobrecarga, request);
+                }
+                return handleAllExceptions(ex, request);
+        }
+
         @ExceptionHandler(InvalidJwtAuthenticationException.class)
         public final ResponseEntity<ExceptionResponse> handleInvalidJwtAuthenticationException(
                         InvalidJwtAuthenticationException ex, WebRequest request) {
@@ -0,0 +1,21 @@
+package br.com.alevh.sistema_adocao_pets.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import lombok.Getter;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+@Getter
+public class HashingOverloadedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        // vai no cabeçalho Retry-After
+        private final long retryAfterSegundos;
+
+        public HashingOverloadedException(long retryAfterSegundos) {
+                super("Serviço de autenticação sobrecarregado, tente novamente em instantes");
+                this.retryAfterSegundos = retryAfterSegundos;
+        }
+
+}
@@ -0,0 +1,22 @@
+package br.com.alevh.sistema_adocao_pets.mapper;
+
+import org.mapstruct.InheritInverseConfiguration;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+import org.mapstruct.factory.Mappers;
+
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.AdministradorDTO;
+import br.com.alevh.sistema_adocao_pets.model.Administrador;
+
+@Mapper(uses = VOMapper.class, unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface AdministradorMapper {
+
+    AdministradorMapper INSTANCE = Mappers.getMapper(AdministradorMapper.class);
+
+    @Mapping(target = "key", source = "idAdministrador")
+    AdministradorDTO toDTO(Administrador administrador);
+
+    @InheritInverseConfiguration
+    Administrador toEntity(AdministradorDTO administrador);
+}
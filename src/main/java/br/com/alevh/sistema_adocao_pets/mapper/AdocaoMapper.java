@@ -0,0 +1,30 @@
+package br.com.alevh.sistema_adocao_pets.mapper;
+
+import org.mapstruct.InheritInverseConfiguration;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+import org.mapstruct.factory.Mappers;
+
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.AdocaoDTO;
+import br.com.alevh.sistema_adocao_pets.model.Adocao;
+
+@Mapper(uses = VOMapper.class, unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface AdocaoMapper {
+
+    AdocaoMapper INSTANCE = Mappers.getMapper(AdocaoMapper.class);
+
+    @Mapping(target = "key", source = "idAdocao")
+    @Mapping(target = "idAnimal", source = "animal.idAnimal")
+    @Mapping(target = "nomeAnimal", source = "animal.nome")
+    @Mapping(target = "especieAnimal", source = "animal.especie")
+    @Mapping(target = "sexoAnimal", source = "animal.sexo")
+    @Mapping(target = "idUsuario", source = "usuario.idUsuario")
+    @Mapping(target = "nomeUsuario", source = "usuario.nome")
+    @Mapping(target = "emailUsuario", source = "usuario.email")
+    @Mapping(target = "cellUsuario", source = "usuario.cell")
+    AdocaoDTO toDTO(Adocao adocao);
+
+    @InheritInverseConfiguration
+    Adocao toEntity(AdocaoDTO adocao);
+}
@@ -0,0 +1,26 @@
+package br.com.alevh.sistema_adocao_pets.mapper;
+
+import org.mapstruct.InheritInverseConfiguration;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+import org.mapstruct.factory.Mappers;
+
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.AnimalDTO;
+import br.com.alevh.sistema_adocao_pets.model.Animal;
+
+@Mapper(uses = VOMapper.class, unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface AnimalMapper {
+
+    AnimalMapper INSTANCE = Mappers.getMapper(AnimalMapper.class);
+
+    @Mapping(target = "key", source = "idAnimal")
+    @Mapping(target = "idOng", source = "ong.idOng")
+    @Mapping(target = "nomeOng", source = "ong.nome")
+    @Mapping(target = "telefoneOng", source = "ong.cell")
+    @Mapping(target = "enderecoOng", source = "ong.endereco")
+    AnimalDTO toDTO(Animal animal);
+
+    @InheritInverseConfiguration
+    Animal toEntity(AnimalDTO animal);
+}
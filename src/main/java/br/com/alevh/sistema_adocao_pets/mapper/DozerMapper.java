@@ -1,24 +1,79 @@
 package br.com.alevh.sistema_adocao_pets.mapper;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 import com.github.dozermapper.core.DozerBeanMapperBuilder;
 import com.github.dozermapper.core.Mapper;
 
+import br.com.alevh.sistema_adocao_pets.data.dto.security.RegistroDTO;
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.AdministradorDTO;
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.AdocaoDTO;
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.AnimalDTO;
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.OngDTO;
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.UsuarioDTO;
+import br.com.alevh.sistema_adocao_pets.model.Administrador;
+import br.com.alevh.sistema_adocao_pets.model.Adocao;
+import br.com.alevh.sistema_adocao_pets.model.Animal;
+import br.com.alevh.sistema_adocao_pets.model.Ong;
+import br.com.alevh.sistema_adocao_pets.model.Usuario;
+
+// fachada de mapeamento: os pares entidade/DTO conhecidos usam os mappers
+// gerados em tempo de compilação (MapStruct), o resto continua no Dozer
 public class DozerMapper {
 
     private static Mapper mapper = DozerBeanMapperBuilder.buildDefault();
 
+    private static final Map<Class<?>, Map<Class<?>, Function<Object, Object>>> mappers = new HashMap<>();
+
+    static {
+        register(Animal.class, AnimalDTO.class, AnimalMapper.INSTANCE::toDTO);
+        register(AnimalDTO.class, Animal.class, AnimalMapper.INSTANCE::toEntity);
+        register(Ong.class, OngDTO.class, OngMapper.INSTANCE::toDTO);
+        register(OngDTO.class, Ong.class, OngMapper.INSTANCE::toEntity);
+        register(Usuario.class, UsuarioDTO.class, UsuarioMapper.INSTANCE::toDTO);
+        register(UsuarioDTO.class, Usuario.class, UsuarioMapper.INSTANCE::toEntity);
+        register(RegistroDTO.class, Usuario.class, UsuarioMapper.INSTANCE::toEntity);
+        register(Adocao.class, AdocaoDTO.class, AdocaoMapper.INSTANCE::toDTO);
+        register(AdocaoDTO.class, Adocao.class, AdocaoMapper.INSTANCE::toEntity);
+        register(Administrador.class, AdministradorDTO.class, AdministradorMapper.INSTANCE::toDTO);
+        register(AdministradorDTO.class, Administrador.class, AdministradorMapper.INSTANCE::toEntity);
+    }
+
     public static <O, D> D parseObject(O origin, Class<D> destination) {
+        Function<Object, Object> generated = origin == null ? null : find(origin.getClass(), destination);
+        if (generated != null) {
+            return destination.cast(generated.apply(origin));
+        }
         return mapper.map(origin, destination);
     }
 
     public static <O, D> List<D> parseListObjects(List<O> origin, Class<D> destination) {
         List<D> destinationObjects = new ArrayList<>();
         for (O o : origin) {
-            destinationObjects.add(mapper.map(o, destination));
+            destinationObjects.add(parseObject(o, destination));
         }
         return destinationObjects;
     }
+
+    @SuppressWarnings("unchecked")
+    private static <O, D> void register(Class<O> origin, Class<D> destination, Function<O, D> function) {
+        mappers.computeIfAbsent(origin, k -> new HashMap<>())
+                .put(destination, (Function<Object, Object>) function);
+    }
+
+    // sobe na hierarquia para cobrir proxies do Hibernate (subclasses das
+    // entidades)
+    private static Function<Object, Object> find(Class<?> origin, Class<?> destination) {
+        for (Class<?> type = origin; type != null && type != Object.class; type = type.getSuperclass()) {
+            Map<Class<?>, Function<Object, Object>> byDestination = mappers.get(type);
+            if (byDestination != null) {
+                return byDestination.get(destination);
+            }
+        }
+        return null;
+    }
 }
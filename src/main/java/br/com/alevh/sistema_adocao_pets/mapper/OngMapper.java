@@ -0,0 +1,22 @@
+package br.com.alevh.sistema_adocao_pets.mapper;
+
+import org.mapstruct.InheritInverseConfiguration;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+import org.mapstruct.factory.Mappers;
+
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.OngDTO;
+import br.com.alevh.sistema_adocao_pets.model.Ong;
+
+@Mapper(uses = VOMapper.class, unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface OngMapper {
+
+    OngMapper INSTANCE = Mappers.getMapper(OngMapper.class);
+
+    @Mapping(target = "key", source = "idOng")
+    OngDTO toDTO(Ong ong);
+
+    @InheritInverseConfiguration
+    Ong toEntity(OngDTO ong);
+}
@@ -0,0 +1,28 @@
+package br.com.alevh.sistema_adocao_pets.mapper;
+
+import org.mapstruct.InheritInverseConfiguration;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+import org.mapstruct.factory.Mappers;
+
+import br.com.alevh.sistema_adocao_pets.data.dto.security.RegistroDTO;
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.UsuarioDTO;
+import br.com.alevh.sistema_adocao_pets.model.Usuario;
+
+@Mapper(uses = VOMapper.class, unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface UsuarioMapper {
+
+    UsuarioMapper INSTANCE = Mappers.getMapper(UsuarioMapper.class);
+
+    @Mapping(target = "key", source = "idUsuario")
+    UsuarioDTO toDTO(Usuario usuario);
+
+    @InheritInverseConfiguration
+    @Mapping(target = "animaisFavoritos", ignore = true)
+    Usuario toEntity(UsuarioDTO usuario);
+
+    // a senha é codificada pelo UsuarioService, não é copiada do registro
+    @Mapping(target = "animaisFavoritos", ignore = true)
+    Usuario toEntity(RegistroDTO registro);
+}
@@ -0,0 +1,37 @@
+package br.com.alevh.sistema_adocao_pets.mapper;
+
+import org.mapstruct.Mapper;
+
+import br.com.alevh.sistema_adocao_pets.data.dto.common.CnpjVO;
+import br.com.alevh.sistema_adocao_pets.data.dto.common.CpfVO;
+import br.com.alevh.sistema_adocao_pets.data.dto.common.DescricaoVO;
+import br.com.alevh.sistema_adocao_pets.data.dto.common.EnderecoVO;
+import br.com.alevh.sistema_adocao_pets.data.dto.common.SiteVO;
+
+// cópias dos VOs embutidos, assim como o Dozer fazia (entidade e DTO não
+// compartilham a mesma instância)
+@Mapper
+public interface VOMapper {
+
+    DescricaoVO copy(DescricaoVO descricao);
+
+    EnderecoVO copy(EnderecoVO endereco);
+
+    SiteVO copy(SiteVO site);
+
+    default CnpjVO toCnpjVO(String cnpj) {
+        return cnpj == null ? null : new CnpjVO(cnpj);
+    }
+
+    default String fromCnpjVO(CnpjVO cnpj) {
+        return cnpj == null ? null : cnpj.getCnpj();
+    }
+
+    default CpfVO toCpfVO(String cpf) {
+        return cpf == null ? null : new CpfVO(cpf);
+    }
+
+    default String fromCpfVO(CpfVO cpf) {
+        return cpf == null ? null : cpf.getCpf();
+    }
+}
@@ -15,6 +15,8 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.Table;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -27,6 +29,10 @@ import lombok.Setter;
 @EqualsAndHashCode
 @Entity
 @Table(name = "adocao")
+// associações são LAZY; quem precisa delas pede pelo grafo (ver AdocaoRepository)
+@NamedEntityGraph(name = "Adocao.comAnimalEUsuario", attributeNodes = {
+        @NamedAttributeNode("animal"),
+        @NamedAttributeNode("usuario") })
 public class Adocao implements Serializable {
     private static final long serialVersionUID = 1L;
 
@@ -44,14 +50,16 @@ public class Adocao implements Serializable {
 
     // do ponto de vista da adoção, cada registro está ligado a um único usuário,
     // mas o mesmo usuário pode aparecer em várias adoções.
-    @ManyToOne(fetch = FetchType.EAGER, cascade = CascadeType.MERGE)
+    @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.MERGE)
     @JoinColumn(name = "usuario_id", nullable = false)
+    @EqualsAndHashCode.Exclude
     private Usuario usuario;
 
     // muitas adoções podem estar associadas a um mesmo animal (por exemplo, em um
     // sistema que mantém histórico de tentativas de adoção, ou onde um animal é
     // devolvido e adotado novamente).
-    @ManyToOne(fetch = FetchType.EAGER, cascade = CascadeType.MERGE)
+    @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.MERGE)
     @JoinColumn(name = "animal_id", nullable = false)
+    @EqualsAndHashCode.Exclude
     private Animal animal;
 }
\ No newline at end of file
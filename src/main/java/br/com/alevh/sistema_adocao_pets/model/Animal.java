@@ -3,21 +3,33 @@ package br.com.alevh.sistema_adocao_pets.model;
 import java.io.Serializable;
 import java.time.LocalDate;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import br.com.alevh.sistema_adocao_pets.data.dto.common.DescricaoVO;
 import br.com.alevh.sistema_adocao_pets.enums.StatusAnimal;
-import br.com.alevh.sistema_adocao_pets.serialization.converter.DescricaoConverter;
+import br.com.alevh.sistema_adocao_pets.model.listener.CatalogoListener;
+import br.com.alevh.sistema_adocao_pets.model.listener.IndiceAnimaisListener;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
-import jakarta.persistence.Convert;
+import jakarta.persistence.ColumnResult;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.EntityResult;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.FieldResult;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.SqlResultSetMapping;
 import jakarta.persistence.Table;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -30,6 +42,40 @@ import lombok.Setter;
 @EqualsAndHashCode
 @Entity
 @Table(name = "animal")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners({CatalogoListener.class, IndiceAnimaisListener.class})
+// a ong é LAZY; o detalhe e a listagem por ong pedem o grafo (ver AnimalRepository)
+@NamedEntityGraph(name = "Animal.comOng", attributeNodes = @NamedAttributeNode("ong"))
+// linhas das consultas nativas (animal JOIN ong): o animal e a sua ong saem
+// da mesma linha, com as colunas da ong prefixadas por ong_, e a associação é
+// resolvida pela ong já carregada em vez de um SELECT por ong. Mapeamento
+// único para o filtro, a fatia e a busca: quem não calcula relevância ou total
+// devolve NULL nessas colunas. A lista de colunas da ong no SELECT sai deste
+// mapeamento (ver AnimalRepositoryImpl.COLUNAS_ONG), então uma coluna nova da
+// ong entra só aqui
+@SqlResultSetMapping(name = "Animal.comOng", entities = {
+        @EntityResult(entityClass = Animal.class),
+        @EntityResult(entityClass = Ong.class, fields = {
+                @FieldResult(name = "idOng", column = "ong_id"),
+                @FieldResult(name = "nome", column = "ong_nome"),
+                @FieldResult(name = "nomeUsuario", column = "ong_nome_usuario"),
+                @FieldResult(name = "email", column = "ong_email"),
+                @FieldResult(name = "senha", column = "ong_senha"),
+                @FieldResult(name = "fotoPerfil", column = "ong_foto_perfil"),
+                @FieldResult(name = "cell", column = "ong_cell"),
+                @FieldResult(name = "role", column = "ong_role"),
+                @FieldResult(name = "endereco", column = "ong_endereco"),
+                @FieldResult(name = "cnpj", column = "ong_cnpj"),
+                @FieldResult(name = "responsavel", column = "ong_responsavel"),
+                @FieldResult(name = "descricao", column = "ong_descricao"),
+                @FieldResult(name = "site", column = "ong_site"),
+                @FieldResult(name = "latitude", column = "ong_latitude"),
+                @FieldResult(name = "longitude", column = "ong_longitude"),
+                @FieldResult(name = "versaoToken", column = "ong_versao_token") }) },
+        // total_linhas por último, como o PaginacaoNativa espera
+        columns = {
+                @ColumnResult(name = "relevancia", type = Float.class),
+                @ColumnResult(name = "total_linhas", type = Long.class) })
 public class Animal implements Serializable {
     private static final long serialVersionUID = 1L;
 
@@ -53,8 +99,8 @@ public class Animal implements Serializable {
     @Column(name = "foto", length = 255)
     private String foto;
 
-    @Convert(converter = DescricaoConverter.class)
-    @Column(name = "descricao", columnDefinition = "TEXT")
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "descricao", columnDefinition = "jsonb")
     private DescricaoVO descricao;
 
     @Column(name = "porte", nullable = false, length = 50)
@@ -68,7 +114,8 @@ public class Animal implements Serializable {
     private StatusAnimal status;
 
     // varios animais podem estar associados a uma única ong
-    @ManyToOne(fetch = FetchType.EAGER, cascade = CascadeType.MERGE)
+    @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.MERGE)
     @JoinColumn(name = "ong_id", nullable = false)
+    @EqualsAndHashCode.Exclude
     private Ong ong;
 }
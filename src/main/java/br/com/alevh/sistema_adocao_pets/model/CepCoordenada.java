@@ -0,0 +1,23 @@
+package br.com.alevh.sistema_adocao_pets.model;
+
+import org.springframework.data.annotation.Immutable;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+
+// coordenada aproximada dos CEPs que começam com o prefixo (tabela offline
+// carregada pela migração)
+@Entity
+@Table(name = "cep_coordenada")
+@Immutable
+@Getter
+public class CepCoordenada {
+    @Id
+    private String prefixo;
+
+    private double latitude;
+
+    private double longitude;
+}
@@ -2,9 +2,8 @@ package br.com.alevh.sistema_adocao_pets.model;
 
 import java.util.Collection;
 
-import org.springframework.data.annotation.Immutable;
+import org.hibernate.annotations.Immutable;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import br.com.alevh.sistema_adocao_pets.security.Roles;
@@ -15,14 +14,22 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.Getter;
 
+// identidade de login de usuario, ong ou administrador; a tabela é mantida
+// pelos gatilhos das três (V19), a aplicação só lê
 @Entity
-@Table(name = "v_login_identity")
+@Table(name = "login_identity")
 @Immutable
 @Getter
 public class LoginIdentityView implements UserDetails {
     @Id
     private Long id;
 
+    // tabela de origem: usuario, ong ou administrador
+    private String tipo;
+
+    // id na tabela de origem
+    private Long perfilId;
+
     private String email;
 
     private String senha;
@@ -32,11 +39,11 @@ public class LoginIdentityView implements UserDetails {
     @Enumerated(EnumType.STRING)
     private Roles role;
 
+    private int versaoToken;
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return role.getAuthorities().stream()
-                .map(auth -> new SimpleGrantedAuthority("ROLE_" + auth))
-                .toList();
+        return role.getAuthorities();
     }
 
     @Override
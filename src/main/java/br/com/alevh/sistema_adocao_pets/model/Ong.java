@@ -1,15 +1,25 @@
 package br.com.alevh.sistema_adocao_pets.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.type.SqlTypes;
+
 import br.com.alevh.sistema_adocao_pets.data.dto.common.EnderecoVO;
 import br.com.alevh.sistema_adocao_pets.data.dto.common.SiteVO;
-import br.com.alevh.sistema_adocao_pets.serialization.converter.EnderecoConverter;
-import br.com.alevh.sistema_adocao_pets.serialization.converter.SiteConverter;
+import br.com.alevh.sistema_adocao_pets.model.listener.CatalogoListener;
+import br.com.alevh.sistema_adocao_pets.model.listener.IndiceAnimaisListener;
+import br.com.alevh.sistema_adocao_pets.model.listener.IndiceProximidadeListener;
 import jakarta.persistence.Column;
-import jakarta.persistence.Convert;
+import jakarta.persistence.ColumnResult;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.EntityResult;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SqlResultSetMapping;
 import jakarta.persistence.Table;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -22,6 +32,13 @@ import lombok.Setter;
 @EqualsAndHashCode(callSuper = false)
 @Entity
 @Table(name = "ong")
+// lida em quase toda requisição e alterada poucas vezes por dia
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
+@EntityListeners({CatalogoListener.class, IndiceAnimaisListener.class, IndiceProximidadeListener.class})
+// linha do filtro nativo com o total da consulta (count(*) over ()) junto
+@SqlResultSetMapping(name = "Ong.comTotal", entities = @EntityResult(entityClass = Ong.class),
+        columns = @ColumnResult(name = "total_linhas", type = Long.class))
 
 public class Ong extends PerfilBase {
     private static final long serialVersionUID = 1L;
@@ -31,8 +48,8 @@ public class Ong extends PerfilBase {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long idOng;
 
-    @Convert(converter = EnderecoConverter.class)
-    @Column(name = "endereco", nullable = false, columnDefinition = "TEXT")
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "endereco", nullable = false, columnDefinition = "jsonb")
     private EnderecoVO endereco;
 
     @Column(name = "cnpj", nullable = false, unique = true, length = 18)
@@ -44,8 +61,16 @@ public class Ong extends PerfilBase {
     @Column(name = "descricao", columnDefinition = "TEXT")
     private String descricao;
 
-    @Convert(converter = SiteConverter.class)
-    @Column(name = "site", nullable = true, columnDefinition = "TEXT")
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "site", nullable = true, columnDefinition = "jsonb")
     private SiteVO site;
 
+    // aproximadas a partir do CEP (CepService.preencherCoordenadas); null se o
+    // prefixo do CEP não está na tabela
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
 }
@@ -1,15 +1,29 @@
 package br.com.alevh.sistema_adocao_pets.model;
 
+import org.hibernate.annotations.NaturalId;
+
+import java.util.Objects;
+
+import br.com.alevh.sistema_adocao_pets.model.listener.IdentidadeLoginListener;
 import br.com.alevh.sistema_adocao_pets.security.Roles;
 import jakarta.persistence.Column;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
 // não vira uma tabela no banco
 @MappedSuperclass
+// mantém os caches da identidade de login em dia com os perfis
+@EntityListeners(IdentidadeLoginListener.class)
 @Getter
 @Setter
 public abstract class PerfilBase {
@@ -17,6 +31,9 @@ public abstract class PerfilBase {
     @Column(name = "nome", nullable = false, length = 80)
     private String nome;
 
+    // chave natural: findByNomeUsuario resolve pelo cache de segundo nível nas
+    // entidades cacheadas (ver OngRepositoryImpl)
+    @NaturalId(mutable = true)
     @Column(name = "nome_usuario", nullable = false, unique = true, length = 80)
     private String nomeUsuario;
 
@@ -35,4 +52,51 @@ public abstract class PerfilBase {
     @Enumerated(EnumType.STRING)
     @Column(name = "role", nullable = false, length = 255, columnDefinition = "smallint default 0")
     private Roles role;
+
+    // vai no JWT; o token só vale enquanto a versão dele for a atual
+    @Column(name = "versao_token", nullable = false)
+    @Setter(AccessLevel.NONE)
+    private int versaoToken;
+
+    // email, role e versão como foram lidos do banco
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient Credenciais carregadas;
+
+    private record Credenciais(String email, Roles role, int versaoToken) {
+    }
+
+    // a escrita revogou os tokens da conta; o IdentidadeLoginListener roda
+    // antes do guardarCredenciais no @PostUpdate, então ainda compara com a
+    // versão lida
+    public boolean isVersaoTokenAlterada() {
+        return carregadas == null || versaoToken != carregadas.versaoToken();
+    }
+
+    // email como foi lido do banco (null se o perfil é novo); o
+    // IdentidadeLoginListener o tira do CachePrincipais junto com o atual
+    public String getEmailLido() {
+        return carregadas == null ? null : carregadas.email();
+    }
+
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    private void guardarCredenciais() {
+        carregadas = new Credenciais(email, role, versaoToken);
+    }
+
+    // trocar o email ou a role invalida os tokens já emitidos (eles carregam os
+    // dois). A versão nunca volta, nem por um PATCH com versaoToken
+    @PreUpdate
+    private void revogarTokensSeCredenciaisMudaram() {
+        if (carregadas == null) {
+            return;
+        }
+        versaoToken = Math.max(versaoToken, carregadas.versaoToken());
+        if (!Objects.equals(email, carregadas.email()) || role != carregadas.role()) {
+            versaoToken = carregadas.versaoToken() + 1;
+        }
+    }
 }
@@ -0,0 +1,25 @@
+package br.com.alevh.sistema_adocao_pets.model;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+
+// token revogado no logout; gravado só pelo INSERT nativo do
+// TokenRevogadoRepository, que deixa o revogado_em com o relógio do banco
+@Entity
+@Table(name = "token_revogado")
+@Immutable
+@Getter
+public class TokenRevogado {
+    @Id
+    private String jti;
+
+    private Instant expiraEm;
+
+    private Instant revogadoEm;
+}
@@ -12,6 +12,8 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.Table;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -24,6 +26,7 @@ import lombok.Setter;
 @EqualsAndHashCode(callSuper = false)
 @Entity
 @Table(name = "usuario")
+@NamedEntityGraph(name = "Usuario.comFavoritos", attributeNodes = @NamedAttributeNode("animaisFavoritos"))
 public class Usuario extends PerfilBase {
 
     @Id
@@ -34,7 +37,10 @@ public class Usuario extends PerfilBase {
     @Column(name = "cpf", nullable = false, unique = true, length = 14)
     private String cpf;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    // LAZY: o perfil não mostra os favoritos, e as listagens de favoritos usam
+    // projeção (UsuarioRepository)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "usuario_animais_favoritos", joinColumns = @JoinColumn(name = "usuario_id"), inverseJoinColumns = @JoinColumn(name = "animal_id"))
+    @EqualsAndHashCode.Exclude
     private Set<Animal> animaisFavoritos = new HashSet<>();
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package br.com.alevh.sistema_adocao_pets.model.listener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+// conta as escritas em animal e ong: caches derivados do catálogo (ex.: as
+// facetas) guardam a versão em que foram calculados e são descartados quando
+// ela muda
+public class CatalogoListener {
+
+    private static final AtomicLong VERSAO = new AtomicLong();
+
+    public static long versao() {
+        return VERSAO.get();
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void alterado(Object entidade) {
+        VERSAO.incrementAndGet();
+
+        // de novo ao fim da transação: uma leitura entre o flush e o commit
+        // ainda enxerga os dados antigos e pode tê-los guardado com a versão nova
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    VERSAO.incrementAndGet();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package br.com.alevh.sistema_adocao_pets.model.listener;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// para os listeners que espelham escritas em índices em memória: a alteração
+// só é aplicada se a transação confirmar; fora de transação, na hora
+final class DepoisDoCommit {
+
+    private DepoisDoCommit() {
+    }
+
+    static void executar(Runnable alteracao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            alteracao.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                alteracao.run();
+            }
+        });
+    }
+}
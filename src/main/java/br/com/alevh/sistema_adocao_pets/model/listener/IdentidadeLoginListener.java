@@ -0,0 +1,69 @@
+package br.com.alevh.sistema_adocao_pets.model.listener;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+import br.com.alevh.sistema_adocao_pets.model.PerfilBase;
+import br.com.alevh.sistema_adocao_pets.security.CachePrincipais;
+import br.com.alevh.sistema_adocao_pets.security.VersoesToken;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+// a login_identity acompanha usuario, ong e administrador pelos gatilhos do
+// banco; o que fica em memória acompanha por aqui. Uma escrita num perfil
+// (inclusive de role) tira do CachePrincipais do SecurityFilter, depois do
+// commit, o email anterior e o atual do perfil (a chave do cache; o nome de
+// usuário não é chave); as que revogam tokens (versão nova ou conta removida)
+// fazem o VersoesToken desta instância reler o banco na hora, sem esperar a
+// próxima atualização. As dependências vêm por ObjectProvider pelo mesmo
+// motivo do IndiceAnimaisListener
+public class IdentidadeLoginListener {
+
+    private final ObjectProvider<CachePrincipais> cachePrincipais;
+
+    private final ObjectProvider<VersoesToken> versoesToken;
+
+    public IdentidadeLoginListener(ObjectProvider<CachePrincipais> cachePrincipais,
+            ObjectProvider<VersoesToken> versoesToken) {
+        this.cachePrincipais = cachePrincipais;
+        this.versoesToken = versoesToken;
+    }
+
+    @PostPersist
+    public void criado(PerfilBase perfil) {
+        depoisDoCommit(perfil, false);
+    }
+
+    // roda antes do @PostUpdate do PerfilBase, então a versão e o email
+    // carregados ainda são os anteriores à alteração
+    @PostUpdate
+    public void alterado(PerfilBase perfil) {
+        depoisDoCommit(perfil, perfil.isVersaoTokenAlterada());
+    }
+
+    @PostRemove
+    public void removido(PerfilBase perfil) {
+        depoisDoCommit(perfil, true);
+    }
+
+    private void depoisDoCommit(PerfilBase perfil, boolean revogou) {
+        CachePrincipais principais = cachePrincipais.getIfAvailable();
+        VersoesToken versoes = revogou ? versoesToken.getIfAvailable() : null;
+        // copiados agora: o perfil pode mudar de novo antes do commit
+        Set<String> emails = new HashSet<>();
+        emails.add(perfil.getEmail());
+        emails.add(perfil.getEmailLido());
+        emails.remove(null);
+        DepoisDoCommit.executar(() -> {
+            if (versoes != null) {
+                versoes.atualizar();
+            }
+            if (principais != null) {
+                principais.invalidar(emails);
+            }
+        });
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.alevh.sistema_adocao_pets.model.listener;
+
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+import br.com.alevh.sistema_adocao_pets.model.Animal;
+import br.com.alevh.sistema_adocao_pets.model.Ong;
+import br.com.alevh.sistema_adocao_pets.service.indice.IndiceAnimais;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+// mantém o IndiceAnimais em dia com as escritas em animal e ong. Os valores
+// são copiados no evento e só entram no índice depois do commit, para que um
+// rollback não deixe no índice o que o banco não tem. Instanciado pelo Spring
+// (SpringBeanContainer do Hibernate); o índice vem por ObjectProvider porque
+// os listeners são criados junto com o EntityManagerFactory, antes dele
+public class IndiceAnimaisListener {
+
+    private final ObjectProvider<IndiceAnimais> indice;
+
+    public IndiceAnimaisListener(ObjectProvider<IndiceAnimais> indice) {
+        this.indice = indice;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void alterado(Object entidade) {
+        if (entidade instanceof Animal animal) {
+            Long id = animal.getIdAnimal();
+            IndiceAnimais.Entrada entrada = IndiceAnimais.Entrada.of(animal);
+            String cidade = cidade(animal.getOng());
+            depoisDoCommit(indice -> indice.animalAlterado(id, entrada, cidade));
+        } else if (entidade instanceof Ong ong) {
+            Long id = ong.getIdOng();
+            String cidade = cidade(ong);
+            depoisDoCommit(indice -> indice.ongAlterada(id, cidade));
+        }
+    }
+
+    @PostRemove
+    public void removido(Object entidade) {
+        if (entidade instanceof Animal animal) {
+            Long id = animal.getIdAnimal();
+            depoisDoCommit(indice -> indice.animalRemovido(id));
+        } else if (entidade instanceof Ong ong) {
+            Long id = ong.getIdOng();
+            depoisDoCommit(indice -> indice.ongRemovida(id));
+        }
+    }
+
+    private static String cidade(Ong ong) {
+        return ong == null || ong.getEndereco() == null ? null : ong.getEndereco().getCidade();
+    }
+
+    private void depoisDoCommit(Consumer<IndiceAnimais> alteracao) {
+        IndiceAnimais alvo = indice.getIfAvailable();
+        if (alvo != null) {
+            DepoisDoCommit.executar(() -> alteracao.accept(alvo));
+        }
+    }
+}
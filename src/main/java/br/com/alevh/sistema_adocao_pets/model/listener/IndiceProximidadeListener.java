@@ -0,0 +1,41 @@
+package br.com.alevh.sistema_adocao_pets.model.listener;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+import br.com.alevh.sistema_adocao_pets.model.Ong;
+import br.com.alevh.sistema_adocao_pets.service.indice.IndiceProximidade;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+// mantém a grade do IndiceProximidade em dia com as coordenadas das ongs,
+// aplicando as alterações só depois do commit (ver IndiceAnimaisListener)
+public class IndiceProximidadeListener {
+
+    private final ObjectProvider<IndiceProximidade> indice;
+
+    public IndiceProximidadeListener(ObjectProvider<IndiceProximidade> indice) {
+        this.indice = indice;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void alterada(Ong ong) {
+        Long id = ong.getIdOng();
+        Double latitude = ong.getLatitude();
+        Double longitude = ong.getLongitude();
+        IndiceProximidade alvo = indice.getIfAvailable();
+        if (alvo != null) {
+            DepoisDoCommit.executar(() -> alvo.ongAlterada(id, latitude, longitude));
+        }
+    }
+
+    @PostRemove
+    public void removida(Ong ong) {
+        Long id = ong.getIdOng();
+        IndiceProximidade alvo = indice.getIfAvailable();
+        if (alvo != null) {
+            DepoisDoCommit.executar(() -> alvo.ongRemovida(id));
+        }
+    }
+}
@@ -1,23 +1,50 @@
 package br.com.alevh.sistema_adocao_pets.repository;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.AdocaoDTO;
 import br.com.alevh.sistema_adocao_pets.model.Adocao;
 
 @Repository
 public interface AdocaoRepository extends JpaRepository<Adocao, Long> {
 
-    @Query("SELECT a FROM Adocao a WHERE a.usuario.id = :idUsuario")
-    Page<Adocao> findAdocoesByUsuarioId(@Param("idUsuario") Long idUsuario, Pageable pageable);
+    // colunas expostas pelo AdocaoDTO (alias a = adoção, an = animal, u = usuário)
+    String PROJECAO_DTO = "new br.com.alevh.sistema_adocao_pets.data.dto.v1.AdocaoDTO("
+            + "a.idAdocao, a.dataAdocao, a.status, an.idAnimal, an.nome, an.especie, an.sexo, "
+            + "u.idUsuario, u.nome, u.email, u.cell)";
+
+    // detalhe da adoção: animal e usuário na mesma consulta, sem a ong do animal
+    @Override
+    @EntityGraph("Adocao.comAnimalEUsuario")
+    Optional<Adocao> findById(Long id);
+
+    @Query(value = "SELECT " + PROJECAO_DTO + " FROM Adocao a JOIN a.animal an JOIN a.usuario u",
+            countQuery = "SELECT COUNT(a) FROM Adocao a")
+    Page<AdocaoDTO> findAllDTO(Pageable pageable);
+
+    // modo keyset pelo índice (data_adocao, id)
+    @Query("SELECT " + PROJECAO_DTO + " FROM Adocao a JOIN a.animal an JOIN a.usuario u "
+            + "WHERE (a.dataAdocao, a.idAdocao) > (:data, :id) ORDER BY a.dataAdocao, a.idAdocao")
+    List<AdocaoDTO> findDTOApos(@Param("data") LocalDate data, @Param("id") Long id, Limit limit);
 
-    @Query("SELECT a FROM Adocao a WHERE a.animal.ong.id = :idOng")
-    Page<Adocao> findAdocoesByOngId(@Param("idOng") Long idOng, Pageable pageable);
+    @Query(value = "SELECT " + PROJECAO_DTO + " FROM Adocao a JOIN a.animal an JOIN a.usuario u "
+            + "WHERE an.ong.idOng = :idOng",
+            countQuery = "SELECT COUNT(a) FROM Adocao a WHERE a.animal.ong.idOng = :idOng")
+    Page<AdocaoDTO> findAdocoesDTOByOngId(@Param("idOng") Long idOng, Pageable pageable);
 
-    @Query("SELECT a FROM Adocao a WHERE a.usuario.nomeUsuario = :nomeUsuario")
-    Page<Adocao> findAdocoesByNomeUsuario(@Param("nomeUsuario") String nomeUsuario, Pageable pageable);
+    @Query(value = "SELECT " + PROJECAO_DTO + " FROM Adocao a JOIN a.animal an JOIN a.usuario u "
+            + "WHERE u.nomeUsuario = :nomeUsuario",
+            countQuery = "SELECT COUNT(a) FROM Adocao a WHERE a.usuario.nomeUsuario = :nomeUsuario")
+    Page<AdocaoDTO> findAdocoesDTOByNomeUsuario(@Param("nomeUsuario") String nomeUsuario, Pageable pageable);
 }
\ No newline at end of file
@@ -1,23 +1,82 @@
 package br.com.alevh.sistema_adocao_pets.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.AnimalDTO;
+import br.com.alevh.sistema_adocao_pets.enums.StatusAnimal;
 import br.com.alevh.sistema_adocao_pets.model.Animal;
 import br.com.alevh.sistema_adocao_pets.repository.custom.AnimalRepositoryCustom;
 
 @Repository
 public interface AnimalRepository extends JpaRepository<Animal, Long>, AnimalRepositoryCustom {
 
+    // colunas expostas pelo AnimalDTO, já com os dados achatados da ong (alias
+    // a = animal, o = ong)
+    String PROJECAO_DTO = "new br.com.alevh.sistema_adocao_pets.data.dto.v1.AnimalDTO("
+            + "a.idAnimal, a.nome, a.especie, a.raca, a.dataNascimento, a.foto, a.descricao, a.porte, a.sexo, "
+            + "a.status, o.idOng, o.nome, o.cell, o.endereco)";
+
+    // detalhe do animal: a ong vem na mesma consulta (o AnimalDTO mostra os dados dela)
+    @Override
+    @EntityGraph("Animal.comOng")
+    Optional<Animal> findById(Long id);
+
+    // animal.nome não é único, então fica numa consulta comum em vez da chave
+    // natural do cache de segundo nível
+    @EntityGraph("Animal.comOng")
     Optional<Animal> findByNome(String nome);
 
     void deleteByNome(String nome);
 
-    // @Query("SELECT a FROM Animal a WHERE a.ong.nomeUsuario = :nomeUsuario")
-    Page<Animal> findByOngNomeUsuario(String nomeUsuario, Pageable pageable);
+    // carrega a página de ids respondida pelo IndiceAnimais; a ordem é a do índice
+    @Query("SELECT a FROM Animal a JOIN FETCH a.ong WHERE a.idAnimal IN :ids")
+    List<Animal> findComOngByIdIn(@Param("ids") Collection<Long> ids);
+
+    // quais ongs de um lote (as próximas do IndiceProximidade) têm animal no status
+    @Query("SELECT DISTINCT a.ong.idOng FROM Animal a WHERE a.ong.idOng IN :ongs AND a.status = :status")
+    List<Long> findOngsComAnimaisNoStatus(@Param("ongs") Collection<Long> ongs,
+            @Param("status") StatusAnimal status);
+
+    // animais de uma ong no status, em ordem de (nome, id) depois do par informado
+    @Query("SELECT a FROM Animal a JOIN FETCH a.ong o WHERE o.idOng = :ong AND a.status = :status "
+            + "AND (a.nome, a.idAnimal) > (:nome, :id) ORDER BY a.nome, a.idAnimal")
+    List<Animal> findComOngByOngIdAndStatusApos(@Param("ong") Long ong, @Param("status") StatusAnimal status,
+            @Param("nome") String nome, @Param("id") Long id, Limit limit);
+
+    // atributos que o IndiceAnimais guarda, na ordem que ele lê
+    @Query(value = """
+            SELECT a.id, a.nome, a.especie, a.raca, a.porte, a.sexo, a.status, a.ong_id, o.endereco ->> 'cidade'
+            FROM animal a JOIN ong o ON a.ong_id = o.id
+            """, nativeQuery = true)
+    List<Object[]> findAtributosIndexados();
+
+    @Query(value = "SELECT " + PROJECAO_DTO + " FROM Animal a JOIN a.ong o", countQuery = "SELECT COUNT(a) FROM Animal a")
+    Page<AnimalDTO> findAllDTO(Pageable pageable);
+
+    @Query(value = "SELECT " + PROJECAO_DTO + " FROM Animal a JOIN a.ong o WHERE o.nomeUsuario = :nomeUsuario",
+            countQuery = "SELECT COUNT(a) FROM Animal a WHERE a.ong.nomeUsuario = :nomeUsuario")
+    Page<AnimalDTO> findDTOByOngNomeUsuario(@Param("nomeUsuario") String nomeUsuario, Pageable pageable);
+
+    // modo keyset: segue o índice (nome, id) a partir do último item da página
+    // anterior, sem OFFSET nem COUNT
+    @Query("SELECT " + PROJECAO_DTO + " FROM Animal a JOIN a.ong o WHERE (a.nome, a.idAnimal) > (:nome, :id) "
+            + "ORDER BY a.nome, a.idAnimal")
+    List<AnimalDTO> findDTOApos(@Param("nome") String nome, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT " + PROJECAO_DTO + " FROM Animal a JOIN a.ong o WHERE o.nomeUsuario = :nomeUsuario "
+            + "AND (a.nome, a.idAnimal) > (:nome, :id) ORDER BY a.nome, a.idAnimal")
+    List<AnimalDTO> findDTOByOngNomeUsuarioApos(@Param("nomeUsuario") String nomeUsuario, @Param("nome") String nome,
+            @Param("id") Long id, Limit limit);
 
 }
\ No newline at end of file
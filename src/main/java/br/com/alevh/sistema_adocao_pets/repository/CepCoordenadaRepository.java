@@ -0,0 +1,21 @@
+package br.com.alevh.sistema_adocao_pets.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.com.alevh.sistema_adocao_pets.model.CepCoordenada;
+
+@Repository
+public interface CepCoordenadaRepository extends JpaRepository<CepCoordenada, String> {
+
+    // o prefixo mais longo que casa com o CEP (só dígitos)
+    @Query(value = """
+            SELECT * FROM cep_coordenada WHERE :cep LIKE prefixo || '%'
+            ORDER BY length(prefixo) DESC LIMIT 1
+            """, nativeQuery = true)
+    Optional<CepCoordenada> findPorCep(@Param("cep") String cep);
+}
@@ -1,15 +1,61 @@
 package br.com.alevh.sistema_adocao_pets.repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import br.com.alevh.sistema_adocao_pets.config.RoteamentoLeitura;
 import br.com.alevh.sistema_adocao_pets.model.LoginIdentityView;
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface LoginIdentityViewRepository extends JpaRepository<LoginIdentityView, Long> {
-    Optional<LoginIdentityView> findByEmail(String email);
+
+    // lower(email) é o que o índice único cobre
+    @Query("SELECT v FROM LoginIdentityView v WHERE lower(v.email) = lower(:email)")
+    Optional<LoginIdentityView> findPorEmail(@Param("email") String email);
+
+    // login por email ou nome de usuário numa consulta só (um índice para cada
+    // lado do OR); até duas linhas se o identificador for o email de uma conta
+    // e o nome de usuário de outra
+    @Query("""
+            SELECT v FROM LoginIdentityView v
+            WHERE lower(v.email) = lower(:identificador) OR v.nomeUsuario = :identificador
+            """)
+    List<LoginIdentityView> findPorIdentificador(@Param("identificador") String identificador);
 
     Optional<LoginIdentityView> findByNomeUsuario(String nomeUsuario);
+
+    // lidos do primário: logo depois de trocar a senha ou o email, a réplica
+    // atrasada ainda teria os antigos
+    default Optional<LoginIdentityView> findByEmail(String email) {
+        return RoteamentoLeitura.noPrimario(() -> findPorEmail(email));
+    }
+
+    default List<LoginIdentityView> findByIdentificador(String identificador) {
+        return RoteamentoLeitura.noPrimario(() -> findPorIdentificador(identificador));
+    }
+
+    // (id, versão) das contas que já tiveram tokens revogados (VersoesToken)
+    @Query("SELECT v.id, v.versaoToken FROM LoginIdentityView v WHERE v.versaoToken > 0")
+    List<Object[]> findVersoesRevogadas();
+
+    // ids das contas removidas (gatilho da V20), com todos os tokens revogados
+    @Query(value = "SELECT id FROM login_identity_removida", nativeQuery = true)
+    List<Long> findRemovidas();
+
+    // depois da validade do token, a conta removida não tem mais token que valha
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "login_identity_removida"))
+    @Query(value = "DELETE FROM login_identity_removida WHERE removida_em < :limite", nativeQuery = true)
+    int deleteRemovidasAntes(@Param("limite") Instant limite);
 }
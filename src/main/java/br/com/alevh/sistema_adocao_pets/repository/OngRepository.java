@@ -1,10 +1,17 @@
 package br.com.alevh.sistema_adocao_pets.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.OngDTO;
 import br.com.alevh.sistema_adocao_pets.model.Ong;
 import br.com.alevh.sistema_adocao_pets.repository.custom.OngRepositoryCustom;
 
@@ -13,11 +20,25 @@ public interface OngRepository extends JpaRepository<Ong, Long>, OngRepositoryCu
 
     Optional<Ong> findByEmail(String email);
 
-    Optional<Ong> findByNomeUsuario(String nomeUsuario);
-
     Optional<Ong> findByCnpj(String cnpj);
 
     Optional<Ong> findByCell(String cell);
 
     void deleteByNomeUsuario(String nomeUsuario);
-}
\ No newline at end of file
+
+    @Query(value = "SELECT new br.com.alevh.sistema_adocao_pets.data.dto.v1.OngDTO(o.idOng, o.nome, o.nomeUsuario, "
+            + "o.fotoPerfil, o.email, o.endereco, o.cell, o.cnpj, o.responsavel, o.descricao, o.site) FROM Ong o",
+            countQuery = "SELECT COUNT(o) FROM Ong o")
+    Page<OngDTO> findAllDTO(Pageable pageable);
+
+    // modo keyset pelo índice (nome, id)
+    @Query("SELECT new br.com.alevh.sistema_adocao_pets.data.dto.v1.OngDTO(o.idOng, o.nome, o.nomeUsuario, "
+            + "o.fotoPerfil, o.email, o.endereco, o.cell, o.cnpj, o.responsavel, o.descricao, o.site) FROM Ong o "
+            + "WHERE (o.nome, o.idOng) > (:nome, :id) ORDER BY o.nome, o.idOng")
+    List<OngDTO> findDTOApos(@Param("nome") String nome, @Param("id") Long id, Limit limit);
+
+    // coordenadas das ongs geolocalizadas, para o IndiceProximidade
+    @Query("SELECT o.idOng, o.latitude, o.longitude FROM Ong o "
+            + "WHERE o.latitude IS NOT NULL AND o.longitude IS NOT NULL")
+    List<Object[]> findCoordenadas();
+}
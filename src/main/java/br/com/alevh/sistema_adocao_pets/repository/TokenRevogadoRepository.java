@@ -0,0 +1,36 @@
+package br.com.alevh.sistema_adocao_pets.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.alevh.sistema_adocao_pets.model.TokenRevogado;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface TokenRevogadoRepository extends JpaRepository<TokenRevogado, String> {
+
+    // o mesmo token revogado duas vezes (ou por duas instâncias) fica uma linha só
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "token_revogado"))
+    @Query(value = "INSERT INTO token_revogado (jti, expira_em) VALUES (:jti, :expiraEm) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    void revogar(@Param("jti") String jti, @Param("expiraEm") Instant expiraEm);
+
+    // leitura incremental: as revogações feitas a partir de desde que ainda valem
+    @Query("SELECT t FROM TokenRevogado t WHERE t.revogadoEm >= :desde AND t.expiraEm > :agora")
+    List<TokenRevogado> findRevogadosDesde(@Param("desde") Instant desde, @Param("agora") Instant agora);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TokenRevogado t WHERE t.expiraEm <= :agora")
+    int deleteExpirados(@Param("agora") Instant agora);
+}
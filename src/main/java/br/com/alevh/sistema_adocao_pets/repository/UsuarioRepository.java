@@ -1,17 +1,24 @@
 package br.com.alevh.sistema_adocao_pets.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.AnimalDTO;
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.UsuarioDTO;
 import br.com.alevh.sistema_adocao_pets.model.Animal;
 import br.com.alevh.sistema_adocao_pets.model.Usuario;
+import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
 
 @Repository
@@ -24,23 +31,55 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
     Optional<Usuario> findByNomeUsuario(String nomeUsuario);
 
+    // para alterar a coleção de favoritos pela entidade
+    @EntityGraph("Usuario.comFavoritos")
+    Optional<Usuario> findComFavoritosByNomeUsuario(String nomeUsuario);
+
     void deleteByNomeUsuario(String nomeUsuario);
 
     @Query("SELECT a FROM Usuario u JOIN u.animaisFavoritos a WHERE u.nomeUsuario = :nomeUsuario")
     Page<Animal> findAnimaisFavoritosByNomeUsuario(@Param("nomeUsuario") String nomeUsuario, Pageable pageable);
 
+    @Query(value = "SELECT new br.com.alevh.sistema_adocao_pets.data.dto.v1.UsuarioDTO(u.idUsuario, u.nome, u.email, "
+            + "u.nomeUsuario, u.fotoPerfil, u.cell, u.cpf) FROM Usuario u",
+            countQuery = "SELECT COUNT(u) FROM Usuario u")
+    Page<UsuarioDTO> findAllDTO(Pageable pageable);
+
+    // o animal é o alias principal para a ordenação do Pageable cair em a.nome
+    @Query(value = "SELECT " + AnimalRepository.PROJECAO_DTO + " FROM Animal a JOIN a.ong o WHERE a.idAnimal IN "
+            + "(SELECT f.idAnimal FROM Usuario u JOIN u.animaisFavoritos f WHERE u.nomeUsuario = :nomeUsuario)",
+            countQuery = "SELECT COUNT(f) FROM Usuario u JOIN u.animaisFavoritos f WHERE u.nomeUsuario = :nomeUsuario")
+    Page<AnimalDTO> findAnimaisFavoritosDTOByNomeUsuario(@Param("nomeUsuario") String nomeUsuario,
+            Pageable pageable);
+
+    // modo keyset pelos índices (nome, id)
+    @Query("SELECT new br.com.alevh.sistema_adocao_pets.data.dto.v1.UsuarioDTO(u.idUsuario, u.nome, u.email, "
+            + "u.nomeUsuario, u.fotoPerfil, u.cell, u.cpf) FROM Usuario u WHERE (u.nome, u.idUsuario) > (:nome, :id) "
+            + "ORDER BY u.nome, u.idUsuario")
+    List<UsuarioDTO> findDTOApos(@Param("nome") String nome, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT " + AnimalRepository.PROJECAO_DTO + " FROM Animal a JOIN a.ong o WHERE a.idAnimal IN "
+            + "(SELECT f.idAnimal FROM Usuario u JOIN u.animaisFavoritos f WHERE u.nomeUsuario = :nomeUsuario) "
+            + "AND (a.nome, a.idAnimal) > (:nome, :id) ORDER BY a.nome, a.idAnimal")
+    List<AnimalDTO> findAnimaisFavoritosDTOApos(@Param("nomeUsuario") String nomeUsuario, @Param("nome") String nome,
+            @Param("id") Long id, Limit limit);
+
     boolean existsByNomeUsuarioAndAnimaisFavoritos_IdAnimal(String nomeUsuario, Long animalId);
 
     @Query("SELECT u.idUsuario FROM Usuario u WHERE u.nomeUsuario = :nomeUsuario")
     Long findIdByNomeUsuario(@Param("nomeUsuario") String nomeUsuario);
 
+    // os dois nativos declaram a tabela que alteram; sem isso o Hibernate
+    // esvazia todas as regiões do cache de segundo nível a cada favorito
     @Modifying
     @Transactional
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "usuario_animais_favoritos"))
     @Query(value = "DELETE FROM usuario_animais_favoritos WHERE usuario_id = (SELECT id FROM usuario WHERE nome_usuario = ?1) AND animal_id = ?2", nativeQuery = true)
     void removerFavoritoNativo(String nomeUsuario, Long animalId);
 
     @Modifying
     @Transactional
+    @QueryHints(@QueryHint(name = "org.hibernate.query.native.spaces", value = "usuario_animais_favoritos"))
     @Query(value = "INSERT INTO usuario_animais_favoritos (usuario_id, animal_id) VALUES ((SELECT id FROM usuario WHERE nome_usuario = ?1), ?2)", nativeQuery = true)
     void adicionarFavoritoNativo(String nomeUsuario, Long animalId);
 }
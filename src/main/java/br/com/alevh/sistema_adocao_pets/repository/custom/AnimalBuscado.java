@@ -0,0 +1,8 @@
+package br.com.alevh.sistema_adocao_pets.repository.custom;
+
+import br.com.alevh.sistema_adocao_pets.model.Animal;
+
+// animal encontrado pela busca textual com a relevância (ts_rank) que
+// ordenou o resultado; a relevância vai para o cursor da próxima página
+public record AnimalBuscado(Animal animal, float relevancia) {
+}
@@ -1,11 +1,26 @@
 package br.com.alevh.sistema_adocao_pets.repository.custom;
 
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import br.com.alevh.sistema_adocao_pets.data.dto.v1.AnimalFiltroDTO;
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.FacetasAnimalDTO;
 import br.com.alevh.sistema_adocao_pets.model.Animal;
 
 public interface AnimalRepositoryCustom {
     Page<Animal> filtrarAnimaisNativo(AnimalFiltroDTO filtro, Pageable pageable);
+
+    // mesma consulta sem o total: só indica se há próxima página
+    Slice<Animal> fatiarAnimaisNativo(AnimalFiltroDTO filtro, Pageable pageable);
+
+    // busca textual ranqueada combinada com o filtro, em modo keyset: traz até
+    // limite animais depois do par (relevancia, id) informado
+    List<AnimalBuscado> buscarAnimais(String termo, AnimalFiltroDTO filtro, float relevancia, Long id, int limite);
+
+    // contagem por valor de espécie, porte, sexo, status e cidade da ong dentro
+    // do filtro, numa única consulta
+    FacetasAnimalDTO contarFacetas(AnimalFiltroDTO filtro);
 }
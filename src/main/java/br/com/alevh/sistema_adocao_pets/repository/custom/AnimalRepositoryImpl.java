@@ -1,101 +1,148 @@
 package br.com.alevh.sistema_adocao_pets.repository.custom;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
 
 import br.com.alevh.sistema_adocao_pets.data.dto.v1.AnimalFiltroDTO;
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.FacetasAnimalDTO;
 import br.com.alevh.sistema_adocao_pets.model.Animal;
+import br.com.alevh.sistema_adocao_pets.model.Ong;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.FieldResult;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
+import jakarta.persistence.SqlResultSetMapping;
 
 @Repository
 public class AnimalRepositoryImpl implements AnimalRepositoryCustom {
 
+    // predicados sobre animal a JOIN ong o; outras consultas (ex.: a
+    // exportação) montam seus formatos em cima deles
+    static final CompiladorFiltro<AnimalFiltroDTO> FILTRO = new CompiladorFiltro<AnimalFiltroDTO>()
+            .igual(AnimalFiltroDTO::getNome, "a.nome", "nome")
+            .igual(AnimalFiltroDTO::getEspecie, "a.especie", "especie")
+            .igual(AnimalFiltroDTO::getRaca, "a.raca", "raca")
+            .igual(AnimalFiltroDTO::getPorte, "a.porte", "porte")
+            .igual(AnimalFiltroDTO::getSexo, "a.sexo", "sexo")
+            .igual(AnimalFiltroDTO::getStatus, "a.status", "status")
+            .contem(AnimalFiltroDTO::getCidadeOng, "o.endereco ->> 'cidade'", "cidade");
+
+    static final String FROM = " FROM animal a JOIN ong o ON a.ong_id = o.id";
+
+    // colunas da ong com prefixo para não colidir com as do animal, tiradas do
+    // mapeamento Animal.comOng (ong_<coluna>); o id da ong é o próprio a.ong_id
+    static final String COLUNAS_ONG = Arrays.stream(Animal.class.getAnnotation(SqlResultSetMapping.class).entities())
+            .filter(entidade -> entidade.entityClass() == Ong.class)
+            .flatMap(entidade -> Arrays.stream(entidade.fields()))
+            .map(FieldResult::column)
+            .filter(coluna -> !coluna.equals("ong_id"))
+            .map(coluna -> ", o." + coluna.substring("ong_".length()) + " AS " + coluna)
+            .collect(Collectors.joining());
+
+    // desempate pelo id, como no IndiceAnimais, para a página não mudar
+    // conforme o índice está pronto ou não
+    static final String ORDEM = " ORDER BY a.nome ASC, a.id ASC";
+
+    static final CompiladorFiltro.Formato<AnimalFiltroDTO> PAGINA = FILTRO.formato(
+            "SELECT a.*" + COLUNAS_ONG + ", NULL::real AS relevancia, count(*) OVER () AS total_linhas" + FROM,
+            ORDEM);
+
+    private static final CompiladorFiltro.Formato<AnimalFiltroDTO> FATIA = FILTRO.formato(
+            "SELECT a.*" + COLUNAS_ONG + ", NULL::real AS relevancia, NULL::bigint AS total_linhas" + FROM,
+            ORDEM);
+
+    private static final CompiladorFiltro.Formato<AnimalFiltroDTO> CONTAGEM = FILTRO.formato(
+            "SELECT COUNT(*)" + FROM, "");
+
+    // busca textual sobre a coluna gerada animal.busca (índice GIN), em ordem
+    // de relevância e depois id; o keyset continua a partir do último par
+    // (relevancia, id) da página anterior
+    private static final CompiladorFiltro.Formato<AnimalFiltroDTO> BUSCA = FILTRO.formato(
+            "SELECT a.*" + COLUNAS_ONG + ", ts_rank(a.busca, consulta) AS relevancia, NULL::bigint AS total_linhas"
+                    + FROM + " CROSS JOIN websearch_to_tsquery('portugues_sem_acento', :termo) AS consulta",
+            "a.busca @@ consulta AND (ts_rank(a.busca, consulta) < :relevancia "
+                    + "OR (ts_rank(a.busca, consulta) = :relevancia AND a.id > :id))",
+            " ORDER BY relevancia DESC, a.id ASC");
+
+    // todas as facetas numa passada só: um grouping set por coluna, e o
+    // GROUPING(...) diz qual delas a linha agrupou (bit 0 = coluna agrupada,
+    // da última coluna para a primeira)
+    private static final CompiladorFiltro.Formato<AnimalFiltroDTO> FACETAS = FILTRO.formato("""
+            SELECT a.especie, a.porte, a.sexo, a.status, o.endereco ->> 'cidade' AS cidade,
+            GROUPING(a.especie, a.porte, a.sexo, a.status, o.endereco ->> 'cidade') AS grupo, count(*) AS total"""
+            + FROM, """
+             GROUP BY GROUPING SETS ((a.especie), (a.porte), (a.sexo), (a.status), (o.endereco ->> 'cidade'))
+            ORDER BY grupo, total DESC""");
+
+    private static final int QUANTIDADE_FACETAS = 5;
+
     @PersistenceContext
     private EntityManager entityManager;
 
     @Override
     public Page<Animal> filtrarAnimaisNativo(AnimalFiltroDTO filtro, Pageable pageable) {
-        StringBuilder sql = new StringBuilder("""
-                    SELECT a.* FROM animal a
-                    JOIN ong o ON a.ong_id = o.id
-                    WHERE 1=1
-                """);
-
-        StringBuilder countSql = new StringBuilder("""
-                    SELECT COUNT(*) FROM animal a
-                    JOIN ong o ON a.ong_id = o.id
-                    WHERE 1=1
-                """);
-
-        Map<String, Object> params = new HashMap<>();
-
-        if (filtro.getNome() != null) {
-            sql.append(" AND a.nome = :nome");
-            countSql.append(" AND a.nome = :nome");
-            params.put("nome", filtro.getNome());
-        }
+        return PaginacaoNativa.pagina(entityManager, PAGINA.compilar(filtro), "Animal.comOng",
+                CONTAGEM.compilar(filtro), Animal.class, pageable);
+    }
 
-        if (filtro.getEspecie() != null) {
-            sql.append(" AND a.especie = :especie");
-            countSql.append(" AND a.especie = :especie");
-            params.put("especie", filtro.getEspecie());
-        }
+    @Override
+    public Slice<Animal> fatiarAnimaisNativo(AnimalFiltroDTO filtro, Pageable pageable) {
+        return PaginacaoNativa.fatia(entityManager, FATIA.compilar(filtro), "Animal.comOng", Animal.class,
+                pageable);
+    }
 
-        if (filtro.getRaca() != null) {
-            sql.append(" AND a.raca = :raca");
-            countSql.append(" AND a.raca = :raca");
-            params.put("raca", filtro.getRaca());
-        }
+    @Override
+    public List<AnimalBuscado> buscarAnimais(String termo, AnimalFiltroDTO filtro, float relevancia, Long id,
+            int limite) {
+        ConsultaFiltro consulta = BUSCA.compilar(filtro);
+        consulta.params().put("termo", termo);
+        consulta.params().put("relevancia", relevancia);
+        consulta.params().put("id", id);
 
-        if (filtro.getPorte() != null) {
-            sql.append(" AND a.porte = :porte");
-            countSql.append(" AND a.porte = :porte");
-            params.put("porte", filtro.getPorte());
-        }
+        Query query = entityManager.createNativeQuery(consulta.sql(), "Animal.comOng");
+        consulta.params().forEach(query::setParameter);
+        query.setMaxResults(limite);
 
-        if (filtro.getSexo() != null) {
-            sql.append(" AND a.sexo = :sexo");
-            countSql.append(" AND a.sexo = :sexo");
-            params.put("sexo", filtro.getSexo());
-        }
-
-        if (filtro.getStatus() != null) {
-            sql.append(" AND a.status = :status");
-            countSql.append(" AND a.status = :status");
-            params.put("status", filtro.getStatus());
-        }
+        @SuppressWarnings("unchecked")
+        List<Object[]> linhas = query.getResultList();
 
-        if (filtro.getCidadeOng() != null) {
-            sql.append(" AND o.endereco::jsonb ->> 'cidade' ILIKE :cidade");
-            countSql.append(" AND o.endereco::jsonb ->> 'cidade' ILIKE :cidade");
-            params.put("cidade", "%" + filtro.getCidadeOng() + "%");
+        List<AnimalBuscado> animais = new ArrayList<>(linhas.size());
+        for (Object[] linha : linhas) {
+            animais.add(new AnimalBuscado((Animal) linha[0], ((Number) linha[2]).floatValue()));
         }
+        return animais;
+    }
 
-        sql.append(" ORDER BY a.nome ASC");
-
-        Query query = entityManager.createNativeQuery(sql.toString(), Animal.class);
-        Query countQuery = entityManager.createNativeQuery(countSql.toString());
-
-        params.forEach((k, v) -> {
-            query.setParameter(k, v);
-            countQuery.setParameter(k, v);
-        });
+    @Override
+    public FacetasAnimalDTO contarFacetas(AnimalFiltroDTO filtro) {
+        ConsultaFiltro consulta = FACETAS.compilar(filtro);
 
-        query.setFirstResult((int) pageable.getOffset());
-        query.setMaxResults(pageable.getPageSize());
+        Query query = entityManager.createNativeQuery(consulta.sql());
+        consulta.params().forEach(query::setParameter);
 
         @SuppressWarnings("unchecked")
-        List<Animal> resultList = query.getResultList();
-        Long total = ((Number) countQuery.getSingleResult()).longValue();
-
-        return new PageImpl<>(resultList, pageable, total);
+        List<Object[]> linhas = query.getResultList();
+
+        FacetasAnimalDTO facetas = new FacetasAnimalDTO();
+        List<Map<String, Long>> destinos = List.of(facetas.getEspecie(), facetas.getPorte(), facetas.getSexo(),
+                facetas.getStatus(), facetas.getCidadeOng());
+        for (Object[] linha : linhas) {
+            int grupo = ((Number) linha[QUANTIDADE_FACETAS]).intValue();
+            for (int i = 0; i < QUANTIDADE_FACETAS; i++) {
+                // valores nulos (ex.: ong sem cidade) ficam fora das contagens
+                if ((grupo & 1 << (QUANTIDADE_FACETAS - 1 - i)) == 0 && linha[i] != null) {
+                    destinos.get(i).put(linha[i].toString(), ((Number) linha[QUANTIDADE_FACETAS + 1]).longValue());
+                }
+            }
+        }
+        return facetas;
     }
 }
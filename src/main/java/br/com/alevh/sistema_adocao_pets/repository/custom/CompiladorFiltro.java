@@ -0,0 +1,116 @@
+package br.com.alevh.sistema_adocao_pets.repository.custom;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+// compila os filtros opcionais de um DTO em SQL: cada campo é um bit da
+// máscara de campos preenchidos e o texto de cada combinação é gerado uma vez
+// só por formato de consulta. O mesmo SQL volta sempre igual para a mesma
+// combinação, o que também deixa o driver reaproveitar o plano preparado
+final class CompiladorFiltro<F> {
+
+    private record Predicado<F>(Function<F, ?> campo, String condicao, String parametro,
+            Function<Object, Object> valor) {
+    }
+
+    private final List<Predicado<F>> predicados = new ArrayList<>();
+
+    CompiladorFiltro<F> igual(Function<F, ?> campo, String coluna, String parametro) {
+        predicados.add(new Predicado<>(campo, coluna + " = :" + parametro, parametro, Function.identity()));
+        return this;
+    }
+
+    // ILIKE '%valor%', com % e _ do valor tratados como texto (o escape
+    // padrão do LIKE no Postgres é a barra invertida)
+    CompiladorFiltro<F> contem(Function<F, ?> campo, String coluna, String parametro) {
+        predicados.add(new Predicado<>(campo, coluna + " ILIKE :" + parametro, parametro,
+                v -> "%" + escaparLike(v.toString()) + "%"));
+        return this;
+    }
+
+    private static String escaparLike(String valor) {
+        return valor.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    // inicio vem antes do WHERE (SELECT ... FROM ... JOIN ...) e fim depois
+    // dele (ORDER BY ...); os formatos devem ser criados depois dos predicados
+    Formato<F> formato(String inicio, String fim) {
+        return new Formato<>(this, inicio, null, fim);
+    }
+
+    // condicao entra sempre, antes dos predicados opcionais
+    Formato<F> formato(String inicio, String condicao, String fim) {
+        return new Formato<>(this, inicio, condicao, fim);
+    }
+
+    int mascara(F filtro) {
+        int mascara = 0;
+        for (int i = 0; i < predicados.size(); i++) {
+            if (predicados.get(i).campo().apply(filtro) != null) {
+                mascara |= 1 << i;
+            }
+        }
+        return mascara;
+    }
+
+    private Map<String, Object> parametros(F filtro, int mascara) {
+        Map<String, Object> params = new HashMap<>();
+        for (int i = 0; i < predicados.size(); i++) {
+            if ((mascara & 1 << i) != 0) {
+                Predicado<F> predicado = predicados.get(i);
+                params.put(predicado.parametro(), predicado.valor().apply(predicado.campo().apply(filtro)));
+            }
+        }
+        return params;
+    }
+
+    private String where(String condicao, int mascara) {
+        StringBuilder where = new StringBuilder();
+        if (condicao != null) {
+            where.append(" WHERE ").append(condicao);
+        }
+        for (int i = 0; i < predicados.size(); i++) {
+            if ((mascara & 1 << i) != 0) {
+                where.append(where.isEmpty() ? " WHERE " : " AND ").append(predicados.get(i).condicao());
+            }
+        }
+        return where.toString();
+    }
+
+    static final class Formato<F> {
+
+        private final CompiladorFiltro<F> compilador;
+
+        private final String inicio;
+
+        private final String condicao;
+
+        private final String fim;
+
+        // SQL já montado por máscara; corrida na primeira montagem só gera o
+        // mesmo texto duas vezes
+        private final AtomicReferenceArray<String> sqls;
+
+        private Formato(CompiladorFiltro<F> compilador, String inicio, String condicao, String fim) {
+            this.compilador = compilador;
+            this.inicio = inicio;
+            this.condicao = condicao;
+            this.fim = fim;
+            this.sqls = new AtomicReferenceArray<>(1 << compilador.predicados.size());
+        }
+
+        ConsultaFiltro compilar(F filtro) {
+            int mascara = compilador.mascara(filtro);
+            String sql = sqls.get(mascara);
+            if (sql == null) {
+                sql = inicio + compilador.where(condicao, mascara) + fim;
+                sqls.set(mascara, sql);
+            }
+            return new ConsultaFiltro(sql, compilador.parametros(filtro, mascara));
+        }
+    }
+}
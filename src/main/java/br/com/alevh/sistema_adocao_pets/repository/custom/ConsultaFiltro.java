@@ -0,0 +1,7 @@
+package br.com.alevh.sistema_adocao_pets.repository.custom;
+
+import java.util.Map;
+
+// SQL compilado para a combinação de filtros preenchidos, mais os parâmetros
+record ConsultaFiltro(String sql, Map<String, Object> params) {
+}
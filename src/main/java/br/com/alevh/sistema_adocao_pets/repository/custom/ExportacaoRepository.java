@@ -0,0 +1,74 @@
+package br.com.alevh.sistema_adocao_pets.repository.custom;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.AnimalFiltroDTO;
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.OngFiltroDTO;
+
+// leitura linha a linha para a exportação em NDJSON: o handler recebe cada
+// linha assim que ela chega e nada é acumulado em memória. O driver do
+// Postgres só abre cursor no servidor com autocommit desligado, então as
+// chamadas precisam estar dentro de uma transação
+@Repository
+public class ExportacaoRepository {
+
+    // linhas trazidas do cursor por ida ao banco
+    public static final int TAMANHO_LOTE = 500;
+
+    // as colunas jsonb saem sem o "links" que o RepresentationModel deixa
+    // gravado junto com os VOs
+    private static final String COLUNAS_ANIMAL = """
+            a.nome, a.especie, a.raca, a.data_nascimento, a.foto, a.descricao - 'links' AS descricao,
+            a.porte, a.sexo, a.status, o.nome AS nome_ong, o.cell AS telefone_ong,
+            o.endereco - 'links' AS endereco_ong""";
+
+    private static final String COLUNAS_ONG = """
+            o.nome, o.nome_usuario, o.foto_perfil, o.email, o.endereco - 'links' AS endereco, o.cell,
+            o.cnpj, o.responsavel, o.descricao, o.site - 'links' AS site""";
+
+    private static final String COLUNAS_ADOCAO = """
+            ad.id, ad.data_adocao, ad.status, a.nome AS nome_animal, a.especie AS especie_animal,
+            a.sexo AS sexo_animal, u.nome AS nome_usuario, u.email AS email_usuario, u.cell AS cell_usuario""";
+
+    private static final String JUNCOES_ADOCAO = " JOIN adocao ad ON ad.animal_id = a.id"
+            + " JOIN usuario u ON ad.usuario_id = u.id";
+
+    private static final CompiladorFiltro.Formato<AnimalFiltroDTO> ANIMAIS = AnimalRepositoryImpl.FILTRO.formato(
+            "SELECT " + COLUNAS_ANIMAL + AnimalRepositoryImpl.FROM, AnimalRepositoryImpl.ORDEM);
+
+    private static final CompiladorFiltro.Formato<OngFiltroDTO> ONGS = OngRepositoryImpl.FILTRO.formato(
+            "SELECT " + COLUNAS_ONG + OngRepositoryImpl.FROM, OngRepositoryImpl.ORDEM);
+
+    private static final CompiladorFiltro.Formato<AnimalFiltroDTO> ADOCOES = AnimalRepositoryImpl.FILTRO.formato(
+            "SELECT " + COLUNAS_ADOCAO + AnimalRepositoryImpl.FROM + JUNCOES_ADOCAO, AnimalRepositoryImpl.ORDEM);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ExportacaoRepository(DataSource dataSource) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.setFetchSize(TAMANHO_LOTE);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(jdbc);
+    }
+
+    public void animais(AnimalFiltroDTO filtro, RowCallbackHandler handler) {
+        consultar(ANIMAIS.compilar(filtro), handler);
+    }
+
+    public void ongs(OngFiltroDTO filtro, RowCallbackHandler handler) {
+        consultar(ONGS.compilar(filtro), handler);
+    }
+
+    // o filtro de animais se aplica ao animal adotado
+    public void adocoes(AnimalFiltroDTO filtro, RowCallbackHandler handler) {
+        consultar(ADOCOES.compilar(filtro), handler);
+    }
+
+    private void consultar(ConsultaFiltro consulta, RowCallbackHandler handler) {
+        jdbcTemplate.query(consulta.sql(), consulta.params(), handler);
+    }
+}
@@ -1,11 +1,20 @@
 package br.com.alevh.sistema_adocao_pets.repository.custom;
 
+import java.util.Optional;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import br.com.alevh.sistema_adocao_pets.data.dto.v1.OngFiltroDTO;
 import br.com.alevh.sistema_adocao_pets.model.Ong;
 
 public interface OngRepositoryCustom {
     Page<Ong> filtrarOngsNativo(OngFiltroDTO filtro, Pageable pageable);
+
+    // mesma consulta sem o total: só indica se há próxima página
+    Slice<Ong> fatiarOngsNativo(OngFiltroDTO filtro, Pageable pageable);
+
+    // pela chave natural: passa pelo cache de segundo nível
+    Optional<Ong> findByNomeUsuario(String nomeUsuario);
 }
@@ -1,69 +1,56 @@
 package br.com.alevh.sistema_adocao_pets.repository.custom;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 
+import org.hibernate.Session;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import br.com.alevh.sistema_adocao_pets.data.dto.v1.OngFiltroDTO;
 import br.com.alevh.sistema_adocao_pets.model.Ong;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
-import jakarta.persistence.Query;
 
 @Repository
 public class OngRepositoryImpl implements OngRepositoryCustom {
 
-    @PersistenceContext
-    private EntityManager entityManager;
+    // predicados sobre ong o, compartilhados com a exportação
+    static final CompiladorFiltro<OngFiltroDTO> FILTRO = new CompiladorFiltro<OngFiltroDTO>()
+            .contem(OngFiltroDTO::getNome, "o.nome", "nome")
+            .contem(OngFiltroDTO::getCidade, "o.endereco ->> 'cidade'", "cidade");
 
-    @Override
-    public Page<Ong> filtrarOngsNativo(OngFiltroDTO filtro, Pageable pageable) {
-        StringBuilder sql = new StringBuilder("""
-                    SELECT o.* FROM ong o
-                    WHERE 1=1
-                """);
+    static final String FROM = " FROM ong o";
 
-        StringBuilder countSql = new StringBuilder("""
-                    SELECT COUNT(*) FROM ong o
-                    WHERE 1=1
-                """);
+    static final String ORDEM = " ORDER BY o.nome ASC";
 
-        Map<String, Object> params = new HashMap<>();
+    private static final CompiladorFiltro.Formato<OngFiltroDTO> PAGINA = FILTRO.formato(
+            "SELECT o.*, count(*) OVER () AS total_linhas" + FROM, ORDEM);
 
-        if (filtro.getNome() != null) {
-            sql.append(" AND o.nome ILIKE :nome");
-            countSql.append(" AND o.nome ILIKE :nome");
-            params.put("nome", "%" + filtro.getNome() + "%");
-        }
+    private static final CompiladorFiltro.Formato<OngFiltroDTO> FATIA = FILTRO.formato("SELECT o.*" + FROM, ORDEM);
 
-        if (filtro.getCidade() != null) {
-            sql.append(" AND o.endereco::jsonb ->> 'cidade' ILIKE :cidade");
-            countSql.append(" AND o.endereco::jsonb ->> 'cidade' ILIKE :cidade");
-            params.put("cidade", "%" + filtro.getCidade() + "%");
-        }
+    private static final CompiladorFiltro.Formato<OngFiltroDTO> CONTAGEM = FILTRO.formato(
+            "SELECT COUNT(*)" + FROM, "");
 
-        sql.append(" ORDER BY o.nome ASC");
-
-        Query query = entityManager.createNativeQuery(sql.toString(), Ong.class);
-        Query countQuery = entityManager.createNativeQuery(countSql.toString());
-
-        params.forEach((key, value) -> {
-            query.setParameter(key, value);
-            countQuery.setParameter(key, value);
-        });
+    @PersistenceContext
+    private EntityManager entityManager;
 
-        query.setFirstResult((int) pageable.getOffset());
-        query.setMaxResults(pageable.getPageSize());
+    @Override
+    public Page<Ong> filtrarOngsNativo(OngFiltroDTO filtro, Pageable pageable) {
+        return PaginacaoNativa.pagina(entityManager, PAGINA.compilar(filtro), "Ong.comTotal",
+                CONTAGEM.compilar(filtro), Ong.class, pageable);
+    }
 
-        @SuppressWarnings("unchecked")
-        List<Ong> ongs = query.getResultList();
-        Long total = ((Number) countQuery.getSingleResult()).longValue();
+    @Override
+    public Slice<Ong> fatiarOngsNativo(OngFiltroDTO filtro, Pageable pageable) {
+        return PaginacaoNativa.fatia(entityManager, FATIA.compilar(filtro), Ong.class, pageable);
+    }
 
-        return new PageImpl<>(ongs, pageable, total);
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Ong> findByNomeUsuario(String nomeUsuario) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Ong.class).loadOptional(nomeUsuario);
     }
 }
@@ -0,0 +1,79 @@
+package br.com.alevh.sistema_adocao_pets.repository.custom;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+// execução das consultas compiladas pelo CompiladorFiltro: a página traz o
+// total em cada linha (count(*) over ()) e dispensa o SELECT COUNT separado;
+// a fatia não calcula total nenhum
+final class PaginacaoNativa {
+
+    private PaginacaoNativa() {
+    }
+
+    // a consulta da página deve usar um @SqlResultSetMapping que termine na
+    // coluna total_linhas; a entidade pedida é sempre o primeiro resultado. O
+    // COUNT só roda quando a página pedida passou do fim e não veio linha
+    // nenhuma para trazer o total
+    static <T> Page<T> pagina(EntityManager entityManager, ConsultaFiltro consulta, String mapeamento,
+            ConsultaFiltro contagem, Class<T> tipo, Pageable pageable) {
+        Query query = parametros(entityManager.createNativeQuery(consulta.sql(), mapeamento), consulta);
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize());
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> linhas = query.getResultList();
+
+        List<T> conteudo = new ArrayList<>(linhas.size());
+        for (Object[] linha : linhas) {
+            conteudo.add(tipo.cast(linha[0]));
+        }
+        long total = linhas.isEmpty() ? -1 : ((Number) linhas.get(0)[linhas.get(0).length - 1]).longValue();
+
+        return PageableExecutionUtils.getPage(conteudo, pageable, () -> total >= 0 ? total
+                : ((Number) parametros(entityManager.createNativeQuery(contagem.sql()), contagem)
+                        .getSingleResult()).longValue());
+    }
+
+    static <T> Slice<T> fatia(EntityManager entityManager, ConsultaFiltro consulta, Class<T> tipo,
+            Pageable pageable) {
+        return fatia(entityManager.createNativeQuery(consulta.sql(), tipo), consulta, tipo, pageable);
+    }
+
+    // para mapeamentos com mais de uma entidade por linha (ex.: animal + ong)
+    static <T> Slice<T> fatia(EntityManager entityManager, ConsultaFiltro consulta, String mapeamento,
+            Class<T> tipo, Pageable pageable) {
+        return fatia(entityManager.createNativeQuery(consulta.sql(), mapeamento), consulta, tipo, pageable);
+    }
+
+    // uma linha a mais que o tamanho da página só para saber se há próxima
+    private static <T> Slice<T> fatia(Query query, ConsultaFiltro consulta, Class<T> tipo, Pageable pageable) {
+        parametros(query, consulta);
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize() + 1);
+
+        List<?> linhas = query.getResultList();
+
+        boolean temProxima = linhas.size() > pageable.getPageSize();
+        List<T> conteudo = new ArrayList<>(Math.min(linhas.size(), pageable.getPageSize()));
+        for (int i = 0; i < linhas.size() && i < pageable.getPageSize(); i++) {
+            Object linha = linhas.get(i);
+            conteudo.add(tipo.cast(linha instanceof Object[] colunas ? colunas[0] : linha));
+        }
+        return new SliceImpl<>(conteudo, pageable, temProxima);
+    }
+
+    private static Query parametros(Query query, ConsultaFiltro consulta) {
+        consulta.params().forEach(query::setParameter);
+        return query;
+    }
+}
@@ -13,6 +13,7 @@ import br.com.alevh.sistema_adocao_pets.model.Usuario;
 import br.com.alevh.sistema_adocao_pets.repository.AdministradorRepository;
 import br.com.alevh.sistema_adocao_pets.repository.OngRepository;
 import br.com.alevh.sistema_adocao_pets.repository.UsuarioRepository;
+import br.com.alevh.sistema_adocao_pets.security.SenhaEncoder;
 
 @Component
 public class PasswordEncoderRunner implements ApplicationRunner {
@@ -37,7 +38,7 @@ public class PasswordEncoderRunner implements ApplicationRunner {
         List<Administrador> administradores = administradorRepository.findAll();
 
         for (Usuario usuario : usuarios) {
-            if (!usuario.getSenha().startsWith("{bcrypt}")) {
+            if (SenhaEncoder.custoDo(usuario.getSenha()) == null) {
                 String encodedPassword = passwordEncoder.encode(usuario.getSenha());
                 usuario.setSenha(encodedPassword);
                 usuarioRepository.save(usuario);
@@ -45,7 +46,7 @@ public class PasswordEncoderRunner implements ApplicationRunner {
         }
 
         for (Ong ong : ongs) {
-            if (!ong.getSenha().startsWith("{bcrypt}")) {
+            if (SenhaEncoder.custoDo(ong.getSenha()) == null) {
                 String encodedPassword = passwordEncoder.encode(ong.getSenha());
                 ong.setSenha(encodedPassword);
                 ongRepository.save(ong);
@@ -53,7 +54,7 @@ public class PasswordEncoderRunner implements ApplicationRunner {
         }
 
         for (Administrador administrador : administradores) {
-            if (!administrador.getSenha().startsWith("{bcrypt}")) {
+            if (SenhaEncoder.custoDo(administrador.getSenha()) == null) {
                 String encodedPassword = passwordEncoder.encode(administrador.getSenha());
                 administrador.setSenha(encodedPassword);
                 administradorRepository.save(administrador);
@@ -0,0 +1,64 @@
+package br.com.alevh.sistema_adocao_pets.security;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// baldes de tokens do LimiteRequisicoesFilter, numa tabela dividida em
+// listras: cada chave cai numa listra pelo hash e só a listra dela é travada,
+// então clientes diferentes raramente disputam a mesma trava. Cada listra é
+// um LRU limitado; um balde esquecido volta cheio, o que só favorece quem
+// parou de mandar requisições
+final class BaldesTokens {
+
+    record Consumo(boolean permitido, long restantes, long nanosAteProximo, long nanosAteCheio) {
+    }
+
+    private static final class Balde {
+        double tokens;
+        long atualizadoEm;
+
+        Balde(double tokens, long atualizadoEm) {
+            this.tokens = tokens;
+            this.atualizadoEm = atualizadoEm;
+        }
+    }
+
+    private final Map<String, Balde>[] listras;
+
+    @SuppressWarnings("unchecked")
+    BaldesTokens(int quantidadeListras, int tamanhoMaximo) {
+        int porListra = Math.max(1, tamanhoMaximo / quantidadeListras);
+        listras = new Map[quantidadeListras];
+        for (int i = 0; i < quantidadeListras; i++) {
+            listras[i] = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Balde> maisAntigo) {
+                    return size() > porListra;
+                }
+            };
+        }
+    }
+
+    // tenta tirar um token do balde da chave, repondo antes o que a taxa
+    // (tokens por nanossegundo) acumulou desde a última vez
+    Consumo consumir(String chave, long capacidade, double taxa, long agora) {
+        Map<String, Balde> listra = listras[Math.floorMod(chave.hashCode(), listras.length)];
+        synchronized (listra) {
+            Balde balde = listra.get(chave);
+            if (balde == null) {
+                balde = new Balde(capacidade, agora);
+                listra.put(chave, balde);
+            } else {
+                balde.tokens = Math.min(capacidade, balde.tokens + (agora - balde.atualizadoEm) * taxa);
+                balde.atualizadoEm = agora;
+            }
+            boolean permitido = balde.tokens >= 1;
+            if (permitido) {
+                balde.tokens -= 1;
+            }
+            long ateProximo = balde.tokens >= 1 ? 0 : (long) Math.ceil((1 - balde.tokens) / taxa);
+            long ateCheio = (long) Math.ceil((capacidade - balde.tokens) / taxa);
+            return new Consumo(permitido, (long) balde.tokens, ateProximo, ateCheio);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.alevh.sistema_adocao_pets.security;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.com.alevh.sistema_adocao_pets.repository.LoginIdentityViewRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// principal autenticado por email (o subject do token), para o SecurityFilter
+// não ir à login_identity a cada requisição com os tokens antigos, sem as
+// claims de role e versão (os novos nem passam por aqui). Limitado em tamanho e com
+// validade curta; uma escrita em usuario, ong ou administrador tira do cache,
+// depois do commit, o email anterior e o atual do perfil
+// (IdentidadeLoginListener). Acertos e erros em
+// /actuator/metrics/cache.gets?tag=cache:principais
+@Component
+public class CachePrincipais {
+
+    private final LoginIdentityViewRepository loginIdentityViewRepository;
+
+    private final Cache<String, UserDetails> principais;
+
+    public CachePrincipais(LoginIdentityViewRepository loginIdentityViewRepository, MeterRegistry meterRegistry,
+            @Value("${security.principais.tamanho-maximo:10000}") long tamanhoMaximo,
+            @Value("${security.principais.validade:5m}") Duration validade) {
+        this.loginIdentityViewRepository = loginIdentityViewRepository;
+        this.principais = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(validade)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principais, "principais");
+    }
+
+    // emails sem perfil não entram no cache
+    public Optional<UserDetails> buscar(String email) {
+        return Optional.ofNullable(principais.get(email,
+                e -> loginIdentityViewRepository.findByEmail(e).orElse(null)));
+    }
+
+    // o email pode ter mudado na escrita, então não basta tirar a entrada nova:
+    // o token antigo (subject = email antigo) não pode continuar valendo
+    public void invalidar(Collection<String> emails) {
+        principais.invalidateAll(emails);
+    }
+}
@@ -0,0 +1,265 @@
+package br.com.alevh.sistema_adocao_pets.security;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.alevh.sistema_adocao_pets.exceptions.ExceptionResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+// limite de requisições no login e no cadastro, antes do SecurityFilter e de
+// qualquer consulta ao banco ou hash de senha: um balde de tokens por endereço
+// do cliente e, no login, outro pelo identificador enviado, para uma conta não
+// ser atacada de vários endereços. Os cabeçalhos RateLimit-* seguem o balde
+// mais apertado; estourado, responde 429 com Retry-After. As rejeições ficam
+// no actuator em limite.requisicoes.rejeitadas, por grupo e por chave
+@Component
+public class LimiteRequisicoesFilter extends OncePerRequestFilter {
+
+    // corpo do login é pequeno; acima disso a requisição é recusada, senão um
+    // corpo inflado escaparia do balde do identificador
+    private static final int LIMITE_CORPO = 4096;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final AntPathMatcher ROTAS = new AntPathMatcher();
+
+    private final BaldesTokens baldes;
+
+    private final List<Grupo> grupos;
+
+    private record Limite(long capacidade, double taxa) {
+
+        // reposição por minuto em tokens por nanossegundo
+        static Limite de(long capacidade, long porMinuto) {
+            return new Limite(capacidade, porMinuto / 60_000_000_000d);
+        }
+    }
+
+    // identificador null: o grupo só limita por endereço
+    private record Grupo(String nome, List<String> rotas, Limite ip, Limite identificador,
+            Counter rejeitadasIp, Counter rejeitadasIdentificador) {
+
+        boolean atende(String path) {
+            return rotas.stream().anyMatch(rota -> ROTAS.match(rota, path));
+        }
+    }
+
+    public LimiteRequisicoesFilter(MeterRegistry meterRegistry,
+            @Value("${security.limite.listras:64}") int listras,
+            @Value("${security.limite.tamanho-maximo:100000}") int tamanhoMaximo,
+            @Value("${security.limite.login.rotas:/auth/*/login}") List<String> rotasLogin,
+            @Value("${security.limite.login.ip.capacidade:20}") long loginIpCapacidade,
+            @Value("${security.limite.login.ip.por-minuto:10}") long loginIpPorMinuto,
+            @Value("${security.limite.login.identificador.capacidade:5}") long loginIdCapacidade,
+            @Value("${security.limite.login.identificador.por-minuto:5}") long loginIdPorMinuto,
+            @Value("${security.limite.registro.rotas:/auth/*/register,/api/v1/usuarios/signup,"
+                    + "/api/v1/ongs/signup,/api/v1/administradores/register}") List<String> rotasRegistro,
+            @Value("${security.limite.registro.ip.capacidade:5}") long registroIpCapacidade,
+            @Value("${security.limite.registro.ip.por-minuto:2}") long registroIpPorMinuto) {
+        this.baldes = new BaldesTokens(listras, tamanhoMaximo);
+        this.grupos = List.of(
+                new Grupo("login", rotasLogin, Limite.de(loginIpCapacidade, loginIpPorMinuto),
+                        Limite.de(loginIdCapacidade, loginIdPorMinuto),
+                        rejeitadas(meterRegistry, "login", "ip"), rejeitadas(meterRegistry, "login", "identificador")),
+                new Grupo("registro", rotasRegistro, Limite.de(registroIpCapacidade, registroIpPorMinuto), null,
+                        rejeitadas(meterRegistry, "registro", "ip"), null));
+    }
+
+    private static Counter rejeitadas(MeterRegistry meterRegistry, String grupo, String chave) {
+        return Counter.builder("limite.requisicoes.rejeitadas")
+                .description("Requisições recusadas com 429 pelo limite de requisições")
+                .tag("grupo", grupo)
+                .tag("chave", chave)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || grupo(request.getServletPath()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Grupo grupo = grupo(request.getServletPath());
+        long agora = System.nanoTime();
+
+        // com server.forward-headers-strategy, o endereço do cliente e não o do balanceador
+        String endereco = request.getRemoteAddr();
+        BaldesTokens.Consumo consumo = baldes.consumir(grupo.nome() + ":ip:" + endereco,
+                grupo.ip().capacidade(), grupo.ip().taxa(), agora);
+        Limite limite = grupo.ip();
+        Counter rejeitadas = grupo.rejeitadasIp();
+
+        if (consumo.permitido() && grupo.identificador() != null) {
+            CorpoRelido corpo = CorpoRelido.ler(request);
+            if (corpo == null) {
+                recusar(request, response, HttpStatus.PAYLOAD_TOO_LARGE, "Corpo da requisição muito grande");
+                return;
+            }
+            request = corpo;
+            // sem identificador legível (outro formato, JSON inválido) o
+            // balde apertado é o do endereço, para não escaparem do limite por
+            // conta sem travar os outros clientes que usam esses formatos
+            String identificador = corpo.identificador();
+            BaldesTokens.Consumo porIdentificador = baldes.consumir(
+                    grupo.nome() + (identificador == null ? ":sem-id:" + endereco : ":id:" + identificador),
+                    grupo.identificador().capacidade(), grupo.identificador().taxa(), agora);
+            if (!porIdentificador.permitido() || porIdentificador.restantes() < consumo.restantes()) {
+                consumo = porIdentificador;
+                limite = grupo.identificador();
+                rejeitadas = grupo.rejeitadasIdentificador();
+            }
+        }
+
+        response.setHeader("RateLimit-Limit", String.valueOf(limite.capacidade()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(consumo.restantes()));
+        response.setHeader("RateLimit-Reset", String.valueOf(segundos(consumo.nanosAteCheio())));
+
+        if (!consumo.permitido()) {
+            rejeitadas.increment();
+            long retryAfter = segundos(consumo.nanosAteProximo());
+            response.setHeader("Retry-After", String.valueOf(retryAfter));
+            recusar(request, response, HttpStatus.TOO_MANY_REQUESTS,
+                    "Muitas requisições, tente novamente em " + retryAfter + " segundos");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private Grupo grupo(String path) {
+        for (Grupo grupo : grupos) {
+            if (grupo.atende(path)) {
+                return grupo;
+            }
+        }
+        return null;
+    }
+
+    private static long segundos(long nanos) {
+        return Math.max(1, (nanos + 999_999_999) / 1_000_000_000);
+    }
+
+    private static void recusar(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+            String mensagem) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        String json = MAPPER.writeValueAsString(
+                new ExceptionResponse(
+                        new Date(),
+                        List.of(mensagem),
+                        request.getRequestURI()));
+
+        response.getWriter().write(json);
+    }
+
+    // corpo pequeno lido uma vez para achar o identificador e devolvido intacto
+    // ao resto da cadeia
+    private static final class CorpoRelido extends HttpServletRequestWrapper {
+
+        private final byte[] corpo;
+
+        private CorpoRelido(HttpServletRequest request, byte[] corpo) {
+            super(request);
+            this.corpo = corpo;
+        }
+
+        // null quando o corpo passa de LIMITE_CORPO; lê até um byte além dele
+        // sem confiar no Content-Length, que falta no chunked
+        static CorpoRelido ler(HttpServletRequest request) throws IOException {
+            byte[] corpo = request.getInputStream().readNBytes(LIMITE_CORPO + 1);
+            return corpo.length > LIMITE_CORPO ? null : new CorpoRelido(request, corpo);
+        }
+
+        // só do JSON; os outros formatos aceitos pelo controller ficam sem
+        String identificador() {
+            String tipo = getContentType();
+            if (tipo == null || !tipo.contains("json")) {
+                return null;
+            }
+            try {
+                String identificador = MAPPER.readTree(corpo).path("identifier").asText(null);
+                return identificador == null || identificador.isBlank() ? null
+                        : identificador.trim().toLowerCase(Locale.ROOT);
+            } catch (IOException e) {
+                // JSON inválido: o controller responde 400, aqui só não há identificador
+                return null;
+            }
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream entrada = new ByteArrayInputStream(corpo);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return entrada.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return entrada.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return entrada.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // o corpo já está em memória: avisa na hora que há dados e, quando
+                // o listener os consumiu, o fim
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        if (isFinished()) {
+                            readListener.onAllDataRead();
+                        }
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String charset = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    charset == null ? StandardCharsets.UTF_8.name() : charset));
+        }
+    }
+}
@@ -1,27 +1,28 @@
 package br.com.alevh.sistema_adocao_pets.security;
 
-import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 public enum Roles {
-    USER(List.of("USER")),
-    ONG(List.of("ONG")),
-    ADMIN(List.of("ADMIN", "USER", "ONG")),
-    ADMINMASTER(List.of("ADMINMASTER", "ADMIN", "USER", "ONG"));
+    USER("USER"),
+    ONG("ONG"),
+    ADMIN("ADMIN", "USER", "ONG"),
+    ADMINMASTER("ADMINMASTER", "ADMIN", "USER", "ONG");
 
-    private final List<String> authorities;
+    // já com o prefixo ROLE_ e montadas uma vez: o SecurityFilter as usa em
+    // toda requisição autenticada
+    private final List<GrantedAuthority> authorities;
 
-    Roles(List<String> authorities) {
-        this.authorities = authorities;
+    Roles(String... papeis) {
+        this.authorities = Stream.of(papeis)
+                .<GrantedAuthority>map(papel -> new SimpleGrantedAuthority("ROLE_" + papel))
+                .toList();
     }
 
-    public Collection<GrantedAuthority> getAuthorities() {
-        return authorities.stream()
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
     }
 }
@@ -1,5 +1,6 @@
 package br.com.alevh.sistema_adocao_pets.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -8,7 +9,6 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -21,6 +21,7 @@ import lombok.RequiredArgsConstructor;
 public class SecurityConfig {
 
     private final SecurityFilter securityFilter;
+    private final LimiteRequisicoesFilter limiteRequisicoesFilter;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final CustomAccessDeniedHandler customAccessDeniedHandler;
 
@@ -65,6 +66,8 @@ public class SecurityConfig {
                         // Rotas de animal
                         .requestMatchers("/api/v1/animais/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/v1/animais").hasAnyRole("ONG", "USER")
+                        .requestMatchers(HttpMethod.GET, "/api/v1/animais/busca").hasAnyRole("ONG", "USER")
+                        .requestMatchers(HttpMethod.GET, "/api/v1/animais/proximos").hasAnyRole("ONG", "USER")
                         .requestMatchers(HttpMethod.GET, "/api/v1/animais/{nome}").hasAnyRole("ONG", "USER")
                         .requestMatchers(HttpMethod.POST, "/api/v1/animais/registro").hasRole("ONG")
                         .requestMatchers(HttpMethod.PUT, "/api/v1/animais/{nome}").hasRole("ONG")
@@ -79,6 +82,12 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.PATCH, "/api/v1/adocoes/{id}").hasRole("ONG")
                         .requestMatchers(HttpMethod.DELETE, "/api/v1/adocoes/{id}").hasRole("ONG")
 
+                        // Exportações em NDJSON (catálogos completos)
+                        .requestMatchers("/api/v1/exportacoes/**").hasRole("ADMIN")
+
+                        // Métricas do actuator (inclusive as do cache de segundo nível)
+                        .requestMatchers("/actuator/metrics/**").hasRole("ADMIN")
+
                         // Qualquer outra rota com permissão não especificada fica liberada
                         .anyRequest().permitAll())
 
@@ -101,6 +110,8 @@ public class SecurityConfig {
                 .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class) // ordem dos filtros,
                                                                                              // primeiro parâmetro e dps
                                                                                              // o segundo, q é do spring
+                // o limite de login e cadastro barra o excesso antes de qualquer trabalho do SecurityFilter
+                .addFilterBefore(limiteRequisicoesFilter, SecurityFilter.class)
                 .build();
     }
 
@@ -110,8 +121,17 @@ public class SecurityConfig {
         return authenticationConfiguration.getAuthenticationManager();
     }
 
+    // BCrypt num executor limitado e com custo fixo ou calibrado (ver
+    // SenhaEncoder); 0 threads usa metade dos núcleos, deixando o resto para as
+    // outras requisições
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.senha.threads:0}") int threads,
+            @Value("${security.senha.fila:64}") int fila,
+            @Value("${security.senha.tempo-alvo-ms:250}") long tempoAlvoMs,
+            @Value("${security.senha.custo-minimo:10}") int custoMinimo,
+            @Value("${security.senha.custo:0}") int custo) {
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        return new SenhaEncoder(threads > 0 ? threads : Math.max(1, nucleos / 2), fila, tempoAlvoMs, custoMinimo,
+                custo);
     }
 }
@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.util.List;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -13,7 +14,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 
 import br.com.alevh.sistema_adocao_pets.exceptions.TokenInvalidException;
-import br.com.alevh.sistema_adocao_pets.repository.LoginIdentityViewRepository;
+import br.com.alevh.sistema_adocao_pets.model.LoginIdentityView;
 import br.com.alevh.sistema_adocao_pets.service.auth.TokenBlackListService;
 import br.com.alevh.sistema_adocao_pets.service.auth.TokenService;
 import jakarta.servlet.FilterChain;
@@ -27,7 +28,8 @@ import lombok.RequiredArgsConstructor;
 public class SecurityFilter extends OncePerRequestFilter {
 
     private final TokenService tokenService;
-    private final LoginIdentityViewRepository loginIdentityViewRepository;
+    private final CachePrincipais cachePrincipais;
+    private final VersoesToken versoesToken;
     private final TokenBlackListService tokenBlackListService;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private static final List<String> ROTAS_PUBLICAS = List.of(
@@ -61,19 +63,15 @@ public class SecurityFilter extends OncePerRequestFilter {
         if (!shouldNotFilter(request)) {
             var token = this.recoverToken(request);
             if (token != null) {
-                if (tokenBlackListService.isTokenBlacklisted(token)) {
-                    response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                    response.getWriter().write("Token inválido: usuário fez logout");
-                    return;
-                }
                 try {
-                    var email = tokenService.validateToken(token);
-                    UserDetails userDetails = loginIdentityViewRepository.findByEmail(email)
-                            .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado: " + email));
-
-                    var authentication = new UsernamePasswordAuthenticationToken(userDetails, null,
-                            userDetails.getAuthorities());
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    var claims = tokenService.validateToken(token);
+                    // o logout revoga pelo id do token, que só se conhece depois de verificá-lo
+                    if (tokenBlackListService.isTokenRevogado(claims.id())) {
+                        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                        response.getWriter().write("Token inválido: usuário fez logout");
+                        return;
+                    }
+                    SecurityContextHolder.getContext().setAuthentication(autenticar(claims));
 
                 } catch (JWTVerificationException ex) {
                     jwtAuthenticationEntryPoint.commence(request, response,
@@ -85,6 +83,28 @@ public class SecurityFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // a autenticação sai das claims já verificadas, sem consulta ao banco; só a
+    // conta e a versão do token são conferidas, contra o mapa em memória do
+    // VersoesToken
+    private Authentication autenticar(TokenService.Claims claims) {
+        String email = claims.email();
+        if (claims.role() != null && claims.versao() != null && claims.conta() != null) {
+            if (!versoesToken.valida(claims.conta(), claims.versao())) {
+                throw new JWTVerificationException("Token revogado");
+            }
+            return UsernamePasswordAuthenticationToken.authenticated(email, null, claims.role().getAuthorities());
+        }
+        // tokens emitidos antes da claim de conta: o perfil vem do banco pelo
+        // email, e os que já têm versão ainda são conferidos contra ela
+        UserDetails userDetails = cachePrincipais.buscar(email)
+                .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado: " + email));
+        if (claims.versao() != null && userDetails instanceof LoginIdentityView identidade
+                && claims.versao() < identidade.getVersaoToken()) {
+            throw new JWTVerificationException("Token revogado");
+        }
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+
     private String recoverToken(HttpServletRequest request) {
         String authHeader = request.getHeader("Authorization");
         if (authHeader == null || !authHeader.startsWith("Bearer ") || authHeader.equals("Bearer null")) {
@@ -0,0 +1,131 @@
+package br.com.alevh.sistema_adocao_pets.security;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import br.com.alevh.sistema_adocao_pets.exceptions.HashingOverloadedException;
+import lombok.extern.slf4j.Slf4j;
+
+// BCrypt (encode no cadastro e nas alterações, matches no login) num executor
+// próprio e limitado: no máximo threads hashes ao mesmo tempo, até fila
+// esperando, e o resto recusado na hora com 503 e Retry-After, em vez de um
+// pico de logins ocupar todos os núcleos e derrubar a navegação. O custo é o
+// fixado na configuração ou, sem ele, calibrado na subida para um hash levar
+// perto de tempoAlvoMs nesta máquina; os hashes gravados com custo menor são
+// refeitos no próximo login (upgradeEncoding + AuthService.updatePassword)
+@Slf4j
+public class SenhaEncoder implements PasswordEncoder, AutoCloseable {
+
+    private static final int CUSTO_MAXIMO = 31;
+
+    private static final int AMOSTRAS_CALIBRACAO = 3;
+
+    private final BCryptPasswordEncoder bcrypt;
+
+    private final int custo;
+
+    private final long tempoHashMs;
+
+    private final int threads;
+
+    private final ThreadPoolExecutor executor;
+
+    // custoFixo 0 calibra pelo tempoAlvoMs
+    public SenhaEncoder(int threads, int fila, long tempoAlvoMs, int custoMinimo, int custoFixo) {
+        this.threads = threads;
+        long tempoMinimoMs = medir(custoMinimo);
+        if (custoFixo > 0) {
+            this.custo = Math.min(Math.max(custoFixo, custoMinimo), CUSTO_MAXIMO);
+        } else {
+            // cada ponto de custo dobra o tempo do hash
+            int passos = tempoMinimoMs >= tempoAlvoMs ? 0
+                    : 63 - Long.numberOfLeadingZeros(tempoAlvoMs / Math.max(tempoMinimoMs, 1));
+            this.custo = Math.min(custoMinimo + passos, CUSTO_MAXIMO);
+        }
+        this.tempoHashMs = tempoMinimoMs << (custo - custoMinimo);
+        this.bcrypt = new BCryptPasswordEncoder(custo);
+        log.info("Custo do BCrypt em {} ({}, ~{} ms por hash)", custo, custoFixo > 0 ? "fixo" : "calibrado",
+                tempoHashMs);
+
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fila), tarefa -> {
+                    Thread thread = new Thread(tarefa, "senha-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence senha) {
+        return executar(() -> bcrypt.encode(senha));
+    }
+
+    @Override
+    public boolean matches(CharSequence senha, String hash) {
+        return executar(() -> bcrypt.matches(senha, hash));
+    }
+
+    // só para cima: uma subida lenta ou disputada calibra um custo menor, e
+    // baixar o custo dos hashes gravados enfraqueceria as senhas
+    @Override
+    public boolean upgradeEncoding(String hash) {
+        Integer custoGravado = custoDo(hash);
+        return custoGravado != null && custoGravado < custo;
+    }
+
+    // null se não for um hash BCrypt ($2a$10$...)
+    public static Integer custoDo(String hash) {
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$' || hash.charAt(3) != '$'
+                || !Character.isDigit(hash.charAt(4)) || !Character.isDigit(hash.charAt(5))) {
+            return null;
+        }
+        return Integer.parseInt(hash, 4, 6, 10);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> T executar(Callable<T> hash) {
+        try {
+            return executor.submit(hash).get();
+        } catch (RejectedExecutionException ex) {
+            // a fila cheia esvazia em ~ fila * tempo do hash / threads
+            long esperaMs = (executor.getQueue().size() + 1) * tempoHashMs / threads;
+            throw new HashingOverloadedException(Math.max(1, TimeUnit.MILLISECONDS.toSeconds(esperaMs + 999)));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido esperando o hash da senha", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    // mediana de algumas execuções, depois de uma de aquecimento
+    private static long medir(int custo) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(custo);
+        encoder.encode("calibracao");
+        long[] tempos = new long[AMOSTRAS_CALIBRACAO];
+        for (int i = 0; i < tempos.length; i++) {
+            long inicio = System.nanoTime();
+            encoder.encode("calibracao");
+            tempos[i] = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+        }
+        Arrays.sort(tempos);
+        return tempos[tempos.length / 2];
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.alevh.sistema_adocao_pets.security;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.alevh.sistema_adocao_pets.config.RoteamentoLeitura;
+import br.com.alevh.sistema_adocao_pets.repository.LoginIdentityViewRepository;
+
+// mapa de revogação dos tokens, pelo id da conta na login_identity (claim
+// "conta"), que não muda com o email e não se repete num recadastro: um token
+// vale se a conta não foi removida e a versão dele (claim "ver") não é menor
+// que a atual. Só as contas com versão > 0 e as removidas (tabela
+// login_identity_removida, preenchida pelo gatilho) entram no mapa, relido do
+// banco a cada atualizacao-ms, o que leva a revogação a todas as instâncias.
+// A instância que fez a escrita relê logo depois do commit
+// (IdentidadeLoginListener)
+@Component
+public class VersoesToken {
+
+    private final LoginIdentityViewRepository loginIdentityViewRepository;
+
+    private final long validadeTokenMs;
+
+    // null até a primeira leitura
+    private volatile Revogacoes revogacoes;
+
+    private record Revogacoes(Map<Long, Integer> versoes, Set<Long> removidas) {
+    }
+
+    public VersoesToken(LoginIdentityViewRepository loginIdentityViewRepository,
+            @Value("${security.jwt.token.expire-length}") long validadeTokenMs) {
+        this.loginIdentityViewRepository = loginIdentityViewRepository;
+        this.validadeTokenMs = validadeTokenMs;
+    }
+
+    public boolean valida(long conta, int versao) {
+        Revogacoes atuais = revogacoes;
+        if (atuais == null) {
+            atualizar();
+            atuais = revogacoes;
+        }
+        return !atuais.removidas().contains(conta) && versao >= atuais.versoes().getOrDefault(conta, 0);
+    }
+
+    @Scheduled(initialDelayString = "${security.jwt.versoes.atualizacao-ms:30000}",
+            fixedDelayString = "${security.jwt.versoes.atualizacao-ms:30000}")
+    public synchronized void atualizar() {
+        Map<Long, Integer> versoes = new HashMap<>();
+        for (Object[] linha : RoteamentoLeitura.noPrimario(loginIdentityViewRepository::findVersoesRevogadas)) {
+            versoes.put(((Number) linha[0]).longValue(), ((Number) linha[1]).intValue());
+        }
+        Set<Long> removidas = new HashSet<>(RoteamentoLeitura.noPrimario(loginIdentityViewRepository::findRemovidas));
+        revogacoes = new Revogacoes(versoes, removidas);
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.versoes.limpeza-ms:3600000}")
+    public void limpar() {
+        loginIdentityViewRepository.deleteRemovidasAntes(Instant.now().minusMillis(validadeTokenMs));
+    }
+}
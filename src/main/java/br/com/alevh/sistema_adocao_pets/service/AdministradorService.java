@@ -1,9 +1,5 @@
 package br.com.alevh.sistema_adocao_pets.service;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
-import java.lang.reflect.Field;
 import java.util.Map;
 import java.util.Set;
 
@@ -18,11 +14,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.ReflectionUtils;
-
-import com.fasterxml.jackson.databind.ObjectMapper;
 
-import br.com.alevh.sistema_adocao_pets.controller.AdministradorController;
 import br.com.alevh.sistema_adocao_pets.data.dto.security.LoginDTO;
 import br.com.alevh.sistema_adocao_pets.data.dto.security.TokenDTO;
 import br.com.alevh.sistema_adocao_pets.data.dto.v1.AdministradorDTO;
@@ -33,6 +25,8 @@ import br.com.alevh.sistema_adocao_pets.model.LoginIdentityView;
 import br.com.alevh.sistema_adocao_pets.repository.AdministradorRepository;
 import br.com.alevh.sistema_adocao_pets.security.Roles;
 import br.com.alevh.sistema_adocao_pets.service.auth.TokenService;
+import br.com.alevh.sistema_adocao_pets.util.LinkFactory;
+import br.com.alevh.sistema_adocao_pets.util.MergePatch;
 import br.com.alevh.sistema_adocao_pets.util.validations.AdministradorValidacao;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
@@ -57,18 +51,19 @@ public class AdministradorService {
 
     private final TokenService tokenService;
 
+    @Transactional(readOnly = true)
     public PagedModel<EntityModel<AdministradorDTO>> findAll(Pageable pageable) {
 
         Page<Administrador> administradorPage = administradorRepository.findAll(pageable);
 
+        String baseUri = LinkFactory.baseUri();
         Page<AdministradorDTO> administradorDtosPage = administradorPage
                 .map(a -> DozerMapper.parseObject(a, AdministradorDTO.class));
         administradorDtosPage
-                .map(u -> u.add(linkTo(methodOn(AdministradorController.class).acharAdministradorPorId(u.getKey()))
-                        .withSelfRel()));
+                .map(u -> u.add(LinkFactory.self(baseUri, LinkFactory.ADMINISTRADOR_POR_ID, u.getKey())));
 
-        Link link = linkTo(methodOn(AdministradorController.class).listarAdministradores(pageable.getPageNumber(),
-                pageable.getPageSize(), "asc")).withSelfRel();
+        Link link = LinkFactory.self(baseUri, LinkFactory.ADMINISTRADORES, pageable.getPageNumber(),
+                pageable.getPageSize(), "asc");
         return assembler.toModel(administradorDtosPage, link);
     }
 
@@ -82,18 +77,17 @@ public class AdministradorService {
         entity.setEmail(administradorDTO.getEmail().toLowerCase());
 
         AdministradorDTO dto = DozerMapper.parseObject(administradorRepository.save(entity), AdministradorDTO.class);
-        dto.add(
-                linkTo(
-                        methodOn(AdministradorController.class).acharAdministradorPorId(dto.getKey())).withSelfRel());
+        dto.add(LinkFactory.self(LinkFactory.ADMINISTRADOR_POR_ID, dto.getKey()));
         return dto;
     }
 
+    @Transactional(readOnly = true)
     public AdministradorDTO findById(Long id) {
         Administrador entity = administradorRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Administrador não encontrado."));
 
         AdministradorDTO dto = DozerMapper.parseObject(entity, AdministradorDTO.class);
-        dto.add(linkTo(methodOn(AdministradorController.class).acharAdministradorPorId(id)).withSelfRel());
+        dto.add(LinkFactory.self(LinkFactory.ADMINISTRADOR_POR_ID, id));
         return dto;
     }
 
@@ -112,18 +106,18 @@ public class AdministradorService {
         administradorValidacao.validateUpdate(entity);
 
         AdministradorDTO dto = DozerMapper.parseObject(administradorRepository.save(entity), AdministradorDTO.class);
-        dto.add(linkTo(methodOn(AdministradorController.class).acharAdministradorPorId(dto.getKey())).withSelfRel());
+        dto.add(LinkFactory.self(LinkFactory.ADMINISTRADOR_POR_ID, dto.getKey()));
         return dto;
     }
 
+    @Transactional(readOnly = true)
     public AdministradorDTO findByNomeUsuario(String nomeUsuario) {
 
         Administrador entity = administradorRepository.findByNomeUsuario(nomeUsuario)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado."));
 
         AdministradorDTO dto = DozerMapper.parseObject(entity, AdministradorDTO.class);
-        dto.add(linkTo(methodOn(AdministradorController.class).acharAdministradorPorNomeUsuario(nomeUsuario))
-                .withSelfRel());
+        dto.add(LinkFactory.self(LinkFactory.ADMINISTRADOR_POR_NOME_USUARIO, nomeUsuario));
         return dto;
     }
 
@@ -133,19 +127,9 @@ public class AdministradorService {
 
         administradorValidacao.validatePartialUpdate(nomeUsuario, updates);
 
-        ObjectMapper mapper = new ObjectMapper();
-        updates.forEach((campo, valor) -> {
-            Field field = ReflectionUtils.findField(Administrador.class, campo);
-            if (field != null) {
-                field.setAccessible(true);
-
-                if (campo.equalsIgnoreCase("email") && valor instanceof String) {
-                    valor = ((String) valor).toLowerCase();
-                }
-
-                ReflectionUtils.setField(field, administrador, mapper.convertValue(valor, field.getType()));
-            }
-        });
+        updates.computeIfPresent("email",
+                (campo, valor) -> valor instanceof String email ? email.toLowerCase() : valor);
+        MergePatch.aplicar(administrador, updates);
 
         AdministradorDTO administradorDTO = DozerMapper.parseObject(administrador, AdministradorDTO.class);
 
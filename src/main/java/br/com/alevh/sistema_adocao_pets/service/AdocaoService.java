@@ -1,25 +1,21 @@
 package br.com.alevh.sistema_adocao_pets.service;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
-import java.lang.reflect.Field;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.stereotype.Service;
-import org.springframework.util.ReflectionUtils;
-
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.transaction.annotation.Transactional;
 
-import br.com.alevh.sistema_adocao_pets.controller.AdocaoController;
 import br.com.alevh.sistema_adocao_pets.data.dto.v1.AdocaoDTO;
 import br.com.alevh.sistema_adocao_pets.data.dto.v1.AnimalDTO;
 import br.com.alevh.sistema_adocao_pets.exceptions.RequiredObjectIsNullException;
@@ -33,6 +29,9 @@ import br.com.alevh.sistema_adocao_pets.repository.AdocaoRepository;
 import br.com.alevh.sistema_adocao_pets.repository.AnimalRepository;
 import br.com.alevh.sistema_adocao_pets.repository.OngRepository;
 import br.com.alevh.sistema_adocao_pets.repository.UsuarioRepository;
+import br.com.alevh.sistema_adocao_pets.util.Cursor;
+import br.com.alevh.sistema_adocao_pets.util.LinkFactory;
+import br.com.alevh.sistema_adocao_pets.util.MergePatch;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Validator;
@@ -56,26 +55,45 @@ public class AdocaoService {
 
     private final Validator validator;
 
+    @Transactional(readOnly = true)
     public PagedModel<EntityModel<AdocaoDTO>> findAll(Pageable pageable) {
 
-        Page<Adocao> adocaoPage = adocaoRepository.findAll(pageable);
+        Page<AdocaoDTO> adocaoDtosPage = adocaoRepository.findAllDTO(pageable);
 
-        Page<AdocaoDTO> adocaoDtosPage = adocaoPage.map(a -> DozerMapper.parseObject(a, AdocaoDTO.class));
+        String baseUri = LinkFactory.baseUri();
         adocaoDtosPage
-                .map(a -> a.add(linkTo(methodOn(AdocaoController.class).acharAdocaoPorId(a.getKey())).withSelfRel()));
+                .map(a -> a.add(LinkFactory.self(baseUri, LinkFactory.ADOCAO_POR_ID, a.getKey())));
 
-        Link link = linkTo(methodOn(AdocaoController.class).listarAdocoes(pageable.getPageNumber(),
-                pageable.getPageSize(), "asc")).withSelfRel();
+        Link link = LinkFactory.self(baseUri, LinkFactory.ADOCOES, pageable.getPageNumber(),
+                pageable.getPageSize(), "asc");
         return assembler.toModel(adocaoDtosPage, link);
     }
 
+    // modo keyset: ordem crescente por (data da adoção, id), sem total de páginas
+    @Transactional(readOnly = true)
+    public CollectionModel<EntityModel<AdocaoDTO>> findAllApos(String after, int size) {
+
+        Cursor cursor = Cursor.decodificar(after);
+        List<AdocaoDTO> adocoes = adocaoRepository.findDTOApos(cursor.chaveComoData(), cursor.id(),
+                Limit.of(size + 1));
+
+        String baseUri = LinkFactory.baseUri();
+        adocoes.forEach(a -> a.add(LinkFactory.self(baseUri, LinkFactory.ADOCAO_POR_ID, a.getKey())));
+
+        return Cursor.pagina(adocoes, size, LinkFactory.self(baseUri, LinkFactory.ADOCOES, null, size, null, after),
+                a -> Cursor.of(a.getDataAdocao(), a.getKey()),
+                proximo -> LinkFactory.link(baseUri, LinkFactory.ADOCOES, IanaLinkRelations.NEXT, null, size, null,
+                        proximo));
+    }
+
+    @Transactional(readOnly = true)
     public AdocaoDTO findById(Long id) {
 
         Adocao entity = adocaoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Adoção não encontrada."));
 
         AdocaoDTO dto = DozerMapper.parseObject(entity, AdocaoDTO.class);
-        dto.add(linkTo(methodOn(AdocaoController.class).acharAdocaoPorId(id)).withSelfRel());
+        dto.add(LinkFactory.self(LinkFactory.ADOCAO_POR_ID, id));
         return dto;
     }
 
@@ -93,7 +111,7 @@ public class AdocaoService {
         entity.setAnimal(animal);
         entity.setUsuario(usuario);
         AdocaoDTO dto = DozerMapper.parseObject(adocaoRepository.save(entity), AdocaoDTO.class);
-        dto.add(linkTo(methodOn(AdocaoController.class).acharAdocaoPorId(dto.getKey())).withSelfRel());
+        dto.add(LinkFactory.self(LinkFactory.ADOCAO_POR_ID, dto.getKey()));
         return dto;
     }
 
@@ -121,7 +139,7 @@ public class AdocaoService {
         entity.setAnimal(animal);
 
         AdocaoDTO dto = DozerMapper.parseObject(adocaoRepository.save(entity), AdocaoDTO.class);
-        dto.add(linkTo(methodOn(AdocaoController.class).acharAdocaoPorId(dto.getKey())).withSelfRel());
+        dto.add(LinkFactory.self(LinkFactory.ADOCAO_POR_ID, dto.getKey()));
         return dto;
     }
 
@@ -129,15 +147,7 @@ public class AdocaoService {
         Adocao adocao = adocaoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Adoção não encontrada."));
 
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());
-        updates.forEach((campo, valor) -> {
-            Field field = ReflectionUtils.findField(Adocao.class, campo);
-            if (field != null) {
-                field.setAccessible(true);
-                ReflectionUtils.setField(field, adocao, mapper.convertValue(valor, field.getType()));
-            }
-        });
+        MergePatch.aplicar(adocao, updates);
 
         // Mapeia a entidade para o DTO
         AdocaoDTO adocaoDTO = DozerMapper.parseObject(adocao, AdocaoDTO.class);
@@ -1,37 +1,56 @@
 package br.com.alevh.sistema_adocao_pets.service;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
-import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.ReflectionUtils;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
-import br.com.alevh.sistema_adocao_pets.controller.AnimalController;
-import br.com.alevh.sistema_adocao_pets.controller.OngController;
-import br.com.alevh.sistema_adocao_pets.data.dto.common.DescricaoVO;
+import br.com.alevh.sistema_adocao_pets.config.RoteamentoLeitura;
 import br.com.alevh.sistema_adocao_pets.data.dto.v1.AnimalDTO;
 import br.com.alevh.sistema_adocao_pets.data.dto.v1.AnimalFiltroDTO;
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.AnimalProximoDTO;
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.FacetasAnimalDTO;
+import br.com.alevh.sistema_adocao_pets.enums.StatusAnimal;
+import br.com.alevh.sistema_adocao_pets.exceptions.InvalidCursorException;
+import br.com.alevh.sistema_adocao_pets.exceptions.InvalidLocalizacaoException;
 import br.com.alevh.sistema_adocao_pets.exceptions.RequiredObjectIsNullException;
 import br.com.alevh.sistema_adocao_pets.exceptions.ResourceNotFoundException;
 import br.com.alevh.sistema_adocao_pets.mapper.DozerMapper;
 import br.com.alevh.sistema_adocao_pets.model.Animal;
+import br.com.alevh.sistema_adocao_pets.model.CepCoordenada;
 import br.com.alevh.sistema_adocao_pets.model.Ong;
+import br.com.alevh.sistema_adocao_pets.model.listener.CatalogoListener;
 import br.com.alevh.sistema_adocao_pets.repository.AnimalRepository;
 import br.com.alevh.sistema_adocao_pets.repository.OngRepository;
+import br.com.alevh.sistema_adocao_pets.repository.custom.AnimalBuscado;
+import br.com.alevh.sistema_adocao_pets.service.indice.IndiceAnimais;
+import br.com.alevh.sistema_adocao_pets.service.indice.IndiceProximidade;
+import br.com.alevh.sistema_adocao_pets.util.Cursor;
+import br.com.alevh.sistema_adocao_pets.util.LinkFactory;
+import br.com.alevh.sistema_adocao_pets.util.MergePatch;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Validator;
@@ -41,68 +60,272 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class AnimalService {
 
+    // limite de filtros distintos guardados
+    private static final int MAXIMO_FACETAS_EM_CACHE = 1024;
+
+    // a versão do catálogo só conta as escritas deste nó; as dos outros
+    // aparecem nas facetas depois desse tempo, no máximo
+    private static final Duration VALIDADE_FACETAS = Duration.ofSeconds(30);
+
+    // ongs da busca por proximidade consultadas de uma vez para saber quais
+    // têm animal disponível
+    private static final int LOTE_ONGS_PROXIMAS = 32;
+
     private final AnimalRepository animalRepository;
 
     private final OngRepository ongRepository;
 
+    private final IndiceAnimais indiceAnimais;
+
+    private final IndiceProximidade indiceProximidade;
+
+    private final CepService cepService;
+
     private final PagedResourcesAssembler<AnimalDTO> assembler;
 
     private final Validator validator;
 
+    private final Cache<FiltroNormalizado, FacetasEmCache> facetasEmCache = Caffeine.newBuilder()
+            .maximumSize(MAXIMO_FACETAS_EM_CACHE)
+            .expireAfterWrite(VALIDADE_FACETAS)
+            .build();
+
+    @Transactional(readOnly = true)
     public PagedModel<EntityModel<AnimalDTO>> findAll(Pageable pageable) {
 
-        Page<Animal> animalPage = animalRepository.findAll(pageable);
+        Page<AnimalDTO> animalDtosPage = animalRepository.findAllDTO(pageable);
 
-        Page<AnimalDTO> animalDtosPage = animalPage.map(a -> DozerMapper.parseObject(a, AnimalDTO.class));
+        String baseUri = LinkFactory.baseUri();
         animalDtosPage
-                .map(a -> a.add(linkTo(methodOn(AnimalController.class).acharAnimalPorId(a.getKey())).withSelfRel()));
+                .map(a -> a.add(LinkFactory.self(baseUri, LinkFactory.ANIMAL_POR_ID, a.getKey())));
 
-        Link link = linkTo(methodOn(AnimalController.class).listarAnimais(pageable.getPageNumber(),
-                pageable.getPageSize(), "asc")).withSelfRel();
+        Link link = LinkFactory.self(baseUri, LinkFactory.ANIMAIS, pageable.getPageNumber(),
+                pageable.getPageSize(), "asc");
         return assembler.toModel(animalDtosPage, link);
         // return usuarioRepository.findAll();
     }
 
+    // modo keyset: ordem crescente por (nome, id), sem total de páginas
+    @Transactional(readOnly = true)
+    public CollectionModel<EntityModel<AnimalDTO>> findAllApos(String after, int size) {
+
+        Cursor cursor = Cursor.decodificar(after);
+        List<AnimalDTO> animais = animalRepository.findDTOApos(cursor.chave(), cursor.id(), Limit.of(size + 1));
+
+        String baseUri = LinkFactory.baseUri();
+        animais.forEach(a -> a.add(LinkFactory.self(baseUri, LinkFactory.ANIMAL_POR_ID, a.getKey())));
+
+        return Cursor.pagina(animais, size, LinkFactory.self(baseUri, LinkFactory.ANIMAIS, null, size, null, after),
+                a -> Cursor.of(a.getNome(), a.getKey()),
+                proximo -> LinkFactory.link(baseUri, LinkFactory.ANIMAIS, IanaLinkRelations.NEXT, null, size, null,
+                        proximo));
+    }
+
+    @Transactional(readOnly = true)
     public AnimalDTO findById(Long id) {
 
         Animal entity = animalRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Animal não encontrado."));
 
         AnimalDTO dto = DozerMapper.parseObject(entity, AnimalDTO.class);
-        dto.add(linkTo(methodOn(AnimalController.class).acharAnimalPorId(id)).withSelfRel());
+        dto.add(LinkFactory.self(LinkFactory.ANIMAL_POR_ID, id));
         return dto;
     }
 
+    @Transactional(readOnly = true)
     public AnimalDTO findByNome(String nome) {
         Animal entity = animalRepository.findByNome(nome)
                 .orElseThrow(() -> new ResourceNotFoundException("Animal não encontrado."));
 
         AnimalDTO dto = DozerMapper.parseObject(entity, AnimalDTO.class);
-        dto.add(linkTo(methodOn(AnimalController.class).acharAnimalPorNome(nome)).withSelfRel());
+        dto.add(LinkFactory.self(LinkFactory.ANIMAL_POR_NOME, nome));
         return dto;
     }
 
+    @Transactional(readOnly = true)
     public PagedModel<EntityModel<AnimalDTO>> findAllByOngNome(String nomeUsuario, Pageable pageable) {
 
-        Page<Animal> animalPage = animalRepository.findByOngNomeUsuario(nomeUsuario, pageable);
+        Page<AnimalDTO> animalDtoPage = animalRepository.findDTOByOngNomeUsuario(nomeUsuario, pageable);
 
-        Page<AnimalDTO> animalDtoPage = animalPage.map(a -> DozerMapper.parseObject(a, AnimalDTO.class));
+        String baseUri = LinkFactory.baseUri();
 
         animalDtoPage = animalDtoPage.map(
-                dto -> dto.add(linkTo(methodOn(AnimalController.class).acharAnimalPorId(dto.getKey())).withSelfRel()));
+                dto -> dto.add(LinkFactory.self(baseUri, LinkFactory.ANIMAL_POR_ID, dto.getKey())));
 
-        Link selfLink = linkTo(methodOn(OngController.class)
-                .listarAnimaisDeUmaOng(nomeUsuario, pageable.getPageNumber(), pageable.getPageSize(), "asc"))
-                .withSelfRel();
+        Link selfLink = LinkFactory.self(baseUri, LinkFactory.ANIMAIS_DA_ONG,
+                nomeUsuario, pageable.getPageNumber(), pageable.getPageSize(), "asc");
 
         return assembler.toModel(animalDtoPage, selfLink);
     }
 
-    public Page<AnimalDTO> filtrarAnimais(AnimalFiltroDTO filtro, Pageable pageable) {
-        Page<Animal> animais = animalRepository.filtrarAnimaisNativo(filtro, pageable);
+    @Transactional(readOnly = true)
+    public CollectionModel<EntityModel<AnimalDTO>> findAllByOngNomeApos(String nomeUsuario, String after,
+            int size) {
+
+        Cursor cursor = Cursor.decodificar(after);
+        List<AnimalDTO> animais = animalRepository.findDTOByOngNomeUsuarioApos(nomeUsuario, cursor.chave(),
+                cursor.id(), Limit.of(size + 1));
+
+        String baseUri = LinkFactory.baseUri();
+        animais.forEach(a -> a.add(LinkFactory.self(baseUri, LinkFactory.ANIMAL_POR_ID, a.getKey())));
+
+        Link selfLink = LinkFactory.self(baseUri, LinkFactory.ANIMAIS_DA_ONG, nomeUsuario, null, size, null, after);
+        return Cursor.pagina(animais, size, selfLink, a -> Cursor.of(a.getNome(), a.getKey()),
+                proximo -> LinkFactory.link(baseUri, LinkFactory.ANIMAIS_DA_ONG, IanaLinkRelations.NEXT,
+                        nomeUsuario, null, size, null, proximo));
+    }
+
+    // sem total o resultado é uma fatia, que dispensa a contagem
+    @Transactional(readOnly = true)
+    public Slice<AnimalDTO> filtrarAnimais(AnimalFiltroDTO filtroRecebido, Pageable pageable, boolean total) {
+        // a mesma normalização das facetas, para as contagens baterem com o resultado
+        AnimalFiltroDTO filtro = FiltroNormalizado.of(filtroRecebido).paraFiltro();
+        // como no SQL, a ordem é sempre por nome
+        Optional<Slice<AnimalDTO>> doIndice = indiceAnimais.consultar(filtro, pageable.getOffset(),
+                pageable.getPageSize()).flatMap(resultado -> paginaDoIndice(filtro, resultado, pageable, total));
+        if (doIndice.isPresent()) {
+            return doIndice.get();
+        }
+        Slice<Animal> animais = total ? animalRepository.filtrarAnimaisNativo(filtro, pageable)
+                : animalRepository.fatiarAnimaisNativo(filtro, pageable);
         return animais.map(animal -> DozerMapper.parseObject(animal, AnimalDTO.class));
     }
 
+    // o índice só devolve os ids; os animais vêm do banco e voltam à ordem
+    // dele. Se algum sumiu ou não satisfaz mais o filtro (escrita de outro nó
+    // ainda fora do índice), a página e o total não valem e o filtro vai pelo SQL
+    private Optional<Slice<AnimalDTO>> paginaDoIndice(AnimalFiltroDTO filtro, IndiceAnimais.Resultado resultado,
+            Pageable pageable, boolean total) {
+        Map<Long, Animal> porId = new HashMap<>();
+        for (Animal animal : animalRepository.findComOngByIdIn(resultado.ids())) {
+            porId.put(animal.getIdAnimal(), animal);
+        }
+        List<AnimalDTO> conteudo = new ArrayList<>(resultado.ids().size());
+        for (Long id : resultado.ids()) {
+            Animal animal = porId.get(id);
+            if (animal == null || !IndiceAnimais.satisfaz(filtro, animal)) {
+                return Optional.empty();
+            }
+            conteudo.add(DozerMapper.parseObject(animal, AnimalDTO.class));
+        }
+        if (total) {
+            return Optional.of(new PageImpl<>(conteudo, pageable, resultado.total()));
+        }
+        return Optional.of(new SliceImpl<>(conteudo, pageable,
+                pageable.getOffset() + resultado.ids().size() < resultado.total()));
+    }
+
+    // contagens do filtro guardadas por filtro normalizado; qualquer escrita em
+    // animal ou ong deste nó muda a versão do catálogo e invalida o que foi
+    // guardado, e as entradas vencem em VALIDADE_FACETAS
+    @Transactional(readOnly = true)
+    public FacetasAnimalDTO contarFacetas(AnimalFiltroDTO filtro) {
+        FiltroNormalizado chave = FiltroNormalizado.of(filtro);
+        long versao = CatalogoListener.versao();
+
+        FacetasEmCache emCache = facetasEmCache.getIfPresent(chave);
+        if (emCache != null && emCache.versao() == versao) {
+            return emCache.facetas();
+        }
+
+        // a versão é do primário; contada na réplica atrasada, a faceta velha
+        // ficaria no cache com a versão nova
+        FacetasAnimalDTO facetas = RoteamentoLeitura.noPrimario(
+                () -> animalRepository.contarFacetas(chave.paraFiltro()));
+        facetasEmCache.put(chave, new FacetasEmCache(versao, facetas));
+        return facetas;
+    }
+
+    // busca textual ranqueada: mais relevantes primeiro, paginada pelo cursor
+    // (relevância, id) do último animal da página anterior
+    @Transactional(readOnly = true)
+    public CollectionModel<EntityModel<AnimalDTO>> buscar(String termo, AnimalFiltroDTO filtro, String after,
+            int size) {
+
+        Cursor cursor = Cursor.decodificar(after);
+        List<AnimalBuscado> animais = animalRepository.buscarAnimais(termo, filtro, cursor.chaveComoRelevancia(),
+                cursor.id(), size + 1);
+
+        String baseUri = LinkFactory.baseUri();
+        return Cursor.pagina(animais, size, LinkFactory.requisicaoAtual(IanaLinkRelations.SELF, "after", after),
+                a -> Cursor.of(a.relevancia(), a.animal().getIdAnimal()),
+                a -> {
+                    AnimalDTO dto = DozerMapper.parseObject(a.animal(), AnimalDTO.class);
+                    return dto.add(LinkFactory.self(baseUri, LinkFactory.ANIMAL_POR_ID, dto.getKey()));
+                },
+                proximo -> LinkFactory.requisicaoAtual(IanaLinkRelations.NEXT, "after", proximo));
+    }
+
+    // animais disponíveis das ongs a até raioKm do ponto (latitude/longitude
+    // ou, na falta delas, o CEP), da ong mais próxima para a mais distante e,
+    // na mesma ong, por nome. As ongs são percorridas em ordem de distância e
+    // a busca para quando a página enche, então o custo acompanha o size e não
+    // o número de animais no raio; a página seguinte vem pelo cursor "after"
+    @Transactional(readOnly = true)
+    public CollectionModel<EntityModel<AnimalProximoDTO>> buscarProximos(Double latitude, Double longitude,
+            String cep, double raioKm, String after, int size) {
+
+        // escrito pela positiva para o NaN também cair aqui
+        if (!(raioKm > 0 && raioKm <= IndiceProximidade.RAIO_MAXIMO_KM))
+            throw new InvalidLocalizacaoException(
+                    "O raio deve estar entre 0 e " + (int) IndiceProximidade.RAIO_MAXIMO_KM + " km");
+
+        if (latitude == null || longitude == null) {
+            CepCoordenada coordenada = cepService.buscarCoordenadaPorCep(cep)
+                    .orElseThrow(() -> new InvalidLocalizacaoException(
+                            "Informe latitude e longitude ou um CEP conhecido"));
+            latitude = coordenada.getLatitude();
+            longitude = coordenada.getLongitude();
+        }
+
+        if (!IndiceProximidade.coordenadaValida(latitude, longitude))
+            throw new InvalidLocalizacaoException(
+                    "A latitude deve estar entre -90 e 90 e a longitude entre -180 e 180");
+
+        List<IndiceProximidade.OngProxima> ongs = indiceProximidade.proximas(latitude, longitude, raioKm);
+        PosicaoProxima apos = PosicaoProxima.of(after);
+
+        // a ong do cursor, ou a primeira depois dela se ela saiu do raio
+        int inicio = 0;
+        while (apos != null && inicio < ongs.size() && apos.depoisDe(ongs.get(inicio))) {
+            inicio++;
+        }
+
+        List<AnimalProximo> linhas = new ArrayList<>();
+        for (int lote = inicio; lote < ongs.size() && linhas.size() <= size; lote += LOTE_ONGS_PROXIMAS) {
+            List<IndiceProximidade.OngProxima> ongsDoLote = ongs.subList(lote,
+                    Math.min(lote + LOTE_ONGS_PROXIMAS, ongs.size()));
+            Set<Long> comAnimais = new HashSet<>(animalRepository.findOngsComAnimaisNoStatus(
+                    ongsDoLote.stream().map(IndiceProximidade.OngProxima::idOng).toList(), StatusAnimal.DISPONIVEL));
+
+            for (IndiceProximidade.OngProxima ong : ongsDoLote) {
+                if (linhas.size() > size) {
+                    break;
+                }
+                if (!comAnimais.contains(ong.idOng())) {
+                    continue;
+                }
+                boolean ongDoCursor = apos != null && apos.idOng() == ong.idOng();
+                // size + 1: a linha extra só indica que existe próxima página
+                for (Animal animal : animalRepository.findComOngByOngIdAndStatusApos(ong.idOng(),
+                        StatusAnimal.DISPONIVEL, ongDoCursor ? apos.nome() : "", ongDoCursor ? apos.idAnimal() : 0L,
+                        Limit.of(size + 1 - linhas.size()))) {
+                    linhas.add(new AnimalProximo(animal, ong));
+                }
+            }
+        }
+
+        String baseUri = LinkFactory.baseUri();
+        return Cursor.pagina(linhas, size, LinkFactory.requisicaoAtual(IanaLinkRelations.SELF, "after", after),
+                PosicaoProxima::cursor,
+                linha -> {
+                    AnimalDTO dto = DozerMapper.parseObject(linha.animal(), AnimalDTO.class);
+                    dto.add(LinkFactory.self(baseUri, LinkFactory.ANIMAL_POR_ID, dto.getKey()));
+                    return new AnimalProximoDTO(dto, linha.ong().distanciaKm());
+                },
+                proximo -> LinkFactory.requisicaoAtual(IanaLinkRelations.NEXT, "after", proximo));
+    }
+
     public AnimalDTO create(AnimalDTO animal) {
         if (animal == null)
             throw new RequiredObjectIsNullException();
@@ -113,7 +336,7 @@ public class AnimalService {
         Animal entity = DozerMapper.parseObject(animal, Animal.class);
         entity.setOng(ong);
         AnimalDTO dto = DozerMapper.parseObject(animalRepository.save(entity), AnimalDTO.class);
-        dto.add(linkTo(methodOn(AnimalController.class).acharAnimalPorId(dto.getKey())).withSelfRel());
+        dto.add(LinkFactory.self(LinkFactory.ANIMAL_POR_ID, dto.getKey()));
         return dto;
     }
 
@@ -140,7 +363,7 @@ public class AnimalService {
         entity.setOng(ong);
 
         AnimalDTO dto = DozerMapper.parseObject(animalRepository.save(entity), AnimalDTO.class);
-        dto.add(linkTo(methodOn(AnimalController.class).acharAnimalPorId(dto.getKey())).withSelfRel());
+        dto.add(LinkFactory.self(LinkFactory.ANIMAL_POR_ID, dto.getKey()));
         return dto;
     }
 
@@ -148,32 +371,7 @@ public class AnimalService {
         Animal animal = animalRepository.findByNome(nome)
                 .orElseThrow(() -> new ResourceNotFoundException("Animal não encontrado."));
 
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());
-        updates.forEach((campo, valor) -> {
-            Field field = ReflectionUtils.findField(Animal.class, campo);
-            if (field != null) {
-                field.setAccessible(true);
-
-                if (campo.equals("descricao") && valor instanceof Map<?, ?> valorMap) {
-                    DescricaoVO descricaoOriginal = animal.getDescricao();
-                    DescricaoVO descricaoAtualizado = mapper.convertValue(valor, DescricaoVO.class);
-
-                    if (descricaoOriginal == null) {
-                        animal.setDescricao(descricaoAtualizado);
-                    } else {
-                        if (descricaoAtualizado.getGeral() != null)
-                            descricaoOriginal.setGeral(descricaoAtualizado.getGeral());
-                        if (descricaoAtualizado.getHistoricoSaude() != null)
-                            descricaoOriginal.setHistoricoSaude(descricaoAtualizado.getHistoricoSaude());
-                        if (descricaoAtualizado.getVacinacao() != null)
-                            descricaoOriginal.setVacinacao(descricaoAtualizado.getVacinacao());
-                    }
-                } else {
-                    ReflectionUtils.setField(field, animal, mapper.convertValue(valor, field.getType()));
-                }
-            }
-        });
+        MergePatch.aplicar(animal, updates);
 
         // Mapeia a entidade para o DTO
         AnimalDTO animalDTO = DozerMapper.parseObject(animal, AnimalDTO.class);
@@ -198,4 +396,75 @@ public class AnimalService {
     public void delete(String nome) {
         animalRepository.deleteByNome(nome);
     }
-}
\ No newline at end of file
+
+    private record AnimalProximo(Animal animal, IndiceProximidade.OngProxima ong) {
+    }
+
+    // posição na ordem da busca por proximidade: (distância, id) da ong e
+    // (nome, id) do animal, guardados no cursor como "distancia/idOng/nome"
+    private record PosicaoProxima(double distanciaKm, long idOng, String nome, long idAnimal) {
+
+        static PosicaoProxima of(String after) {
+            if (after == null || after.isBlank()) {
+                return null;
+            }
+            Cursor cursor = Cursor.decodificar(after);
+            String[] partes = cursor.chave().split("/", 3);
+            if (partes.length != 3) {
+                throw new InvalidCursorException();
+            }
+            try {
+                return new PosicaoProxima(Double.parseDouble(partes[0]), Long.parseLong(partes[1]), partes[2],
+                        cursor.id());
+            } catch (NumberFormatException e) {
+                throw new InvalidCursorException();
+            }
+        }
+
+        static Cursor cursor(AnimalProximo linha) {
+            return Cursor.of(linha.ong().distanciaKm() + "/" + linha.ong().idOng() + "/" + linha.animal().getNome(),
+                    linha.animal().getIdAnimal());
+        }
+
+        // a ong fica toda antes desta posição
+        boolean depoisDe(IndiceProximidade.OngProxima ong) {
+            int comparacao = Double.compare(ong.distanciaKm(), distanciaKm);
+            return comparacao < 0 || comparacao == 0 && ong.idOng() < idOng;
+        }
+    }
+
+    // versão do catálogo lida antes da consulta: uma escrita durante ela já
+    // deixa a entrada vencida
+    private record FacetasEmCache(long versao, FacetasAnimalDTO facetas) {
+    }
+
+    // campos em branco contam como ausentes, os demais vão sem os espaços das
+    // pontas, e a cidade, comparada com ILIKE, vai em minúsculas; filtros
+    // equivalentes caem na mesma entrada. Usado pelo filtro e pelas facetas
+    private record FiltroNormalizado(String nome, String especie, String raca, String porte, String sexo,
+            String status, String cidadeOng) {
+
+        static FiltroNormalizado of(AnimalFiltroDTO filtro) {
+            String cidade = normalizar(filtro.getCidadeOng());
+            return new FiltroNormalizado(normalizar(filtro.getNome()), normalizar(filtro.getEspecie()),
+                    normalizar(filtro.getRaca()), normalizar(filtro.getPorte()), normalizar(filtro.getSexo()),
+                    normalizar(filtro.getStatus()), cidade == null ? null : cidade.toLowerCase(Locale.ROOT));
+        }
+
+        private static String normalizar(String valor) {
+            return valor == null || valor.isBlank() ? null : valor.trim();
+        }
+
+        AnimalFiltroDTO paraFiltro() {
+            AnimalFiltroDTO filtro = new AnimalFiltroDTO();
+            filtro.setNome(nome);
+            filtro.setEspecie(especie);
+            filtro.setRaca(raca);
+            filtro.setPorte(porte);
+            filtro.setSexo(sexo);
+            filtro.setStatus(status);
+            filtro.setCidadeOng(cidadeOng);
+            return filtro;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package br.com.alevh.sistema_adocao_pets.service;
 
+import java.util.Optional;
+
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -7,14 +9,20 @@ import org.springframework.web.client.RestTemplate;
 
 import br.com.alevh.sistema_adocao_pets.data.dto.common.EnderecoVO;
 import br.com.alevh.sistema_adocao_pets.integration.ViaCepResponse;
+import br.com.alevh.sistema_adocao_pets.model.CepCoordenada;
+import br.com.alevh.sistema_adocao_pets.model.Ong;
+import br.com.alevh.sistema_adocao_pets.repository.CepCoordenadaRepository;
 
 @Service
 public class CepService {
 
     private final RestTemplate restTemplate;
 
-    public CepService() {
+    private final CepCoordenadaRepository cepCoordenadaRepository;
+
+    public CepService(CepCoordenadaRepository cepCoordenadaRepository) {
         this.restTemplate = new RestTemplate();
+        this.cepCoordenadaRepository = cepCoordenadaRepository;
     }
 
     public ViaCepResponse buscarEnderecoPorCep(String cep) {
@@ -40,4 +48,21 @@ public class CepService {
         enderecoVO.setCidade(resposta.getLocalidade());
         enderecoVO.setEstado(resposta.getUf());
     }
+
+    // coordenada aproximada pela tabela offline de prefixos de CEP, sem chamada
+    // externa; vazia se nenhum prefixo casar
+    public Optional<CepCoordenada> buscarCoordenadaPorCep(String cep) {
+        if (cep == null)
+            return Optional.empty();
+
+        return cepCoordenadaRepository.findPorCep(cep.replaceAll("[^\\d]", ""));
+    }
+
+    public void preencherCoordenadas(Ong ong) {
+        Optional<CepCoordenada> coordenada = buscarCoordenadaPorCep(
+                ong.getEndereco() == null ? null : ong.getEndereco().getCep());
+
+        ong.setLatitude(coordenada.map(CepCoordenada::getLatitude).orElse(null));
+        ong.setLongitude(coordenada.map(CepCoordenada::getLongitude).orElse(null));
+    }
 }
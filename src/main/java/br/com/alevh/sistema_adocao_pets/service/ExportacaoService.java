@@ -0,0 +1,137 @@
+package br.com.alevh.sistema_adocao_pets.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.format.DateTimeFormatter;
+
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonFactoryBuilder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.AnimalFiltroDTO;
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.OngFiltroDTO;
+import br.com.alevh.sistema_adocao_pets.repository.custom.ExportacaoRepository;
+import lombok.RequiredArgsConstructor;
+
+// exportação dos catálogos em NDJSON (um objeto JSON por linha). Cada linha do
+// cursor é escrita direto no OutputStream pelo gerador do Jackson, sem montar
+// DTOs nem páginas; os campos são os mesmos que os DTOs da API serializam
+// (sem os ids de animal e ong, que lá são WRITE_ONLY)
+@Service
+@RequiredArgsConstructor
+public class ExportacaoService {
+
+    // sem separador entre os valores raiz: a quebra de linha é escrita à mão
+    private static final JsonFactory FABRICA = new JsonFactoryBuilder()
+            .rootValueSeparator((String) null)
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    private static final DateTimeFormatter DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final ExportacaoRepository exportacaoRepository;
+
+    @Transactional(readOnly = true)
+    public void exportarAnimais(AnimalFiltroDTO filtro, OutputStream saida) throws IOException {
+        try (JsonGenerator gerador = FABRICA.createGenerator(saida)) {
+            exportacaoRepository.animais(filtro, linha(gerador, (rs, g) -> {
+                g.writeStringField("nome", rs.getString("nome"));
+                g.writeStringField("especie", rs.getString("especie"));
+                g.writeStringField("raca", rs.getString("raca"));
+                g.writeStringField("dataNascimento", data(rs, "data_nascimento"));
+                g.writeStringField("foto", rs.getString("foto"));
+                json(g, "descricao", rs.getString("descricao"));
+                g.writeStringField("porte", rs.getString("porte"));
+                g.writeStringField("sexo", rs.getString("sexo"));
+                g.writeStringField("status", rs.getString("status"));
+                g.writeStringField("nomeOng", rs.getString("nome_ong"));
+                g.writeStringField("telefoneOng", rs.getString("telefone_ong"));
+                json(g, "enderecoOng", rs.getString("endereco_ong"));
+            }));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportarOngs(OngFiltroDTO filtro, OutputStream saida) throws IOException {
+        try (JsonGenerator gerador = FABRICA.createGenerator(saida)) {
+            exportacaoRepository.ongs(filtro, linha(gerador, (rs, g) -> {
+                g.writeStringField("nome", rs.getString("nome"));
+                g.writeStringField("nomeUsuario", rs.getString("nome_usuario"));
+                g.writeStringField("fotoPerfil", rs.getString("foto_perfil"));
+                g.writeStringField("email", rs.getString("email"));
+                json(g, "endereco", rs.getString("endereco"));
+                g.writeStringField("cell", rs.getString("cell"));
+                g.writeObjectFieldStart("cnpj");
+                g.writeStringField("cnpj", rs.getString("cnpj"));
+                g.writeEndObject();
+                g.writeStringField("responsavel", rs.getString("responsavel"));
+                g.writeStringField("descricao", rs.getString("descricao"));
+                json(g, "site", rs.getString("site"));
+            }));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportarAdocoes(AnimalFiltroDTO filtro, OutputStream saida) throws IOException {
+        try (JsonGenerator gerador = FABRICA.createGenerator(saida)) {
+            exportacaoRepository.adocoes(filtro, linha(gerador, (rs, g) -> {
+                g.writeNumberField("idAdocao", rs.getLong("id"));
+                g.writeStringField("dataAdocao", data(rs, "data_adocao"));
+                g.writeStringField("status", rs.getString("status"));
+                g.writeStringField("nomeAnimal", rs.getString("nome_animal"));
+                g.writeStringField("especieAnimal", rs.getString("especie_animal"));
+                g.writeStringField("sexoAnimal", rs.getString("sexo_animal"));
+                g.writeStringField("nomeUsuario", rs.getString("nome_usuario"));
+                g.writeStringField("emailUsuario", rs.getString("email_usuario"));
+                g.writeStringField("celularUsuario", rs.getString("cell_usuario"));
+            }));
+        }
+    }
+
+    // envolve os campos de cada linha no objeto + quebra de linha, e esvazia o
+    // buffer a cada lote para o cliente começar a receber antes do fim
+    private static RowCallbackHandler linha(JsonGenerator gerador, Campos campos) {
+        return rs -> {
+            try {
+                gerador.writeStartObject();
+                campos.escrever(rs, gerador);
+                gerador.writeEndObject();
+                gerador.writeRaw('\n');
+                if (rs.getRow() % ExportacaoRepository.TAMANHO_LOTE == 0) {
+                    gerador.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    private static String data(ResultSet rs, String coluna) throws SQLException {
+        Date data = rs.getDate(coluna);
+        return data == null ? null : DATA.format(data.toLocalDate());
+    }
+
+    // colunas JSON já vêm prontas do banco e são copiadas sem reprocessar
+    private static void json(JsonGenerator gerador, String campo, String valor) throws IOException {
+        gerador.writeFieldName(campo);
+        if (valor == null) {
+            gerador.writeNull();
+        } else {
+            gerador.writeRawValue(valor);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Campos {
+        void escrever(ResultSet rs, JsonGenerator gerador) throws SQLException, IOException;
+    }
+}
@@ -1,16 +1,17 @@
 package br.com.alevh.sistema_adocao_pets.service;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
-import java.lang.reflect.Field;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -18,14 +19,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.ReflectionUtils;
-
-import com.fasterxml.jackson.databind.ObjectMapper;
 
-import br.com.alevh.sistema_adocao_pets.controller.AdocaoController;
-import br.com.alevh.sistema_adocao_pets.controller.OngController;
-import br.com.alevh.sistema_adocao_pets.data.dto.common.EnderecoVO;
-import br.com.alevh.sistema_adocao_pets.data.dto.common.SiteVO;
 import br.com.alevh.sistema_adocao_pets.data.dto.security.LoginDTO;
 import br.com.alevh.sistema_adocao_pets.data.dto.security.TokenDTO;
 import br.com.alevh.sistema_adocao_pets.data.dto.v1.AdocaoDTO;
@@ -35,12 +29,14 @@ import br.com.alevh.sistema_adocao_pets.data.dto.v1.OngUpdateDTO;
 import br.com.alevh.sistema_adocao_pets.exceptions.RequiredObjectIsNullException;
 import br.com.alevh.sistema_adocao_pets.exceptions.ResourceNotFoundException;
 import br.com.alevh.sistema_adocao_pets.mapper.DozerMapper;
-import br.com.alevh.sistema_adocao_pets.model.Adocao;
 import br.com.alevh.sistema_adocao_pets.model.LoginIdentityView;
 import br.com.alevh.sistema_adocao_pets.model.Ong;
 import br.com.alevh.sistema_adocao_pets.repository.AdocaoRepository;
 import br.com.alevh.sistema_adocao_pets.repository.OngRepository;
 import br.com.alevh.sistema_adocao_pets.security.Roles;
+import br.com.alevh.sistema_adocao_pets.util.Cursor;
+import br.com.alevh.sistema_adocao_pets.util.LinkFactory;
+import br.com.alevh.sistema_adocao_pets.util.MergePatch;
 import br.com.alevh.sistema_adocao_pets.util.validations.OngValidacao;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
@@ -71,58 +67,80 @@ public class OngService {
 
     private final CepService cepService;
 
+    @Transactional(readOnly = true)
     public PagedModel<EntityModel<OngDTO>> findAll(Pageable pageable) {
 
-        Page<Ong> ongPage = ongRepository.findAll(pageable);
+        Page<OngDTO> ongDtosPage = ongRepository.findAllDTO(pageable);
 
-        Page<OngDTO> ongDtosPage = ongPage.map(o -> DozerMapper.parseObject(o, OngDTO.class));
-        ongDtosPage.map(o -> o.add(linkTo(methodOn(OngController.class).acharOngPorId(o.getKey())).withSelfRel()));
+        String baseUri = LinkFactory.baseUri();
+        ongDtosPage.map(o -> o.add(LinkFactory.self(baseUri, LinkFactory.ONG_POR_ID, o.getKey())));
 
-        Link link = linkTo(methodOn(OngController.class).listarOngs(pageable.getPageNumber(),
-                pageable.getPageSize(), "asc")).withSelfRel();
+        Link link = LinkFactory.self(baseUri, LinkFactory.ONGS, pageable.getPageNumber(),
+                pageable.getPageSize(), "asc");
         return assembler.toModel(ongDtosPage, link);
     }
 
+    // modo keyset: ordem crescente por (nome, id), sem total de páginas
+    @Transactional(readOnly = true)
+    public CollectionModel<EntityModel<OngDTO>> findAllApos(String after, int size) {
+
+        Cursor cursor = Cursor.decodificar(after);
+        List<OngDTO> ongs = ongRepository.findDTOApos(cursor.chave(), cursor.id(), Limit.of(size + 1));
+
+        String baseUri = LinkFactory.baseUri();
+        ongs.forEach(o -> o.add(LinkFactory.self(baseUri, LinkFactory.ONG_POR_ID, o.getKey())));
+
+        return Cursor.pagina(ongs, size, LinkFactory.self(baseUri, LinkFactory.ONGS, null, size, null, after),
+                o -> Cursor.of(o.getNome(), o.getKey()),
+                proximo -> LinkFactory.link(baseUri, LinkFactory.ONGS, IanaLinkRelations.NEXT, null, size, null,
+                        proximo));
+    }
+
+    @Transactional(readOnly = true)
     public OngDTO findById(Long id) {
 
         Ong entity = ongRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Ong não encontrado."));
 
         OngDTO dto = DozerMapper.parseObject(entity, OngDTO.class);
-        dto.add(linkTo(methodOn(OngController.class).acharOngPorId(id)).withSelfRel());
+        dto.add(LinkFactory.self(LinkFactory.ONG_POR_ID, id));
         return dto;
 
     }
 
+    @Transactional(readOnly = true)
     public OngDTO findByNomeUsuario(String nomeUsuario) {
 
         Ong entity = ongRepository.findByNomeUsuario(nomeUsuario)
                 .orElseThrow(() -> new ResourceNotFoundException("Ong não encontrado."));
 
         OngDTO dto = DozerMapper.parseObject(entity, OngDTO.class);
-        dto.add(linkTo(methodOn(OngController.class).acharOngPorNomeUsuario(nomeUsuario)).withSelfRel());
+        dto.add(LinkFactory.self(LinkFactory.ONG_POR_NOME_USUARIO, nomeUsuario));
         return dto;
 
     }
 
+    @Transactional(readOnly = true)
     public PagedModel<EntityModel<AdocaoDTO>> findAllAdocoesByOngId(Long idOng, Pageable pageable) {
 
-        Page<Adocao> adocaoPage = adocaoRepository.findAdocoesByOngId(idOng, pageable);
+        Page<AdocaoDTO> adocaoDtoPage = adocaoRepository.findAdocoesDTOByOngId(idOng, pageable);
 
-        Page<AdocaoDTO> adocaoDtoPage = adocaoPage.map(a -> DozerMapper.parseObject(a, AdocaoDTO.class));
+        String baseUri = LinkFactory.baseUri();
 
         adocaoDtoPage = adocaoDtoPage.map(
-                dto -> dto.add(linkTo(methodOn(AdocaoController.class).acharAdocaoPorId(dto.getKey())).withSelfRel()));
+                dto -> dto.add(LinkFactory.self(baseUri, LinkFactory.ADOCAO_POR_ID, dto.getKey())));
 
-        Link selfLink = linkTo(methodOn(OngController.class)
-                .listarAdocoesPorOngId(idOng, pageable.getPageNumber(), pageable.getPageSize(), "asc"))
-                .withSelfRel();
+        Link selfLink = LinkFactory.self(baseUri, LinkFactory.ADOCOES_DA_ONG,
+                idOng, pageable.getPageNumber(), pageable.getPageSize(), "asc");
 
         return adocaoDtoAssembler.toModel(adocaoDtoPage, selfLink);
     }
 
-    public Page<OngDTO> filtrarOngs(OngFiltroDTO filtro, Pageable pageable) {
-        Page<Ong> ongs = ongRepository.filtrarOngsNativo(filtro, pageable);
+    // sem total o resultado é uma fatia, que dispensa a contagem
+    @Transactional(readOnly = true)
+    public Slice<OngDTO> filtrarOngs(OngFiltroDTO filtro, Pageable pageable, boolean total) {
+        Slice<Ong> ongs = total ? ongRepository.filtrarOngsNativo(filtro, pageable)
+                : ongRepository.fatiarOngsNativo(filtro, pageable);
         return ongs.map(ong -> DozerMapper.parseObject(ong, OngDTO.class));
     }
 
@@ -139,9 +157,10 @@ public class OngService {
         entity.setCnpj(ong.getCnpj().getCnpj());
         entity.setEmail(ong.getEmail().toLowerCase());
         entity.setRole(Roles.ONG);
+        cepService.preencherCoordenadas(entity);
 
         OngDTO dto = DozerMapper.parseObject(ongRepository.save(entity), OngDTO.class);
-        dto.add(linkTo(methodOn(OngController.class).acharOngPorId(dto.getKey())).withSelfRel());
+        dto.add(LinkFactory.self(LinkFactory.ONG_POR_ID, dto.getKey()));
 
         return dto;
     }
@@ -179,6 +198,7 @@ public class OngService {
         entity.setEmail(ongUpdate.getEmail().toLowerCase());
         entity.setSenha(passwordEncoder.encode(ongUpdate.getSenha()));
         entity.setEndereco(ongUpdate.getEndereco());
+        cepService.preencherCoordenadas(entity);
         entity.setCell(ongUpdate.getCell());
         entity.setResponsavel(ongUpdate.getResponsavel());
         entity.setDescricao(ongUpdate.getDescricao());
@@ -188,7 +208,7 @@ public class OngService {
 
         OngDTO dto = DozerMapper.parseObject(ongRepository.save(entity), OngDTO.class);
 
-        dto.add(linkTo(methodOn(OngController.class).acharOngPorId(dto.getKey())).withSelfRel());
+        dto.add(LinkFactory.self(LinkFactory.ONG_POR_ID, dto.getKey()));
 
         return dto;
     }
@@ -199,69 +219,15 @@ public class OngService {
 
         ongValidacao.validatePartialUpdate(nomeUsuario, updates);
 
-        ObjectMapper mapper = new ObjectMapper();
-        updates.forEach((campo, valor) -> {
-            Field field = ReflectionUtils.findField(Ong.class, campo);
-            if (field != null) {
-                field.setAccessible(true);
-
-                if (campo.equalsIgnoreCase("email") && valor instanceof String) {
-                    valor = ((String) valor).toLowerCase();
-                }
-                if (campo.equals("endereco") && valor instanceof Map<?, ?> valorMapEndereco) {
-                    EnderecoVO enderecoOriginal = ong.getEndereco();
-                    EnderecoVO enderecoAtualizado = mapper.convertValue(valor, EnderecoVO.class);
-
-                    if (enderecoOriginal == null) {
-                        ong.setEndereco(enderecoAtualizado);
-                    } else {
-                        // merge campo a campo
-                        if (enderecoAtualizado.getLogradouro() != null)
-                            enderecoOriginal.setLogradouro(enderecoAtualizado.getLogradouro());
-                        if (enderecoAtualizado.getNumero() != null)
-                            enderecoOriginal.setNumero(enderecoAtualizado.getNumero());
-                        if (enderecoAtualizado.getComplemento() != null)
-                            enderecoOriginal.setComplemento(enderecoAtualizado.getComplemento());
-                        if (enderecoAtualizado.getBairro() != null)
-                            enderecoOriginal.setBairro(enderecoAtualizado.getBairro());
-                        if (enderecoAtualizado.getCidade() != null)
-                            enderecoOriginal.setCidade(enderecoAtualizado.getCidade());
-                        if (enderecoAtualizado.getEstado() != null)
-                            enderecoOriginal.setEstado(enderecoAtualizado.getEstado());
-                        if (enderecoAtualizado.getCep() != null)
-                            enderecoOriginal.setCep(enderecoAtualizado.getCep());
-                    }
-
-                } else if (campo.equals("site") && valor instanceof Map<?, ?> valorMapSite) {
-                    SiteVO siteOriginal = ong.getSite();
-                    SiteVO siteAtualizado = mapper.convertValue(valor, SiteVO.class);
-
-                    if (siteOriginal == null) {
-                        ong.setSite(siteAtualizado);
-                    } else {
-                        if (siteAtualizado.getSite() != null)
-                            siteOriginal.setSite(siteAtualizado.getSite());
-                        if (siteAtualizado.getInstagram() != null)
-                            siteOriginal.setInstagram(siteAtualizado.getInstagram());
-                        if (siteAtualizado.getFacebook() != null)
-                            siteOriginal.setFacebook(siteAtualizado.getFacebook());
-                        if (siteAtualizado.getTiktok() != null)
-                            siteOriginal.setTiktok(siteAtualizado.getTiktok());
-                        if (siteAtualizado.getYoutube() != null)
-                            siteOriginal.setYoutube(siteAtualizado.getYoutube());
-                        if (siteAtualizado.getWhatsapp() != null)
-                            siteOriginal.setWhatsapp(siteAtualizado.getWhatsapp());
-                        if (siteAtualizado.getX() != null)
-                            siteOriginal.setX(siteAtualizado.getX());
-                        if (siteAtualizado.getLinkedin() != null)
-                            siteOriginal.setLinkedin(siteAtualizado.getLinkedin());
-                    }
-                } else {
-                    ReflectionUtils.setField(field, ong, mapper.convertValue(valor, field.getType()));
-                }
-
-            }
-        });
+        updates.computeIfPresent("email",
+                (campo, valor) -> valor instanceof String email ? email.toLowerCase() : valor);
+        // as coordenadas derivam do CEP e não são alteradas diretamente
+        updates.remove("latitude");
+        updates.remove("longitude");
+        MergePatch.aplicar(ong, updates);
+        if (updates.containsKey("endereco")) {
+            cepService.preencherCoordenadas(ong);
+        }
 
         OngDTO ongDTO = DozerMapper.parseObject(ong, OngDTO.class);
 
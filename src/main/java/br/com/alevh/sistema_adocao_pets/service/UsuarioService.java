@@ -1,17 +1,17 @@
 package br.com.alevh.sistema_adocao_pets.service;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
-import java.lang.reflect.Field;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -19,13 +19,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.ReflectionUtils;
-
-import com.fasterxml.jackson.databind.ObjectMapper;
 
-import br.com.alevh.sistema_adocao_pets.controller.AdocaoController;
-import br.com.alevh.sistema_adocao_pets.controller.AnimalController;
-import br.com.alevh.sistema_adocao_pets.controller.UsuarioController;
 import br.com.alevh.sistema_adocao_pets.data.dto.security.LoginDTO;
 import br.com.alevh.sistema_adocao_pets.data.dto.security.RegistroDTO;
 import br.com.alevh.sistema_adocao_pets.data.dto.security.TokenDTO;
@@ -35,7 +29,6 @@ import br.com.alevh.sistema_adocao_pets.data.dto.v1.UsuarioDTO;
 import br.com.alevh.sistema_adocao_pets.data.dto.v1.UsuarioUpdateDTO;
 import br.com.alevh.sistema_adocao_pets.exceptions.ResourceNotFoundException;
 import br.com.alevh.sistema_adocao_pets.mapper.DozerMapper;
-import br.com.alevh.sistema_adocao_pets.model.Adocao;
 import br.com.alevh.sistema_adocao_pets.model.Animal;
 import br.com.alevh.sistema_adocao_pets.model.LoginIdentityView;
 import br.com.alevh.sistema_adocao_pets.model.Usuario;
@@ -44,6 +37,9 @@ import br.com.alevh.sistema_adocao_pets.repository.AnimalRepository;
 import br.com.alevh.sistema_adocao_pets.repository.UsuarioRepository;
 import br.com.alevh.sistema_adocao_pets.security.Roles;
 import br.com.alevh.sistema_adocao_pets.service.auth.TokenService;
+import br.com.alevh.sistema_adocao_pets.util.Cursor;
+import br.com.alevh.sistema_adocao_pets.util.LinkFactory;
+import br.com.alevh.sistema_adocao_pets.util.MergePatch;
 import br.com.alevh.sistema_adocao_pets.util.validations.UsuarioValidacao;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolation;
@@ -77,51 +73,70 @@ public class UsuarioService {
 
     private final UsuarioValidacao usuarioValidacao;
 
+    @Transactional(readOnly = true)
     public PagedModel<EntityModel<UsuarioDTO>> findAll(Pageable pageable) {
 
-        Page<Usuario> usuarioPage = usuarioRepository.findAll(pageable);
+        Page<UsuarioDTO> usuarioDtosPage = usuarioRepository.findAllDTO(pageable);
 
-        Page<UsuarioDTO> usuarioDtosPage = usuarioPage.map(u -> DozerMapper.parseObject(u, UsuarioDTO.class));
+        String baseUri = LinkFactory.baseUri();
         usuarioDtosPage
-                .map(u -> u.add(linkTo(methodOn(UsuarioController.class).acharUsuarioPorId(u.getKey())).withSelfRel()));
+                .map(u -> u.add(LinkFactory.self(baseUri, LinkFactory.USUARIO_POR_ID, u.getKey())));
 
-        Link link = linkTo(methodOn(UsuarioController.class).listarUsuarios(pageable.getPageNumber(),
-                pageable.getPageSize(), "asc")).withSelfRel();
+        Link link = LinkFactory.self(baseUri, LinkFactory.USUARIOS, pageable.getPageNumber(),
+                pageable.getPageSize(), "asc");
         return assembler.toModel(usuarioDtosPage, link);
     }
 
+    // modo keyset: ordem crescente por (nome, id), sem total de páginas
+    @Transactional(readOnly = true)
+    public CollectionModel<EntityModel<UsuarioDTO>> findAllApos(String after, int size) {
+
+        Cursor cursor = Cursor.decodificar(after);
+        List<UsuarioDTO> usuarios = usuarioRepository.findDTOApos(cursor.chave(), cursor.id(), Limit.of(size + 1));
+
+        String baseUri = LinkFactory.baseUri();
+        usuarios.forEach(u -> u.add(LinkFactory.self(baseUri, LinkFactory.USUARIO_POR_ID, u.getKey())));
+
+        return Cursor.pagina(usuarios, size, LinkFactory.self(baseUri, LinkFactory.USUARIOS, null, size, null, after),
+                u -> Cursor.of(u.getNome(), u.getKey()),
+                proximo -> LinkFactory.link(baseUri, LinkFactory.USUARIOS, IanaLinkRelations.NEXT, null, size, null,
+                        proximo));
+    }
+
+    @Transactional(readOnly = true)
     public UsuarioDTO findByNomeUsuario(String nomeUsuario) {
 
         Usuario entity = usuarioRepository.findByNomeUsuario(nomeUsuario)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado."));
 
         UsuarioDTO dto = DozerMapper.parseObject(entity, UsuarioDTO.class);
-        dto.add(linkTo(methodOn(UsuarioController.class).acharUsuarioPorNomeUsuario(nomeUsuario)).withSelfRel());
+        dto.add(LinkFactory.self(LinkFactory.USUARIO_POR_NOME_USUARIO, nomeUsuario));
         return dto;
     }
 
+    @Transactional(readOnly = true)
     public UsuarioDTO findById(Long id) {
 
         Usuario entity = usuarioRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Usuário não encontrado."));
 
         UsuarioDTO dto = DozerMapper.parseObject(entity, UsuarioDTO.class);
-        dto.add(linkTo(methodOn(UsuarioController.class).acharUsuarioPorId(id)).withSelfRel());
+        dto.add(LinkFactory.self(LinkFactory.USUARIO_POR_ID, id));
         return dto;
     }
 
+    @Transactional(readOnly = true)
     public PagedModel<EntityModel<AdocaoDTO>> findAllAdocoesByNomeUsuario(String nomeUsuario, Pageable pageable) {
 
-        Page<Adocao> adocaoPage = adocaoRepository.findAdocoesByNomeUsuario(nomeUsuario, pageable);
+        Page<AdocaoDTO> adocaoDtoPage = adocaoRepository.findAdocoesDTOByNomeUsuario(nomeUsuario, pageable);
 
-        Page<AdocaoDTO> adocaoDtoPage = adocaoPage.map(a -> DozerMapper.parseObject(a, AdocaoDTO.class));
+        String baseUri = LinkFactory.baseUri();
 
         adocaoDtoPage = adocaoDtoPage.map(
-                dto -> dto.add(linkTo(methodOn(AdocaoController.class).acharAdocaoPorId(dto.getKey())).withSelfRel()));
+                dto -> dto.add(LinkFactory.self(baseUri, LinkFactory.ADOCAO_POR_ID, dto.getKey())));
 
-        Link selfLink = linkTo(methodOn(UsuarioController.class)
-                .listarAdocoesPorNomeUsuario(nomeUsuario, pageable.getPageNumber(), pageable.getPageSize(), "asc"))
-                .withSelfRel();
+        Link selfLink = LinkFactory.self(baseUri, LinkFactory.ADOCOES_DO_USUARIO,
+                nomeUsuario, pageable.getPageNumber(), pageable.getPageSize(), "asc");
 
         return adocaoDtoAssembler.toModel(adocaoDtoPage, selfLink);
     }
@@ -136,9 +151,7 @@ public class UsuarioService {
         entity.setEmail(registroDTO.getEmail().toLowerCase());
         entity.setRole(Roles.USER);
         UsuarioDTO dto = DozerMapper.parseObject(usuarioRepository.save(entity), UsuarioDTO.class);
-        dto.add(
-                linkTo(
-                        methodOn(UsuarioController.class).acharUsuarioPorId(dto.getKey())).withSelfRel());
+        dto.add(LinkFactory.self(LinkFactory.USUARIO_POR_ID, dto.getKey()));
         return dto;
     }
 
@@ -178,7 +191,7 @@ public class UsuarioService {
         usuarioValidacao.validateUpdate(entity);
 
         UsuarioDTO dto = DozerMapper.parseObject(usuarioRepository.save(entity), UsuarioDTO.class);
-        dto.add(linkTo(methodOn(UsuarioController.class).acharUsuarioPorId(dto.getKey())).withSelfRel());
+        dto.add(LinkFactory.self(LinkFactory.USUARIO_POR_ID, dto.getKey()));
         return dto;
     }
 
@@ -188,19 +201,9 @@ public class UsuarioService {
 
         usuarioValidacao.validatePartialUpdate(nomeUsuario, updates);
 
-        ObjectMapper mapper = new ObjectMapper();
-        updates.forEach((campo, valor) -> {
-            Field field = ReflectionUtils.findField(Usuario.class, campo);
-            if (field != null) {
-                field.setAccessible(true);
-
-                if (campo.equalsIgnoreCase("email") && valor instanceof String) {
-                    valor = ((String) valor).toLowerCase();
-                }
-
-                ReflectionUtils.setField(field, usuario, mapper.convertValue(valor, field.getType()));
-            }
-        });
+        updates.computeIfPresent("email",
+                (campo, valor) -> valor instanceof String email ? email.toLowerCase() : valor);
+        MergePatch.aplicar(usuario, updates);
 
         UsuarioDTO usuarioDTO = DozerMapper.parseObject(usuario, UsuarioDTO.class);
 
@@ -223,27 +226,47 @@ public class UsuarioService {
         usuarioRepository.deleteByNomeUsuario(nomeUsuario);
     }
 
+    @Transactional(readOnly = true)
     public PagedModel<EntityModel<AnimalDTO>> findAnimaisFavoritosByNomeUsuario(String nomeUsuario, Pageable pageable) {
-        Page<Animal> animalPage = usuarioRepository.findAnimaisFavoritosByNomeUsuario(nomeUsuario, pageable);
-        Page<AnimalDTO> animalDtoPage = animalPage.map(a -> DozerMapper.parseObject(a, AnimalDTO.class));
+        Page<AnimalDTO> animalDtoPage = usuarioRepository.findAnimaisFavoritosDTOByNomeUsuario(nomeUsuario,
+                pageable);
+        String baseUri = LinkFactory.baseUri();
 
         animalDtoPage = animalDtoPage.map(dto -> {
-            dto.add(linkTo(methodOn(AnimalController.class).acharAnimalPorId(dto.getKey())).withSelfRel());
+            dto.add(LinkFactory.self(baseUri, LinkFactory.ANIMAL_POR_ID, dto.getKey()));
             return dto;
         });
 
-        Link selfLink = linkTo(methodOn(UsuarioController.class)
-                .listarAnimaisFavoritos(
-                        nomeUsuario,
-                        pageable.getPageNumber(),
-                        pageable.getPageSize(),
-                        "asc",
-                        "nome"))
-                .withSelfRel();
+        Link selfLink = LinkFactory.self(baseUri, LinkFactory.FAVORITOS_DO_USUARIO,
+                nomeUsuario,
+                pageable.getPageNumber(),
+                pageable.getPageSize(),
+                "asc",
+                "nome");
 
         return animalDtoAssembler.toModel(animalDtoPage, selfLink);
     }
 
+    // favoritos em modo keyset: ordem crescente por (nome, id) do animal
+    @Transactional(readOnly = true)
+    public CollectionModel<EntityModel<AnimalDTO>> findAnimaisFavoritosApos(String nomeUsuario, String after,
+            int size) {
+
+        Cursor cursor = Cursor.decodificar(after);
+        List<AnimalDTO> animais = usuarioRepository.findAnimaisFavoritosDTOApos(nomeUsuario, cursor.chave(),
+                cursor.id(), Limit.of(size + 1));
+
+        String baseUri = LinkFactory.baseUri();
+        animais.forEach(a -> a.add(LinkFactory.self(baseUri, LinkFactory.ANIMAL_POR_ID, a.getKey())));
+
+        Link selfLink = LinkFactory.self(baseUri, LinkFactory.FAVORITOS_DO_USUARIO, nomeUsuario, null, size, null,
+                null, after);
+        return Cursor.pagina(animais, size, selfLink, a -> Cursor.of(a.getNome(), a.getKey()),
+                proximo -> LinkFactory.link(baseUri, LinkFactory.FAVORITOS_DO_USUARIO, IanaLinkRelations.NEXT,
+                        nomeUsuario, null, size, null, null, proximo));
+    }
+
+    @Transactional(readOnly = true)
     public boolean isAnimalFavorito(String nomeUsuario, Long animalId) {
         return usuarioRepository.existsByNomeUsuarioAndAnimaisFavoritos_IdAnimal(nomeUsuario, animalId);
     }
@@ -265,7 +288,7 @@ public class UsuarioService {
     // Métodos auxiliares mantidos porém não chamados diretamente
     @Transactional
     public void adicionarAnimalFavorito(String nomeUsuario, Long animalId) {
-        Usuario usuario = usuarioRepository.findByNomeUsuario(nomeUsuario)
+        Usuario usuario = usuarioRepository.findComFavoritosByNomeUsuario(nomeUsuario)
                 .orElseThrow(() -> new EntityNotFoundException("Usuário não encontrado"));
 
         Animal animal = animalRepository.findById(animalId)
@@ -277,7 +300,7 @@ public class UsuarioService {
 
     @Transactional
     public void removerAnimalFavorito(String nomeUsuario, Long animalId) {
-        Usuario usuario = usuarioRepository.findByNomeUsuario(nomeUsuario)
+        Usuario usuario = usuarioRepository.findComFavoritosByNomeUsuario(nomeUsuario)
                 .orElseThrow(() -> new EntityNotFoundException("Usuário não encontrado"));
 
         usuario.getAnimaisFavoritos().removeIf(animal -> animal.getIdAnimal().equals(animalId));
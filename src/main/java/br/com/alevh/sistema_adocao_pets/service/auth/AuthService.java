@@ -1,24 +1,57 @@
 package br.com.alevh.sistema_adocao_pets.service.auth;
 
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import br.com.alevh.sistema_adocao_pets.model.LoginIdentityView;
+import br.com.alevh.sistema_adocao_pets.model.PerfilBase;
+import br.com.alevh.sistema_adocao_pets.repository.AdministradorRepository;
 import br.com.alevh.sistema_adocao_pets.repository.LoginIdentityViewRepository;
+import br.com.alevh.sistema_adocao_pets.repository.OngRepository;
+import br.com.alevh.sistema_adocao_pets.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
-public class AuthService implements UserDetailsService {
+public class AuthService implements UserDetailsService, UserDetailsPasswordService {
 
     private final LoginIdentityViewRepository loginIdentityViewRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final OngRepository ongRepository;
+    private final AdministradorRepository administradorRepository;
 
     @Override
     public UserDetails loadUserByUsername(String identifier) throws UsernameNotFoundException {
-        return loginIdentityViewRepository.findByEmail(identifier)
-                .or(() -> loginIdentityViewRepository.findByNomeUsuario(identifier))
+        List<LoginIdentityView> encontradas = loginIdentityViewRepository.findByIdentificador(identifier);
+        // o email tem precedência sobre o nome de usuário
+        return encontradas.stream()
+                .filter(identidade -> identidade.getEmail().equalsIgnoreCase(identifier))
+                .findFirst()
+                .or(() -> encontradas.stream().findFirst())
                 .orElseThrow(() -> new UsernameNotFoundException(
                         "Usuário ou ONG não encontrado com o identificador: " + identifier));
     }
-}
\ No newline at end of file
+
+    // chamado pelo Spring Security depois de um login certo cujo hash tem outro
+    // custo que o calibrado (SenhaEncoder.upgradeEncoding): grava o hash novo
+    // na tabela de origem, e o gatilho leva para a login_identity
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        LoginIdentityView identidade = (LoginIdentityView) user;
+        Optional<? extends PerfilBase> perfil = switch (identidade.getTipo()) {
+            case "usuario" -> usuarioRepository.findById(identidade.getPerfilId());
+            case "ong" -> ongRepository.findById(identidade.getPerfilId());
+            default -> administradorRepository.findById(identidade.getPerfilId());
+        };
+        perfil.ifPresent(p -> p.setSenha(newPassword));
+        return user;
+    }
+}
@@ -0,0 +1,75 @@
+package br.com.alevh.sistema_adocao_pets.service.auth;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// filtro de Bloom dos jtis revogados, na frente do mapa exato do
+// TokenBlackListService: "não contém" é certeza, e é a resposta de quase toda
+// requisição. A consulta não aloca (o hash percorre os chars da String) e não
+// trava; as inclusões usam CAS para não perder bits de inclusões concorrentes.
+// Não remove: o TokenBlackListService remonta o filtro só com os vivos
+final class FiltroBloom {
+
+    // ~1% de falsos positivos com 10 bits por elemento
+    private static final int BITS_POR_ELEMENTO = 10;
+
+    private static final int SONDAGENS = 7;
+
+    private static final int CAPACIDADE_MINIMA = 1024;
+
+    private final int capacidade;
+
+    private final AtomicLongArray palavras;
+
+    private final int mascara;
+
+    FiltroBloom(int capacidade) {
+        this.capacidade = Math.max(capacidade, CAPACIDADE_MINIMA);
+        long bits = (long) this.capacidade * BITS_POR_ELEMENTO;
+        // potência de 2 para o índice sair de uma máscara
+        int tamanho = Integer.highestOneBit((int) Math.min(bits, 1 << 30) - 1) << 1;
+        this.palavras = new AtomicLongArray(tamanho / Long.SIZE);
+        this.mascara = tamanho - 1;
+    }
+
+    // acima disso a taxa de falsos positivos passa do previsto
+    int capacidade() {
+        return capacidade;
+    }
+
+    void adicionar(String chave) {
+        long hash = hash(chave);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < SONDAGENS; i++) {
+            int bit = (h1 + i * h2) & mascara;
+            palavras.accumulateAndGet(bit >>> 6, 1L << bit, (atual, novo) -> atual | novo);
+        }
+    }
+
+    boolean podeConter(String chave) {
+        long hash = hash(chave);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < SONDAGENS; i++) {
+            int bit = (h1 + i * h2) & mascara;
+            if ((palavras.get(bit >>> 6) & 1L << bit) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // FNV-1a de 64 bits com um misturador final (as duas metades viram as
+    // duas funções de hash da sondagem dupla)
+    private static long hash(String chave) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < chave.length(); i++) {
+            hash ^= chave.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -1,24 +1,109 @@
 package br.com.alevh.sistema_adocao_pets.service.auth;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import com.auth0.jwt.exceptions.JWTVerificationException;
+
+import br.com.alevh.sistema_adocao_pets.config.RoteamentoLeitura;
+import br.com.alevh.sistema_adocao_pets.model.TokenRevogado;
+import br.com.alevh.sistema_adocao_pets.repository.TokenRevogadoRepository;
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
 
+// tokens revogados no logout, pelo id (jti) e só até o exp de cada um: a
+// memória acompanha os revogados ainda válidos, não o total de logouts. As
+// revogações vão para a tabela token_revogado, que todas as instâncias leem
+// de forma incremental a cada atualizacao-ms; as desta instância valem na
+// hora. Um FiltroBloom na frente do mapa responde sem alocar o caso comum,
+// o token que não foi revogado
 @Service
+@RequiredArgsConstructor
 public class TokenBlackListService {
 
-    private final Set<String> blacklist = new HashSet<>();
+    // a leitura volta um pouco antes da última revogação vista, para pegar as
+    // linhas de transações que confirmaram depois de uma leitura anterior
+    private static final Duration MARGEM_LEITURA = Duration.ofSeconds(10);
+
+    private final TokenService tokenService;
+
+    private final TokenRevogadoRepository tokenRevogadoRepository;
+
+    // jti -> exp
+    private final Map<String, Instant> revogados = new ConcurrentHashMap<>();
+
+    // inclusões e a troca do filtro na remontagem sob this, para nenhuma
+    // inclusão ficar fora do filtro novo; as consultas não travam
+    private volatile FiltroBloom filtro = new FiltroBloom(0);
+
+    private volatile boolean carregado;
+
+    private Instant lidoAte = Instant.EPOCH;
 
     public void addToBlacklist(HttpServletRequest request) {
         String token = extractToken(request);
-        blacklist.add(token);
+        TokenService.Claims claims;
+        try {
+            claims = tokenService.validateToken(token);
+        } catch (JWTVerificationException ex) {
+            return; // inválido ou expirado: já não autentica
+        }
+        tokenRevogadoRepository.revogar(claims.id(), claims.expiraEm());
+        incluir(claims.id(), claims.expiraEm());
+    }
+
+    public boolean isTokenRevogado(String id) {
+        if (!carregado) {
+            atualizar();
+        }
+        if (!filtro.podeConter(id)) {
+            return false;
+        }
+        Instant expiraEm = revogados.get(id);
+        return expiraEm != null && expiraEm.isAfter(Instant.now());
+    }
+
+    // lê as revogações novas (inclusive as de outras instâncias), descarta as
+    // expiradas e remonta o filtro com as que sobraram
+    @Scheduled(initialDelayString = "${security.jwt.revogados.atualizacao-ms:5000}",
+            fixedDelayString = "${security.jwt.revogados.atualizacao-ms:5000}")
+    public synchronized void atualizar() {
+        Instant agora = Instant.now();
+        Instant desde = lidoAte.equals(Instant.EPOCH) ? lidoAte : lidoAte.minus(MARGEM_LEITURA);
+        for (TokenRevogado revogado : RoteamentoLeitura.noPrimario(
+                () -> tokenRevogadoRepository.findRevogadosDesde(desde, agora))) {
+            incluir(revogado.getJti(), revogado.getExpiraEm());
+            if (revogado.getRevogadoEm().isAfter(lidoAte)) {
+                lidoAte = revogado.getRevogadoEm();
+            }
+        }
+        if (revogados.values().removeIf(expiraEm -> !expiraEm.isAfter(agora))
+                || revogados.size() > filtro.capacidade() || !carregado) {
+            remontarFiltro();
+        }
+        carregado = true;
+    }
+
+    // as linhas expiradas já não servem a nenhuma instância
+    @Scheduled(fixedDelayString = "${security.jwt.revogados.limpeza-ms:3600000}")
+    public void apagarExpirados() {
+        tokenRevogadoRepository.deleteExpirados(Instant.now());
+    }
+
+    private synchronized void incluir(String id, Instant expiraEm) {
+        revogados.put(id, expiraEm);
+        filtro.adicionar(id);
     }
 
-    public boolean isTokenBlacklisted(String token) {
-        return blacklist.contains(token);
+    private synchronized void remontarFiltro() {
+        FiltroBloom novo = new FiltroBloom(revogados.size() * 2);
+        revogados.keySet().forEach(novo::adicionar);
+        filtro = novo;
     }
 
     private String extractToken(HttpServletRequest request) {
@@ -1,40 +1,115 @@
 package br.com.alevh.sistema_adocao_pets.service.auth;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
+import com.auth0.jwt.interfaces.Claim;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import br.com.alevh.sistema_adocao_pets.model.LoginIdentityView;
+import br.com.alevh.sistema_adocao_pets.security.Roles;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
 @Service
 public class TokenService {
     // faz com que os hashs sejam unicos na aplicação (evitar padrões -> evitar
     // ataques)
     // guardar à 7 chaves
-    @Value("${security.jwt.secret}") // application.properties
-    private String secret;
+    private static final String PROPRIEDADE_SEGREDO = "security.jwt.secret"; // application.properties
 
-    @Value("${security.jwt.token.expire-length}")
-    private long expireLength;
+    private static final String EMISSOR = "auth-api";
 
-    // gere tokens de Ong
-    public String generateToken(UserDetails userDetails) {
+    private static final String CLAIM_ROLE = "role";
 
-        try {
+    private static final String CLAIM_VERSAO = "ver";
+
+    private static final String CLAIM_CONTA = "conta";
+
+    private final Environment environment;
+
+    private final long expireLength;
+
+    // algoritmo e verificador montados uma vez e trocados juntos quando o
+    // segredo muda (ver verificarSegredo); os dois são imutáveis e thread-safe
+    private volatile Chaves chaves;
+
+    // tokens já verificados: um cliente que manda várias requisições com o
+    // mesmo bearer paga o HMAC e a decodificação só na primeira. A entrada
+    // vence junto com o token e só vale para as chaves com que foi verificada.
+    // Revogação e blacklist continuam sendo conferidas a cada requisição. A
+    // chave é o SHA-256 do token, não o token: um dump da memória não entrega
+    // bearers prontos para uso
+    private final Cache<String, Verificado> verificados;
+
+    // o que o SecurityFilter precisa para autenticar sem ir ao banco; role,
+    // versão e conta (id na login_identity) são null nos tokens emitidos antes
+    // de existirem essas claims. O id é o jti (nos tokens antigos, sem jti, a
+    // assinatura) e identifica o token na revogação do logout
+    // (TokenBlackListService)
+    public record Claims(String email, Roles role, Integer versao, Long conta, String id, Instant expiraEm) {
+    }
+
+    private record Chaves(String segredo, Algorithm algoritmo, JWTVerifier verificador) {
+
+        static Chaves de(String segredo) {
             // algoritmo de geração de token, vem dentro da biblioteca do jwt
             // recebe uma secret
-            Algorithm algorithm = Algorithm.HMAC256(secret);
+            Algorithm algoritmo = Algorithm.HMAC256(segredo);
+            return new Chaves(segredo, algoritmo, JWT.require(algoritmo)
+                    .withIssuer(EMISSOR) // Define o emissor esperado do token
+                    .build()); // Constrói o verificador JWT
+        }
+    }
+
+    private record Verificado(Claims claims, Chaves chaves) {
+    }
 
+    public TokenService(Environment environment, MeterRegistry meterRegistry,
+            @Value("${security.jwt.token.expire-length}") long expireLength,
+            @Value("${security.jwt.tokens-verificados.tamanho-maximo:10000}") long tamanhoMaximo) {
+        this.environment = environment;
+        this.expireLength = expireLength;
+        this.chaves = Chaves.de(environment.getRequiredProperty(PROPRIEDADE_SEGREDO));
+        this.verificados = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfter(new AteExpirar())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verificados, "tokens-verificados");
+    }
+
+    // gere tokens de Ong
+    public String generateToken(LoginIdentityView identidade) {
+
+        try {
             // geração do token em si
             String token = JWT.create()
-                    .withIssuer("auth-api") // emissor do token -> nome aplicação, colocar o nome que quiser
-                    .withSubject(userDetails.getUsername()) // quem recebe o token -> usuário
+                    .withIssuer(EMISSOR) // emissor do token -> nome aplicação, colocar o nome que quiser
+                    .withSubject(identidade.getUsername()) // quem recebe o token -> usuário
+                    .withJWTId(UUID.randomUUID().toString())
+                    .withClaim(CLAIM_ROLE, identidade.getRole().name())
+                    .withClaim(CLAIM_VERSAO, identidade.getVersaoToken()) // ver VersoesToken
+                    .withClaim(CLAIM_CONTA, identidade.getId())
                     .withExpiresAt(genExpirationDate()) // tempo pra expirar o token
-                    .sign(algorithm); // fazer a assinatura/geração final com o algoritmo ;
+                    .sign(chaves.algoritmo()); // fazer a assinatura/geração final com o algoritmo ;
             return token;
         } catch (JWTCreationException exception) {
             throw new RuntimeException("Error while generating token", exception);
@@ -43,17 +118,81 @@ public class TokenService {
 
     // gere tokens de Usuario
 
-    public String validateToken(String token) {
-        Algorithm algorithm = Algorithm.HMAC256(secret);
-        return JWT.require(algorithm)
-                .withIssuer("auth-api") // Define o emissor esperado do token
-                .build() // Constrói o verificador JWT
-                .verify(token) // Verifica e decodifica o token JWT fornecido
-                .getSubject(); // Retorna o "subject" do token -> identificador do usuário
+    public Claims validateToken(String token) {
+        String chave = chave(token);
+        Verificado verificado = verificados.getIfPresent(chave);
+        if (verificado != null && verificado.chaves() == chaves
+                && Instant.now().isBefore(verificado.claims().expiraEm())) {
+            return verificado.claims();
+        }
+        return verificar(token, chave);
+    }
+
+    // o caminho sem cache: verifica a assinatura, o emissor e a expiração e
+    // guarda o resultado (package-private para o TokenVerificacaoBenchmark)
+    Claims verificar(String token) {
+        return verificar(token, chave(token));
+    }
+
+    private Claims verificar(String token, String chave) {
+        Chaves atuais = chaves;
+        DecodedJWT jwt = atuais.verificador().verify(token); // Verifica e decodifica o token JWT fornecido
+        Claim role = jwt.getClaim(CLAIM_ROLE);
+        Instant expiracao = jwt.getExpiresAtAsInstant();
+        Claims claims = new Claims(jwt.getSubject(), // o "subject" do token -> identificador do usuário
+                role.isMissing() ? null : Roles.valueOf(role.asString()),
+                jwt.getClaim(CLAIM_VERSAO).asInt(),
+                jwt.getClaim(CLAIM_CONTA).asLong(),
+                jwt.getId() != null ? jwt.getId() : jwt.getSignature(),
+                expiracao != null ? expiracao : Instant.now().plusMillis(expireLength));
+        verificados.put(chave, new Verificado(claims, atuais));
+        return claims;
+    }
+
+    private static String chave(String token) {
+        try {
+            // MessageDigest não é thread-safe; a instância é barata perto do HMAC
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    // segredo trocado no Environment: novas chaves, e os tokens do segredo
+    // antigo deixam de valer (as entradas do cache ficam presas às chaves antigas)
+    @Scheduled(initialDelayString = "${security.jwt.verificacao-segredo-ms:60000}",
+            fixedDelayString = "${security.jwt.verificacao-segredo-ms:60000}")
+    public void verificarSegredo() {
+        String segredo = environment.getRequiredProperty(PROPRIEDADE_SEGREDO);
+        if (!segredo.equals(chaves.segredo())) {
+            chaves = Chaves.de(segredo);
+            verificados.invalidateAll();
+        }
     }
 
     // tempo de expiração pro token
     private Instant genExpirationDate() {
         return Instant.now().plusMillis(expireLength);
     }
-}
\ No newline at end of file
+
+    // cada entrada vive até o token expirar
+    private static final class AteExpirar implements Expiry<String, Verificado> {
+
+        @Override
+        public long expireAfterCreate(String chave, Verificado verificado, long agoraNanos) {
+            long restanteMs = verificado.claims().expiraEm().toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, restanteMs));
+        }
+
+        @Override
+        public long expireAfterUpdate(String chave, Verificado verificado, long agoraNanos, long restanteNanos) {
+            return expireAfterCreate(chave, verificado, agoraNanos);
+        }
+
+        @Override
+        public long expireAfterRead(String chave, Verificado verificado, long agoraNanos, long restanteNanos) {
+            return restanteNanos;
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package br.com.alevh.sistema_adocao_pets.service.indice;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.alevh.sistema_adocao_pets.config.RoteamentoLeitura;
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.AnimalFiltroDTO;
+import br.com.alevh.sistema_adocao_pets.model.Animal;
+import br.com.alevh.sistema_adocao_pets.model.Ong;
+import br.com.alevh.sistema_adocao_pets.repository.AnimalRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// índice em memória dos atributos de baixa cardinalidade do filtro de animais:
+// um bitmap comprimido (Roaring) de ids por valor de cada atributo. O filtro
+// vira AND entre os atributos (e OR entre as cidades que casam com o ILIKE) e
+// o banco só é consultado para carregar a página de ids. É montado quando a
+// aplicação sobe, atualizado pelo IndiceAnimaisListener depois de cada commit
+// e conferido periodicamente contra o banco; enquanto não está pronto, ou
+// quando o filtro usa o nome, o filtro continua indo pelo SQL. Escritas de
+// outros nós só entram na conferência: até lá, uma página com animal removido
+// ou alterado lá volta para o SQL (ver satisfaz), e um animal criado lá fica
+// fora das páginas servidas por este índice
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndiceAnimais {
+
+    // tentativas de montar o índice sem que alguma escrita chegue no meio
+    private static final int TENTATIVAS = 3;
+
+    // aproxima a collation pt_BR do banco: acento e caixa só desempatam
+    private static final Collator COLLATOR = collator();
+
+    private final AnimalRepository animalRepository;
+
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+
+    // alterações recebidas (aplicadas ou não); a montagem e a verificação só
+    // instalam o que leram do banco se nada mudou enquanto liam
+    private final AtomicLong alteracoes = new AtomicLong();
+
+    // null enquanto o índice não está pronto
+    private Estado estado;
+
+    public record Resultado(List<Long> ids, long total) {
+    }
+
+    // ids da página pedida, na ordem do SQL (nome, depois id), e o total; vazio
+    // quando o índice não pode responder e o filtro deve ir pelo banco
+    public Optional<Resultado> consultar(AnimalFiltroDTO filtro, long offset, int tamanho) {
+        if (filtro.getNome() != null) {
+            return Optional.empty();
+        }
+        trava.readLock().lock();
+        try {
+            if (estado == null) {
+                return Optional.empty();
+            }
+            RoaringBitmap resultado = estado.todos.clone();
+            resultado.and(estado.bitmap(estado.especie, filtro.getEspecie()));
+            resultado.and(estado.bitmap(estado.raca, filtro.getRaca()));
+            resultado.and(estado.bitmap(estado.porte, filtro.getPorte()));
+            resultado.and(estado.bitmap(estado.sexo, filtro.getSexo()));
+            resultado.and(estado.bitmap(estado.status, filtro.getStatus()));
+            if (filtro.getCidadeOng() != null) {
+                resultado.and(estado.cidadesContendo(filtro.getCidadeOng()));
+            }
+            return Optional.of(new Resultado(estado.pagina(resultado, offset, tamanho),
+                    resultado.getLongCardinality()));
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    // o animal lido do banco ainda satisfaz o filtro? Não satisfaz quando
+    // outro nó o alterou ou removeu depois da última verificação deste índice
+    public static boolean satisfaz(AnimalFiltroDTO filtro, Animal animal) {
+        Entrada entrada = Entrada.of(animal);
+        String cidade = cidade(animal.getOng());
+        return igualOuAusente(filtro.getEspecie(), entrada.especie())
+                && igualOuAusente(filtro.getRaca(), entrada.raca())
+                && igualOuAusente(filtro.getPorte(), entrada.porte())
+                && igualOuAusente(filtro.getSexo(), entrada.sexo())
+                && igualOuAusente(filtro.getStatus(), entrada.status())
+                && (filtro.getCidadeOng() == null || cidade != null && contem(cidade, filtro.getCidadeOng()));
+    }
+
+    public boolean pronto() {
+        trava.readLock().lock();
+        try {
+            return estado != null;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void montar() {
+        for (int i = 0; i < TENTATIVAS; i++) {
+            long antes = alteracoes.get();
+            Estado novo = carregar();
+            trava.writeLock().lock();
+            try {
+                if (novo != null && alteracoes.get() == antes) {
+                    estado = novo;
+                    log.info("Índice de animais montado com {} animais", novo.animais.size());
+                    return;
+                }
+            } finally {
+                trava.writeLock().unlock();
+            }
+            if (novo == null) {
+                return;
+            }
+        }
+        log.warn("Índice de animais não montado: escritas concorrentes; o filtro segue pelo SQL");
+    }
+
+    // confere o índice contra o banco e o substitui se divergir; se alguma
+    // escrita chegar durante a leitura a conferência fica para a próxima vez
+    @Scheduled(initialDelayString = "${indice.animais.verificacao-ms:600000}",
+            fixedDelayString = "${indice.animais.verificacao-ms:600000}")
+    public void verificar() {
+        long antes = alteracoes.get();
+        Estado banco = carregar();
+        trava.writeLock().lock();
+        try {
+            if (alteracoes.get() != antes) {
+                return;
+            }
+            if (banco == null || estado == null || !estado.mesmoConteudo(banco)) {
+                if (estado != null) {
+                    log.warn("Índice de animais divergente do banco; remontado");
+                }
+                estado = banco;
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    public void animalAlterado(Long id, Entrada entrada, String cidadeOng) {
+        if (id > Integer.MAX_VALUE) {
+            desativar();
+            return;
+        }
+        alterar(e -> {
+            e.remover(id);
+            e.cidadePorOng.put(entrada.ongId(), cidadeOng);
+            e.adicionar(id, entrada);
+        });
+    }
+
+    public void animalRemovido(Long id) {
+        alterar(e -> e.remover(id));
+    }
+
+    public void ongAlterada(Long ongId, String cidade) {
+        alterar(e -> e.trocarCidade(ongId, cidade));
+    }
+
+    public void ongRemovida(Long ongId) {
+        alterar(e -> e.cidadePorOng.remove(ongId));
+    }
+
+    private void desativar() {
+        trava.writeLock().lock();
+        try {
+            alteracoes.incrementAndGet();
+            if (estado != null) {
+                log.warn("Id de animal acima de 32 bits; índice de animais desativado");
+                estado = null;
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    private void alterar(Consumer<Estado> alteracao) {
+        trava.writeLock().lock();
+        try {
+            alteracoes.incrementAndGet();
+            if (estado != null) {
+                alteracao.accept(estado);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    // null se algum id não cabe no bitmap de 32 bits; o filtro fica no SQL
+    private Estado carregar() {
+        Estado novo = new Estado();
+        // do primário: o índice recebe os commits dele e a réplica pode estar atrasada
+        for (Object[] linha : RoteamentoLeitura.noPrimario(animalRepository::findAtributosIndexados)) {
+            long id = ((Number) linha[0]).longValue();
+            if (id > Integer.MAX_VALUE) {
+                log.warn("Id de animal acima de 32 bits; índice de animais desativado");
+                return null;
+            }
+            Long ongId = ((Number) linha[7]).longValue();
+            novo.cidadePorOng.put(ongId, (String) linha[8]);
+            novo.adicionar(id, new Entrada((String) linha[1], (String) linha[2], (String) linha[3],
+                    (String) linha[4], (String) linha[5], (String) linha[6], ongId));
+        }
+        return novo;
+    }
+
+    private static boolean igualOuAusente(String filtro, String valor) {
+        return filtro == null || filtro.equals(valor);
+    }
+
+    // equivalente ao ILIKE '%valor%' do SQL, que trata % e _ como texto
+    private static boolean contem(String cidade, String valor) {
+        return cidade.toLowerCase(Locale.ROOT).contains(valor.toLowerCase(Locale.ROOT));
+    }
+
+    private static String cidade(Ong ong) {
+        return ong == null || ong.getEndereco() == null ? null : ong.getEndereco().getCidade();
+    }
+
+    private static Collator collator() {
+        Collator collator = Collator.getInstance(Locale.of("pt", "BR"));
+        collator.setStrength(Collator.TERTIARY);
+        collator.setDecomposition(Collator.CANONICAL_DECOMPOSITION);
+        return collator;
+    }
+
+    // atributos indexados de um animal; status pelo nome do enum, como no banco
+    public record Entrada(String nome, String especie, String raca, String porte, String sexo, String status,
+            Long ongId) {
+
+        public static Entrada of(Animal animal) {
+            return new Entrada(animal.getNome(), animal.getEspecie(), animal.getRaca(), animal.getPorte(),
+                    animal.getSexo(), animal.getStatus() == null ? null : animal.getStatus().name(),
+                    animal.getOng() == null ? null : animal.getOng().getIdOng());
+        }
+    }
+
+    // ordem do ORDER BY a.nome, a.id do SQL (AnimalRepositoryImpl.ORDEM)
+    private record Chave(CollationKey nome, long id) implements Comparable<Chave> {
+
+        static Chave of(String nome, long id) {
+            // o Collator não é thread-safe
+            synchronized (COLLATOR) {
+                return new Chave(COLLATOR.getCollationKey(nome == null ? "" : nome), id);
+            }
+        }
+
+        @Override
+        public int compareTo(Chave outra) {
+            int comparacao = nome.compareTo(outra.nome);
+            return comparacao != 0 ? comparacao : Long.compare(id, outra.id);
+        }
+    }
+
+    // mutável, sempre acessado sob a trava
+    private static final class Estado {
+
+        private static final RoaringBitmap VAZIO = new RoaringBitmap();
+
+        private final RoaringBitmap todos = new RoaringBitmap();
+
+        private final Map<String, RoaringBitmap> especie = new HashMap<>();
+
+        private final Map<String, RoaringBitmap> raca = new HashMap<>();
+
+        private final Map<String, RoaringBitmap> porte = new HashMap<>();
+
+        private final Map<String, RoaringBitmap> sexo = new HashMap<>();
+
+        private final Map<String, RoaringBitmap> status = new HashMap<>();
+
+        private final Map<String, RoaringBitmap> cidade = new HashMap<>();
+
+        private final Map<Long, Entrada> animais = new HashMap<>();
+
+        private final Map<Long, String> cidadePorOng = new HashMap<>();
+
+        private final Map<Long, RoaringBitmap> animaisPorOng = new HashMap<>();
+
+        private final Map<Long, Chave> chaves = new HashMap<>();
+
+        private final TreeSet<Chave> ordem = new TreeSet<>();
+
+        // valor ausente no filtro não restringe nada
+        RoaringBitmap bitmap(Map<String, RoaringBitmap> atributo, String valor) {
+            if (valor == null) {
+                return todos;
+            }
+            return atributo.getOrDefault(valor, VAZIO);
+        }
+
+        RoaringBitmap cidadesContendo(String valor) {
+            RoaringBitmap resultado = new RoaringBitmap();
+            cidade.forEach((nome, ids) -> {
+                if (contem(nome, valor)) {
+                    resultado.or(ids);
+                }
+            });
+            return resultado;
+        }
+
+        // poucos resultados: ordena só eles; muitos: percorre a ordem global
+        // testando a pertinência, que no Roaring é barata
+        List<Long> pagina(RoaringBitmap resultado, long offset, int tamanho) {
+            List<Long> ids = new ArrayList<>(tamanho);
+            if (resultado.getLongCardinality() * 8 < ordem.size()) {
+                List<Chave> selecionadas = new ArrayList<>(resultado.getCardinality());
+                resultado.forEach((int id) -> selecionadas.add(chaves.get((long) id)));
+                selecionadas.sort(null);
+                for (int i = (int) Math.min(offset, selecionadas.size()); i < selecionadas.size()
+                        && ids.size() < tamanho; i++) {
+                    ids.add(selecionadas.get(i).id());
+                }
+                return ids;
+            }
+            long pulados = 0;
+            for (Chave chave : ordem) {
+                if (ids.size() >= tamanho) {
+                    break;
+                }
+                if (resultado.contains((int) chave.id()) && pulados++ >= offset) {
+                    ids.add(chave.id());
+                }
+            }
+            return ids;
+        }
+
+        void adicionar(long id, Entrada entrada) {
+            int bit = (int) id;
+            todos.add(bit);
+            marcar(especie, entrada.especie(), bit);
+            marcar(raca, entrada.raca(), bit);
+            marcar(porte, entrada.porte(), bit);
+            marcar(sexo, entrada.sexo(), bit);
+            marcar(status, entrada.status(), bit);
+            marcar(cidade, cidadePorOng.get(entrada.ongId()), bit);
+            animaisPorOng.computeIfAbsent(entrada.ongId(), o -> new RoaringBitmap()).add(bit);
+            animais.put(id, entrada);
+            Chave chave = Chave.of(entrada.nome(), id);
+            chaves.put(id, chave);
+            ordem.add(chave);
+        }
+
+        void remover(long id) {
+            Entrada entrada = animais.remove(id);
+            if (entrada == null) {
+                return;
+            }
+            int bit = (int) id;
+            todos.remove(bit);
+            desmarcar(especie, entrada.especie(), bit);
+            desmarcar(raca, entrada.raca(), bit);
+            desmarcar(porte, entrada.porte(), bit);
+            desmarcar(sexo, entrada.sexo(), bit);
+            desmarcar(status, entrada.status(), bit);
+            desmarcar(cidade, cidadePorOng.get(entrada.ongId()), bit);
+            desmarcar(animaisPorOng, entrada.ongId(), bit);
+            ordem.remove(chaves.remove(id));
+        }
+
+        void trocarCidade(Long ongId, String nova) {
+            String antiga = cidadePorOng.put(ongId, nova);
+            RoaringBitmap ids = animaisPorOng.get(ongId);
+            if (ids == null || Objects.equals(antiga, nova)) {
+                return;
+            }
+            if (antiga != null && cidade.containsKey(antiga)) {
+                cidade.get(antiga).andNot(ids);
+                if (cidade.get(antiga).isEmpty()) {
+                    cidade.remove(antiga);
+                }
+            }
+            if (nova != null) {
+                cidade.computeIfAbsent(nova, c -> new RoaringBitmap()).or(ids);
+            }
+        }
+
+        // os bitmaps derivam dos atributos de cada animal e da cidade de cada
+        // ong; comparar esses dois basta
+        boolean mesmoConteudo(Estado outro) {
+            return animais.equals(outro.animais) && animaisPorOng.keySet().stream()
+                    .allMatch(ong -> Objects.equals(cidadePorOng.get(ong), outro.cidadePorOng.get(ong)));
+        }
+
+        private static <K> void marcar(Map<K, RoaringBitmap> atributo, K valor, int bit) {
+            if (valor != null) {
+                atributo.computeIfAbsent(valor, v -> new RoaringBitmap()).add(bit);
+            }
+        }
+
+        private static <K> void desmarcar(Map<K, RoaringBitmap> atributo, K valor, int bit) {
+            RoaringBitmap ids = valor == null ? null : atributo.get(valor);
+            if (ids != null) {
+                ids.remove(bit);
+                if (ids.isEmpty()) {
+                    atributo.remove(valor);
+                }
+            }
+        }
+    }
+}
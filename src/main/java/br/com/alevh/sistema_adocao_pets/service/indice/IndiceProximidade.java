@@ -0,0 +1,210 @@
+package br.com.alevh.sistema_adocao_pets.service.indice;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import br.com.alevh.sistema_adocao_pets.config.RoteamentoLeitura;
+import br.com.alevh.sistema_adocao_pets.repository.OngRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+// grade geográfica das ongs: cada ong fica na célula de TAMANHO_CELULA graus
+// que contém sua coordenada, e a busca por raio só visita as células que
+// cobrem o retângulo do raio, calculando a distância só das ongs que estão
+// nelas. O custo acompanha o número de ongs perto do ponto, não o total de
+// ongs. Montada quando a aplicação sobe e atualizada pelo
+// IndiceProximidadeListener depois de cada commit
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndiceProximidade {
+
+    // ~11 km de latitude; raios de até RAIO_MAXIMO_KM visitam poucas centenas de células
+    private static final double TAMANHO_CELULA = 0.1;
+
+    public static final double RAIO_MAXIMO_KM = 100;
+
+    private static final double RAIO_TERRA_KM = 6371.0088;
+
+    private static final double KM_POR_GRAU = Math.PI * RAIO_TERRA_KM / 180;
+
+    private static final int TENTATIVAS = 3;
+
+    private final OngRepository ongRepository;
+
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+
+    private final AtomicLong alteracoes = new AtomicLong();
+
+    // null enquanto a grade não está pronta
+    private Grade grade;
+
+    public record OngProxima(Long idOng, double distanciaKm) {
+    }
+
+    // NaN e infinitos ficam de fora pelas comparações
+    public static boolean coordenadaValida(double latitude, double longitude) {
+        return latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180;
+    }
+
+    // ongs a até raioKm do ponto, da mais próxima para a mais distante
+    public List<OngProxima> proximas(double latitude, double longitude, double raioKm) {
+        // fora da faixa, linha() e coluna() saturam e o laço da grade não termina
+        if (!coordenadaValida(latitude, longitude) || !(raioKm > 0 && raioKm <= RAIO_MAXIMO_KM)) {
+            throw new IllegalArgumentException("Coordenada ou raio fora da faixa");
+        }
+        trava.readLock().lock();
+        try {
+            if (grade != null) {
+                return grade.proximas(latitude, longitude, raioKm);
+            }
+        } finally {
+            trava.readLock().unlock();
+        }
+        // requisição antes da montagem: usa uma grade descartável lida do banco
+        return carregar().proximas(latitude, longitude, raioKm);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void montar() {
+        for (int i = 0; i < TENTATIVAS; i++) {
+            long antes = alteracoes.get();
+            Grade nova = carregar();
+            trava.writeLock().lock();
+            try {
+                if (alteracoes.get() == antes) {
+                    grade = nova;
+                    log.info("Índice de proximidade montado com {} ongs", nova.posicoes.size());
+                    return;
+                }
+            } finally {
+                trava.writeLock().unlock();
+            }
+        }
+        log.warn("Índice de proximidade não montado: escritas concorrentes");
+    }
+
+    // coordenadas null tiram a ong da grade
+    public void ongAlterada(Long idOng, Double latitude, Double longitude) {
+        alterar(g -> {
+            g.retirar(idOng);
+            if (latitude != null && longitude != null) {
+                g.colocar(idOng, latitude, longitude);
+            }
+        });
+    }
+
+    public void ongRemovida(Long idOng) {
+        alterar(g -> g.retirar(idOng));
+    }
+
+    private void alterar(Consumer<Grade> alteracao) {
+        trava.writeLock().lock();
+        try {
+            alteracoes.incrementAndGet();
+            if (grade != null) {
+                alteracao.accept(grade);
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    private Grade carregar() {
+        Grade nova = new Grade();
+        for (Object[] linha : RoteamentoLeitura.noPrimario(ongRepository::findCoordenadas)) {
+            nova.colocar(((Number) linha[0]).longValue(), ((Number) linha[1]).doubleValue(),
+                    ((Number) linha[2]).doubleValue());
+        }
+        return nova;
+    }
+
+    // haversine
+    static double distanciaKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.pow(Math.sin(dLat / 2), 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.pow(Math.sin(dLon / 2), 2);
+        return 2 * RAIO_TERRA_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private record Posicao(double latitude, double longitude, long celula) {
+    }
+
+    // mutável, sempre acessada sob a trava
+    private static final class Grade {
+
+        private final Map<Long, Posicao> posicoes = new HashMap<>();
+
+        private final Map<Long, Set<Long>> celulas = new HashMap<>();
+
+        void colocar(long idOng, double latitude, double longitude) {
+            long celula = celula(linha(latitude), coluna(longitude));
+            posicoes.put(idOng, new Posicao(latitude, longitude, celula));
+            celulas.computeIfAbsent(celula, c -> new HashSet<>()).add(idOng);
+        }
+
+        void retirar(long idOng) {
+            Posicao posicao = posicoes.remove(idOng);
+            if (posicao == null) {
+                return;
+            }
+            Set<Long> ongs = celulas.get(posicao.celula());
+            ongs.remove(idOng);
+            if (ongs.isEmpty()) {
+                celulas.remove(posicao.celula());
+            }
+        }
+
+        List<OngProxima> proximas(double latitude, double longitude, double raioKm) {
+            // retângulo que contém o círculo; as ongs são do Brasil, então não há
+            // volta pelo antimeridiano nem raio chegando aos polos
+            double deltaLat = raioKm / KM_POR_GRAU;
+            double cosseno = Math.cos(Math.toRadians(latitude));
+            double deltaLon = raioKm / (KM_POR_GRAU * Math.max(cosseno, 0.01));
+
+            List<OngProxima> resultado = new ArrayList<>();
+            for (int l = linha(latitude - deltaLat); l <= linha(latitude + deltaLat); l++) {
+                for (int c = coluna(longitude - deltaLon); c <= coluna(longitude + deltaLon); c++) {
+                    Set<Long> ongs = celulas.get(celula(l, c));
+                    if (ongs == null) {
+                        continue;
+                    }
+                    for (Long idOng : ongs) {
+                        Posicao posicao = posicoes.get(idOng);
+                        double distancia = distanciaKm(latitude, longitude, posicao.latitude(), posicao.longitude());
+                        if (distancia <= raioKm) {
+                            resultado.add(new OngProxima(idOng, distancia));
+                        }
+                    }
+                }
+            }
+            resultado.sort(Comparator.comparingDouble(OngProxima::distanciaKm).thenComparing(OngProxima::idOng));
+            return resultado;
+        }
+
+        private static int linha(double latitude) {
+            return (int) Math.floor(latitude / TAMANHO_CELULA);
+        }
+
+        private static int coluna(double longitude) {
+            return (int) Math.floor(longitude / TAMANHO_CELULA);
+        }
+
+        private static long celula(int linha, int coluna) {
+            return (long) linha << 32 | coluna & 0xffffffffL;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.alevh.sistema_adocao_pets.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+
+import br.com.alevh.sistema_adocao_pets.exceptions.InvalidCursorException;
+
+// cursor opaco do modo keyset (parâmetro "after" das listagens): guarda a
+// chave de ordenação e o id do último item da página anterior, e a próxima
+// página é buscada com WHERE (chave, id) > (...) no índice, sem OFFSET e sem
+// COUNT. As listagens vão em ordem crescente e a busca textual em relevância
+// decrescente; "after" vazio pede a primeira página
+public record Cursor(String chave, Long id) {
+
+    private static final char SEPARADOR = '\u0000';
+
+    // antes de qualquer linha: nome vazio ordena antes de qualquer outro
+    private static final Cursor INICIO = new Cursor("", 0L);
+
+    // data mínima para as listagens ordenadas por data
+    private static final LocalDate DATA_INICIO = LocalDate.of(1, 1, 1);
+
+    public static Cursor of(Object chave, Long id) {
+        return new Cursor(chave.toString(), id);
+    }
+
+    public static Cursor decodificar(String after) {
+        if (after == null || after.isBlank()) {
+            return INICIO;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(after), StandardCharsets.UTF_8);
+            int separador = valor.lastIndexOf(SEPARADOR);
+            if (separador < 0) {
+                throw new InvalidCursorException();
+            }
+            return new Cursor(valor.substring(0, separador), Long.valueOf(valor.substring(separador + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    public String codificar() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((chave + SEPARADOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // relevância da busca textual; antes da primeira página vale infinito, que
+    // fica acima de qualquer ts_rank
+    public float chaveComoRelevancia() {
+        if (chave.isEmpty()) {
+            return Float.POSITIVE_INFINITY;
+        }
+        try {
+            return Float.parseFloat(chave);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    public LocalDate chaveComoData() {
+        if (chave.isEmpty()) {
+            return DATA_INICIO;
+        }
+        try {
+            return LocalDate.parse(chave);
+        } catch (DateTimeParseException e) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    // a consulta traz size + 1 linhas: a linha extra só indica que existe
+    // próxima página e não entra na resposta
+    public static <T> CollectionModel<EntityModel<T>> pagina(List<T> linhas, int size, Link self,
+            Function<T, Cursor> cursorDe, Function<String, Link> proxima) {
+        return pagina(linhas, size, self, cursorDe, Function.identity(), proxima);
+    }
+
+    // quando a chave do cursor não faz parte do item devolvido (ex.: a
+    // relevância da busca), a linha é convertida depois de gerar o cursor
+    public static <L, T> CollectionModel<EntityModel<T>> pagina(List<L> linhas, int size, Link self,
+            Function<L, Cursor> cursorDe, Function<L, T> item, Function<String, Link> proxima) {
+        List<EntityModel<T>> conteudo = new ArrayList<>();
+        for (int i = 0; i < linhas.size() && i < size; i++) {
+            conteudo.add(EntityModel.of(item.apply(linhas.get(i))));
+        }
+        CollectionModel<EntityModel<T>> modelo = CollectionModel.of(conteudo, self);
+        if (size > 0 && linhas.size() > size) {
+            modelo.add(proxima.apply(cursorDe.apply(linhas.get(size - 1)).codificar()));
+        }
+        return modelo;
+    }
+}
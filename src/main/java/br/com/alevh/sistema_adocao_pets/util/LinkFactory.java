@@ -0,0 +1,93 @@
+package br.com.alevh.sistema_adocao_pets.util;
+
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import br.com.alevh.sistema_adocao_pets.controller.AdministradorController;
+import br.com.alevh.sistema_adocao_pets.controller.AdocaoController;
+import br.com.alevh.sistema_adocao_pets.controller.AnimalController;
+import br.com.alevh.sistema_adocao_pets.controller.OngController;
+import br.com.alevh.sistema_adocao_pets.controller.UsuarioController;
+
+// substitui o linkTo(methodOn(...)) dos services: os templates são resolvidos
+// uma vez no carregamento da classe, sem proxy de invocação por item
+public final class LinkFactory {
+
+    public static final LinkTemplate ANIMAL_POR_ID = LinkTemplate.of(AnimalController.class,
+            "acharAnimalPorId", Long.class);
+    public static final LinkTemplate ANIMAL_POR_NOME = LinkTemplate.of(AnimalController.class,
+            "acharAnimalPorNome", String.class);
+    public static final LinkTemplate ANIMAIS = LinkTemplate.of(AnimalController.class,
+            "listarAnimais", int.class, int.class, String.class, String.class);
+
+    public static final LinkTemplate ONG_POR_ID = LinkTemplate.of(OngController.class,
+            "acharOngPorId", Long.class);
+    public static final LinkTemplate ONG_POR_NOME_USUARIO = LinkTemplate.of(OngController.class,
+            "acharOngPorNomeUsuario", String.class);
+    public static final LinkTemplate ONGS = LinkTemplate.of(OngController.class,
+            "listarOngs", int.class, int.class, String.class, String.class);
+    public static final LinkTemplate ADOCOES_DA_ONG = LinkTemplate.of(OngController.class,
+            "listarAdocoesPorOngId", Long.class, int.class, int.class, String.class);
+    public static final LinkTemplate ANIMAIS_DA_ONG = LinkTemplate.of(OngController.class,
+            "listarAnimaisDeUmaOng", String.class, int.class, int.class, String.class, String.class);
+
+    public static final LinkTemplate USUARIO_POR_ID = LinkTemplate.of(UsuarioController.class,
+            "acharUsuarioPorId", Long.class);
+    public static final LinkTemplate USUARIO_POR_NOME_USUARIO = LinkTemplate.of(UsuarioController.class,
+            "acharUsuarioPorNomeUsuario", String.class);
+    public static final LinkTemplate USUARIOS = LinkTemplate.of(UsuarioController.class,
+            "listarUsuarios", int.class, int.class, String.class, String.class);
+    public static final LinkTemplate ADOCOES_DO_USUARIO = LinkTemplate.of(UsuarioController.class,
+            "listarAdocoesPorNomeUsuario", String.class, int.class, int.class, String.class);
+    public static final LinkTemplate FAVORITOS_DO_USUARIO = LinkTemplate.of(UsuarioController.class,
+            "listarAnimaisFavoritos", String.class, int.class, int.class, String.class, String.class,
+            String.class);
+
+    public static final LinkTemplate ADOCAO_POR_ID = LinkTemplate.of(AdocaoController.class,
+            "acharAdocaoPorId", Long.class);
+    public static final LinkTemplate ADOCOES = LinkTemplate.of(AdocaoController.class,
+            "listarAdocoes", int.class, int.class, String.class, String.class);
+
+    public static final LinkTemplate ADMINISTRADOR_POR_ID = LinkTemplate.of(AdministradorController.class,
+            "acharAdministradorPorId", Long.class);
+    public static final LinkTemplate ADMINISTRADOR_POR_NOME_USUARIO = LinkTemplate.of(
+            AdministradorController.class, "acharAdministradorPorNomeUsuario", String.class);
+    public static final LinkTemplate ADMINISTRADORES = LinkTemplate.of(AdministradorController.class,
+            "listarAdministradores", int.class, int.class, String.class);
+
+    private LinkFactory() {
+    }
+
+    // esquema, host, porta e context path da requisição atual, como o
+    // WebMvcLinkBuilder usa; fora de uma requisição o link fica relativo
+    public static String baseUri() {
+        if (RequestContextHolder.getRequestAttributes() == null) {
+            return "";
+        }
+        return StringUtils.trimTrailingCharacter(
+                ServletUriComponentsBuilder.fromCurrentServletMapping().build().toUriString(), '/');
+    }
+
+    public static Link self(LinkTemplate template, Object... argumentos) {
+        return self(baseUri(), template, argumentos);
+    }
+
+    // para páginas: calcule o baseUri uma vez e reaproveite em todos os itens
+    public static Link self(String baseUri, LinkTemplate template, Object... argumentos) {
+        return Link.of(template.expand(baseUri, argumentos)).withSelfRel();
+    }
+
+    public static Link link(String baseUri, LinkTemplate template, LinkRelation relacao, Object... argumentos) {
+        return Link.of(template.expand(baseUri, argumentos), relacao);
+    }
+
+    // a própria requisição com um parâmetro da query trocado; para endpoints
+    // cujo filtro vem num objeto e não cabe num template (ex.: a busca)
+    public static Link requisicaoAtual(LinkRelation relacao, String parametro, Object valor) {
+        return Link.of(ServletUriComponentsBuilder.fromCurrentRequest().replaceQueryParam(parametro, valor)
+                .build().toUriString(), relacao);
+    }
+}
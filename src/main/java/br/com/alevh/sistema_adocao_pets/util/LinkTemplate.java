@@ -0,0 +1,143 @@
+package br.com.alevh.sistema_adocao_pets.util;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.util.UriUtils;
+
+// URI de um método de controller resolvida uma única vez a partir das
+// anotações de mapeamento; a expansão por id é só concatenação de strings
+public final class LinkTemplate {
+
+    private static final Pattern VARIAVEL = Pattern.compile("\\{([^}:]+)(?::[^}]*)?}");
+
+    // trechos literais entre as variáveis de caminho (sempre variaveis + 1)
+    private final String[] literais;
+
+    // índice do argumento do método que preenche cada variável de caminho
+    private final int[] argumentosCaminho;
+
+    private final String[] nomesQuery;
+
+    private final int[] argumentosQuery;
+
+    private LinkTemplate(String[] literais, int[] argumentosCaminho, String[] nomesQuery, int[] argumentosQuery) {
+        this.literais = literais;
+        this.argumentosCaminho = argumentosCaminho;
+        this.nomesQuery = nomesQuery;
+        this.argumentosQuery = argumentosQuery;
+    }
+
+    public static LinkTemplate of(Class<?> controller, String metodo, Class<?>... tiposParametros) {
+        Method method = ReflectionUtils.findMethod(controller, metodo, tiposParametros);
+        if (method == null) {
+            throw new IllegalArgumentException("Método " + controller.getSimpleName() + "." + metodo
+                    + " não encontrado para o template de link");
+        }
+
+        String caminho = juntar(mapeamento(controller), mapeamento(method));
+
+        Map<String, Integer> variaveis = new HashMap<>();
+        List<String> nomesQuery = new ArrayList<>();
+        List<Integer> argumentosQuery = new ArrayList<>();
+
+        Parameter[] parametros = method.getParameters();
+        for (int i = 0; i < parametros.length; i++) {
+            PathVariable pathVariable = AnnotatedElementUtils.findMergedAnnotation(parametros[i], PathVariable.class);
+            if (pathVariable != null) {
+                variaveis.put(nomeOuPadrao(pathVariable.name(), parametros[i]), i);
+                continue;
+            }
+            RequestParam requestParam = AnnotatedElementUtils.findMergedAnnotation(parametros[i], RequestParam.class);
+            if (requestParam != null) {
+                nomesQuery.add(nomeOuPadrao(requestParam.name(), parametros[i]));
+                argumentosQuery.add(i);
+            }
+        }
+
+        List<String> literais = new ArrayList<>();
+        List<Integer> argumentosCaminho = new ArrayList<>();
+        Matcher matcher = VARIAVEL.matcher(caminho);
+        int inicio = 0;
+        while (matcher.find()) {
+            Integer argumento = variaveis.get(matcher.group(1));
+            if (argumento == null) {
+                throw new IllegalArgumentException("Variável {" + matcher.group(1) + "} sem @PathVariable em "
+                        + controller.getSimpleName() + "." + metodo);
+            }
+            literais.add(caminho.substring(inicio, matcher.start()));
+            argumentosCaminho.add(argumento);
+            inicio = matcher.end();
+        }
+        literais.add(caminho.substring(inicio));
+
+        return new LinkTemplate(
+                literais.toArray(String[]::new),
+                argumentosCaminho.stream().mapToInt(Integer::intValue).toArray(),
+                nomesQuery.toArray(String[]::new),
+                argumentosQuery.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    // recebe os argumentos na mesma ordem dos parâmetros do método do controller;
+    // argumentos finais omitidos contam como null e ficam fora da query
+    public String expand(String baseUri, Object... argumentos) {
+        StringBuilder uri = new StringBuilder(baseUri.length() + 64).append(baseUri);
+        for (int i = 0; i < argumentosCaminho.length; i++) {
+            uri.append(literais[i]).append(codificarCaminho(argumentos[argumentosCaminho[i]]));
+        }
+        uri.append(literais[literais.length - 1]);
+
+        char separador = '?';
+        for (int i = 0; i < nomesQuery.length; i++) {
+            Object valor = argumentosQuery[i] < argumentos.length ? argumentos[argumentosQuery[i]] : null;
+            if (valor != null) {
+                uri.append(separador).append(nomesQuery[i]).append('=')
+                        .append(UriUtils.encodeQueryParam(valor.toString(), StandardCharsets.UTF_8));
+                separador = '&';
+            }
+        }
+        return uri.toString();
+    }
+
+    private static String codificarCaminho(Object valor) {
+        if (valor instanceof Number) {
+            return valor.toString();
+        }
+        return UriUtils.encodePathSegment(String.valueOf(valor), StandardCharsets.UTF_8);
+    }
+
+    private static String mapeamento(AnnotatedElement elemento) {
+        RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(elemento, RequestMapping.class);
+        if (mapping == null || mapping.path().length == 0) {
+            return "";
+        }
+        return mapping.path()[0];
+    }
+
+    private static String juntar(String base, String caminho) {
+        String resultado = "/" + StringUtils.trimLeadingCharacter(base, '/');
+        if (!caminho.isEmpty()) {
+            resultado = StringUtils.trimTrailingCharacter(resultado, '/') + "/"
+                    + StringUtils.trimLeadingCharacter(caminho, '/');
+        }
+        return resultado;
+    }
+
+    private static String nomeOuPadrao(String nome, Parameter parametro) {
+        return nome.isEmpty() ? parametro.getName() : nome;
+    }
+}
@@ -0,0 +1,139 @@
+package br.com.alevh.sistema_adocao_pets.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import br.com.alevh.sistema_adocao_pets.data.dto.common.DescricaoVO;
+
+// aplica um PATCH no formato JSON merge patch (RFC 7396) sobre uma entidade:
+// - chave com valor null limpa o campo
+// - objeto em um campo de VO (EnderecoVO, SiteVO, DescricaoVO...) é mesclado
+// campo a campo, criando o VO se ele ainda não existir
+// - qualquer outro valor substitui o campo, convertido pelo tipo declarado
+// - chaves que não existem na classe são ignoradas, assim como as de campos
+// transient (estado em memória, não da entidade)
+//
+// a tabela de campos (setter, getter e tipo de cada um) é montada uma única vez
+// por classe, e o ObjectMapper é compartilhado entre as requisições
+public final class MergePatch {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    // pacote dos VOs que são mesclados em vez de substituídos
+    private static final String PACOTE_VO = DescricaoVO.class.getPackageName();
+
+    private static final MethodType TIPO_SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final MethodType TIPO_GETTER = MethodType.methodType(Object.class, Object.class);
+
+    private static final Map<Class<?>, Map<String, Campo>> campos = new ConcurrentHashMap<>();
+
+    private MergePatch() {
+    }
+
+    public static <T> T aplicar(T alvo, Map<String, Object> patch) {
+        Map<String, Campo> tabela = camposDe(alvo.getClass());
+        patch.forEach((nome, valor) -> {
+            Campo campo = tabela.get(nome);
+            if (campo != null) {
+                campo.aplicar(alvo, valor);
+            }
+        });
+        return alvo;
+    }
+
+    private static Map<String, Campo> camposDe(Class<?> tipo) {
+        return campos.computeIfAbsent(tipo, MergePatch::compilar);
+    }
+
+    private static Map<String, Campo> compilar(Class<?> tipo) {
+        Map<String, Campo> tabela = new HashMap<>();
+        // sobe na hierarquia para pegar os campos de PerfilBase; o campo da
+        // subclasse tem prioridade
+        for (Class<?> atual = tipo; atual != null && atual != Object.class; atual = atual.getSuperclass()) {
+            MethodHandles.Lookup lookup = lookup(atual);
+            for (Field field : atual.getDeclaredFields()) {
+                int modificadores = field.getModifiers();
+                if (Modifier.isStatic(modificadores) || Modifier.isFinal(modificadores)
+                        || Modifier.isTransient(modificadores) || tabela.containsKey(field.getName())) {
+                    continue;
+                }
+                tabela.put(field.getName(), new Campo(
+                        handle(lookup, field, true),
+                        handle(lookup, field, false),
+                        field.getType(),
+                        MAPPER.constructType(field.getGenericType()),
+                        field.getType().getPackageName().equals(PACOTE_VO)));
+            }
+        }
+        return Collections.unmodifiableMap(tabela);
+    }
+
+    private static MethodHandles.Lookup lookup(Class<?> tipo) {
+        try {
+            return MethodHandles.privateLookupIn(tipo, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Sem acesso aos campos de " + tipo.getName(), e);
+        }
+    }
+
+    private static MethodHandle handle(MethodHandles.Lookup lookup, Field field, boolean setter) {
+        try {
+            return setter
+                    ? lookup.unreflectSetter(field).asType(TIPO_SETTER)
+                    : lookup.unreflectGetter(field).asType(TIPO_GETTER);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Sem acesso ao campo " + field.getName(), e);
+        }
+    }
+
+    private record Campo(MethodHandle setter, MethodHandle getter, Class<?> tipo, JavaType javaType,
+            boolean vo) {
+
+        void aplicar(Object alvo, Object valor) {
+            if (vo && valor instanceof Map<?, ?> parcial) {
+                Object atual = get(alvo);
+                if (atual == null) {
+                    atual = MAPPER.convertValue(Map.of(), tipo);
+                    set(alvo, atual);
+                }
+                @SuppressWarnings("unchecked")
+                Map<String, Object> patch = (Map<String, Object>) parcial;
+                MergePatch.aplicar(atual, patch);
+            } else {
+                set(alvo, valor == null ? null : MAPPER.convertValue(valor, javaType));
+            }
+        }
+
+        private Object get(Object alvo) {
+            try {
+                return (Object) getter.invokeExact(alvo);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private void set(Object alvo, Object valor) {
+            try {
+                setter.invokeExact(alvo, valor);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -17,6 +17,8 @@ public class AdministradorValidacao {
 
     private final AdministradorRepository administradorRepository;
 
+    private final IdentidadeLoginValidacao identidadeLoginValidacao;
+
     public boolean existsAdministradorWithEmail(String email) {
         return administradorRepository.findByEmail(email).isPresent();
     }
@@ -43,6 +45,8 @@ public class AdministradorValidacao {
         if (existsAdministradorWithCell(admin.getCell())) {
             throw new IllegalStateException("Cell já está em uso");
         }
+        identidadeLoginValidacao.validate(admin.getEmail().toLowerCase(), admin.getNomeUsuario(),
+                IdentidadeLoginValidacao.perfilNovo());
     }
 
     public void validateUpdate(Administrador entity) {
@@ -55,6 +59,8 @@ public class AdministradorValidacao {
         if (existsAdministradorWithCell(entity.getCell())) {
             throw new IllegalStateException("Cell já está em uso");
         }
+        identidadeLoginValidacao.validate(entity.getEmail().toLowerCase(), entity.getNomeUsuario(),
+                IdentidadeLoginValidacao.perfil("administrador", entity.getIdAdministrador()));
     }
 
     public void validatePartialUpdate(String nomeUsuario, Map<String, Object> updates) {
@@ -81,5 +87,11 @@ public class AdministradorValidacao {
                 throw new IllegalStateException("Celular já está em uso por outro administrador");
             }
         }
+
+        // email e nome de usuário também não podem ser de um perfil de outro tipo
+        identidadeLoginValidacao.validate(
+                updates.containsKey("email") ? updates.get("email").toString().toLowerCase() : null,
+                updates.containsKey("nomeUsuario") ? updates.get("nomeUsuario").toString() : null,
+                IdentidadeLoginValidacao.perfilComNomeUsuario("administrador", nomeUsuario));
     }
 }
@@ -0,0 +1,50 @@
+package br.com.alevh.sistema_adocao_pets.util.validations;
+
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import org.springframework.stereotype.Component;
+
+import br.com.alevh.sistema_adocao_pets.model.LoginIdentityView;
+import br.com.alevh.sistema_adocao_pets.repository.LoginIdentityViewRepository;
+import lombok.RequiredArgsConstructor;
+
+// email e nome de usuário são únicos entre usuario, ong e administrador
+// (índices da login_identity); cada validação de perfil confere aqui, além da
+// própria tabela, para o conflito virar 409 em vez de estourar no gatilho
+@Component
+@RequiredArgsConstructor
+public class IdentidadeLoginValidacao {
+
+    private final LoginIdentityViewRepository loginIdentityViewRepository;
+
+    // o perfil informado pode manter o próprio email e nome de usuário
+    public void validate(String email, String nomeUsuario, Predicate<LoginIdentityView> proprio) {
+        if (email != null && emUsoPorOutro(loginIdentityViewRepository.findByEmail(email), proprio)) {
+            throw new IllegalStateException("E-mail já está em uso");
+        }
+        if (nomeUsuario != null
+                && emUsoPorOutro(loginIdentityViewRepository.findByNomeUsuario(nomeUsuario), proprio)) {
+            throw new IllegalStateException("Nome de Usuário já está em uso");
+        }
+    }
+
+    // cadastro: nenhuma identidade é do perfil
+    public static Predicate<LoginIdentityView> perfilNovo() {
+        return identidade -> false;
+    }
+
+    // tipo é a tabela do perfil (usuario, ong ou administrador)
+    public static Predicate<LoginIdentityView> perfil(String tipo, Long id) {
+        return identidade -> identidade.getTipo().equals(tipo) && identidade.getPerfilId().equals(id);
+    }
+
+    public static Predicate<LoginIdentityView> perfilComNomeUsuario(String tipo, String nomeUsuario) {
+        return identidade -> identidade.getTipo().equals(tipo) && identidade.getNomeUsuario().equals(nomeUsuario);
+    }
+
+    private static boolean emUsoPorOutro(Optional<LoginIdentityView> identidade,
+            Predicate<LoginIdentityView> proprio) {
+        return identidade.isPresent() && !proprio.test(identidade.get());
+    }
+}
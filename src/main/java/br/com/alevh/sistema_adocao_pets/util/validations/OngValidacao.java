@@ -18,6 +18,8 @@ public class OngValidacao {
 
     private final OngRepository ongRepository;
 
+    private final IdentidadeLoginValidacao identidadeLoginValidacao;
+
     public void validate(OngDTO ong) {
         if (ong == null)
             throw new RequiredObjectIsNullException("Não há dados");
@@ -35,6 +37,8 @@ public class OngValidacao {
         if (existsOngWithNomeUsuario(ong.getNomeUsuario())) {
             throw new IllegalStateException("Nome Usuário já está em uso");
         }
+        identidadeLoginValidacao.validate(ong.getEmail().toLowerCase(), ong.getNomeUsuario(),
+                IdentidadeLoginValidacao.perfilNovo());
     }
 
     public void validateUpdate(Ong entity) {
@@ -47,6 +51,8 @@ public class OngValidacao {
         if (existsOngWithNomeUsuario(entity.getNomeUsuario())) {
             throw new IllegalStateException("Nome Usuário já está em uso");
         }
+        identidadeLoginValidacao.validate(entity.getEmail().toLowerCase(), entity.getNomeUsuario(),
+                IdentidadeLoginValidacao.perfil("ong", entity.getIdOng()));
     }
 
     public void validatePartialUpdate(String nomeUsuario, Map<String, Object> updates) {
@@ -77,6 +83,12 @@ public class OngValidacao {
                 throw new IllegalStateException("Nome de usuário já está em uso por outra ong");
             }
         }
+
+        // email e nome de usuário também não podem ser de um perfil de outro tipo
+        identidadeLoginValidacao.validate(
+                updates.containsKey("email") ? updates.get("email").toString().toLowerCase() : null,
+                updates.containsKey("nomeUsuario") ? updates.get("nomeUsuario").toString() : null,
+                IdentidadeLoginValidacao.perfilComNomeUsuario("ong", nomeUsuario));
     }
 
     public void validarEnderecoPreenchido(EnderecoVO endereco) {
@@ -17,6 +17,8 @@ public class UsuarioValidacao {
 
     private final UsuarioRepository usuarioRepository;
 
+    private final IdentidadeLoginValidacao identidadeLoginValidacao;
+
     public void validate(RegistroDTO registroDTO) {
         if (registroDTO == null) {
             throw new RequiredObjectIsNullException("Não há dados");
@@ -34,6 +36,8 @@ public class UsuarioValidacao {
         if (existsUsuarioWithNomeUsuario(registroDTO.getNomeUsuario())) {
             throw new IllegalStateException("Nome de Usuário já está em uso");
         }
+        identidadeLoginValidacao.validate(registroDTO.getEmail().toLowerCase(), registroDTO.getNomeUsuario(),
+                IdentidadeLoginValidacao.perfilNovo());
     }
 
     public void validateUpdate(Usuario entity) {
@@ -46,6 +50,8 @@ public class UsuarioValidacao {
         if (existsUsuarioWithNomeUsuario(entity.getNomeUsuario())) {
             throw new IllegalStateException("Nome de Usuário já está em uso");
         }
+        identidadeLoginValidacao.validate(entity.getEmail().toLowerCase(), entity.getNomeUsuario(),
+                IdentidadeLoginValidacao.perfil("usuario", entity.getIdUsuario()));
     }
 
     public void validatePartialUpdate(String nomeUsuario, Map<String, Object> updates) {
@@ -76,6 +82,12 @@ public class UsuarioValidacao {
                 throw new IllegalStateException("Nome de usuário já está em uso por outro usuário");
             }
         }
+
+        // email e nome de usuário também não podem ser de um perfil de outro tipo
+        identidadeLoginValidacao.validate(
+                updates.containsKey("email") ? updates.get("email").toString().toLowerCase() : null,
+                updates.containsKey("nomeUsuario") ? updates.get("nomeUsuario").toString() : null,
+                IdentidadeLoginValidacao.perfilComNomeUsuario("usuario", nomeUsuario));
     }
 
     public boolean existsUsuarioWithEmail(String email) {
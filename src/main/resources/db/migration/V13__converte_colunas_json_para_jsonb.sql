@@ -0,0 +1,16 @@
+-- endereco, site e descricao já guardavam JSON em texto; como jsonb o
+-- Postgres valida e armazena o documento decomposto, sem reparse a cada leitura
+ALTER TABLE ong
+    ALTER COLUMN endereco TYPE jsonb USING endereco::jsonb,
+    ALTER COLUMN site TYPE jsonb USING NULLIF(site, '')::jsonb;
+
+ALTER TABLE animal
+    ALTER COLUMN descricao TYPE jsonb USING NULLIF(descricao, '')::jsonb;
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- igualdade/ordenação pela cidade
+CREATE INDEX IF NOT EXISTS idx_ong_endereco_cidade ON ong ((endereco ->> 'cidade'));
+
+-- ILIKE '%cidade%' dos filtros de animais e ongs
+CREATE INDEX IF NOT EXISTS idx_ong_endereco_cidade_trgm ON ong USING gin ((endereco ->> 'cidade') gin_trgm_ops);
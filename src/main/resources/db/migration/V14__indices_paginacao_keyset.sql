@@ -0,0 +1,11 @@
+-- índices compostos da paginação keyset: cada página é um range scan a partir
+-- de (chave, id) do último item, sem ler e descartar as linhas anteriores
+CREATE INDEX IF NOT EXISTS idx_animal_nome_id ON animal (nome, id);
+
+CREATE INDEX IF NOT EXISTS idx_animal_ong_nome_id ON animal (ong_id, nome, id);
+
+CREATE INDEX IF NOT EXISTS idx_ong_nome_id ON ong (nome, id);
+
+CREATE INDEX IF NOT EXISTS idx_usuario_nome_id ON usuario (nome, id);
+
+CREATE INDEX IF NOT EXISTS idx_adocao_data_id ON adocao (data_adocao, id);
@@ -0,0 +1,19 @@
+-- busca textual dos animais: configuração portuguese com unaccent, para
+-- "docil" achar "dócil" e "vacinados" achar "vacinado"
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+CREATE TEXT SEARCH CONFIGURATION portugues_sem_acento (COPY = portuguese);
+
+ALTER TEXT SEARCH CONFIGURATION portugues_sem_acento
+    ALTER MAPPING FOR hword, hword_part, word WITH unaccent, portuguese_stem;
+
+-- nome pesa mais que raça/espécie, que pesam mais que o texto da descrição;
+-- coluna gerada: o Postgres recalcula a cada INSERT/UPDATE da linha
+ALTER TABLE animal ADD COLUMN busca tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('portugues_sem_acento', coalesce(nome, '')), 'A')
+    || setweight(to_tsvector('portugues_sem_acento', coalesce(raca, '') || ' ' || coalesce(especie, '')), 'B')
+    || setweight(to_tsvector('portugues_sem_acento',
+        coalesce(descricao ->> 'geral', '') || ' ' || coalesce(descricao ->> 'historicoSaude', '')), 'C')
+) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_animal_busca ON animal USING gin (busca);
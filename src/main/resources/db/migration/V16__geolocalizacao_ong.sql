@@ -0,0 +1,114 @@
+-- coordenadas da ong, usadas na busca de animais por proximidade; preenchidas
+-- a partir do CEP no cadastro e na alteração do endereço
+ALTER TABLE ong ADD COLUMN IF NOT EXISTS latitude DOUBLE PRECISION;
+
+ALTER TABLE ong ADD COLUMN IF NOT EXISTS longitude DOUBLE PRECISION;
+
+-- tabela offline de prefixo de CEP -> coordenada aproximada (centro da cidade
+-- ou região que o prefixo atende); vale o prefixo mais longo que casar
+CREATE TABLE IF NOT EXISTS cep_coordenada (
+    prefixo VARCHAR(8) PRIMARY KEY,
+    latitude DOUBLE PRECISION NOT NULL,
+    longitude DOUBLE PRECISION NOT NULL
+);
+
+INSERT INTO
+    cep_coordenada (prefixo, latitude, longitude)
+VALUES
+    ('01', -23.5505, -46.6333), -- São Paulo (centro)
+    ('02', -23.4980, -46.6250), -- São Paulo (zona norte)
+    ('03', -23.5440, -46.5750), -- São Paulo (zona leste)
+    ('04', -23.6180, -46.6400), -- São Paulo (zona sul)
+    ('05', -23.5560, -46.7100), -- São Paulo (zona oeste)
+    ('06', -23.5320, -46.7920), -- Osasco
+    ('07', -23.4540, -46.5330), -- Guarulhos
+    ('08', -23.5420, -46.4700), -- São Paulo (extremo leste)
+    ('09', -23.6640, -46.5380), -- Santo André
+    ('11', -23.9608, -46.3336), -- Santos
+    ('12', -23.1791, -45.8872), -- São José dos Campos
+    ('13', -22.9056, -47.0608), -- Campinas
+    ('14', -21.1775, -47.8103), -- Ribeirão Preto
+    ('15', -20.8197, -49.3794), -- São José do Rio Preto
+    ('16', -21.2089, -50.4328), -- Araçatuba
+    ('17', -22.3246, -49.0871), -- Bauru
+    ('18', -23.5015, -47.4526), -- Sorocaba
+    ('19', -22.1207, -51.3925), -- Presidente Prudente
+    ('20', -22.9035, -43.1800), -- Rio de Janeiro (centro)
+    ('21', -22.8600, -43.3000), -- Rio de Janeiro (zona norte)
+    ('22', -22.9700, -43.1900), -- Rio de Janeiro (zona sul)
+    ('23', -22.9100, -43.5600), -- Rio de Janeiro (zona oeste)
+    ('24', -22.8833, -43.1036), -- Niterói
+    ('25', -22.7856, -43.3117), -- Duque de Caxias
+    ('26', -22.7592, -43.4511), -- Nova Iguaçu
+    ('27', -22.5231, -44.1042), -- Volta Redonda
+    ('28', -21.7545, -41.3244), -- Campos dos Goytacazes
+    ('29', -20.3155, -40.3128), -- Vitória
+    ('30', -19.9167, -43.9345), -- Belo Horizonte
+    ('31', -19.8800, -43.9500), -- Belo Horizonte (norte)
+    ('32', -19.9320, -44.0539), -- Contagem
+    ('35', -19.4703, -42.5476), -- Ipatinga
+    ('36', -21.7642, -43.3503), -- Juiz de Fora
+    ('37', -21.5513, -45.4303), -- Varginha
+    ('38', -18.9186, -48.2772), -- Uberlândia
+    ('39', -16.7350, -43.8617), -- Montes Claros
+    ('40', -12.9714, -38.5014), -- Salvador
+    ('41', -12.9700, -38.4500), -- Salvador (orla)
+    ('44', -12.2664, -38.9663), -- Feira de Santana
+    ('45', -14.8615, -40.8442), -- Vitória da Conquista
+    ('49', -10.9472, -37.0731), -- Aracaju
+    ('50', -8.0476, -34.8770), -- Recife
+    ('51', -8.1100, -34.9000), -- Recife (sul)
+    ('52', -8.0300, -34.9200), -- Recife (norte)
+    ('53', -8.0089, -34.8553), -- Olinda
+    ('55', -8.2760, -35.9819), -- Caruaru
+    ('57', -9.6658, -35.7353), -- Maceió
+    ('58', -7.1195, -34.8450), -- João Pessoa
+    ('59', -5.7945, -35.2110), -- Natal
+    ('60', -3.7319, -38.5267), -- Fortaleza
+    ('64', -5.0920, -42.8038), -- Teresina
+    ('65', -2.5307, -44.3068), -- São Luís
+    ('66', -1.4558, -48.4902), -- Belém
+    ('68', -2.4430, -54.7083), -- Santarém
+    ('689', 0.0349, -51.0694), -- Macapá
+    ('69', -3.1190, -60.0217), -- Manaus
+    ('693', 2.8235, -60.6758), -- Boa Vista
+    ('699', -9.9747, -67.8076), -- Rio Branco
+    ('70', -15.7939, -47.8828), -- Brasília
+    ('71', -15.8300, -48.0000), -- Brasília (regiões administrativas)
+    ('72', -15.8800, -48.0800), -- Brasília (entorno)
+    ('74', -16.6869, -49.2648), -- Goiânia
+    ('77', -10.1844, -48.3336), -- Palmas
+    ('768', -8.7619, -63.9039), -- Porto Velho
+    ('78', -15.6014, -56.0979), -- Cuiabá
+    ('79', -20.4697, -54.6201), -- Campo Grande
+    ('80', -25.4284, -49.2733), -- Curitiba
+    ('81', -25.4700, -49.2900), -- Curitiba (sul)
+    ('82', -25.3900, -49.2600), -- Curitiba (norte)
+    ('83', -25.5300, -49.2000), -- São José dos Pinhais
+    ('84', -25.0916, -50.1668), -- Ponta Grossa
+    ('85', -24.9555, -53.4552), -- Cascavel
+    ('86', -23.3045, -51.1696), -- Londrina
+    ('87', -23.4205, -51.9333), -- Maringá
+    ('88', -27.5954, -48.5480), -- Florianópolis
+    ('89', -26.3045, -48.8487), -- Joinville
+    ('90', -30.0346, -51.2177), -- Porto Alegre
+    ('91', -30.0600, -51.1800), -- Porto Alegre (zona sul e leste)
+    ('92', -29.9178, -51.1839), -- Canoas
+    ('93', -29.6783, -51.1309), -- Novo Hamburgo
+    ('95', -29.1678, -51.1794), -- Caxias do Sul
+    ('96', -31.7654, -52.3376), -- Pelotas
+    ('97', -29.6842, -53.8069), -- Santa Maria
+    ('99', -28.2620, -52.4064) -- Passo Fundo
+ON CONFLICT (prefixo) DO NOTHING;
+
+-- ongs já cadastradas
+UPDATE ong o
+SET
+    (latitude, longitude) = (
+        SELECT c.latitude, c.longitude
+        FROM cep_coordenada c
+        WHERE regexp_replace(o.endereco ->> 'cep', '\D', '', 'g') LIKE c.prefixo || '%'
+        ORDER BY length(c.prefixo) DESC
+        LIMIT 1
+    )
+WHERE o.latitude IS NULL;
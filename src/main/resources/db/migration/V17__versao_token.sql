@@ -0,0 +1,41 @@
+-- versão dos tokens de cada conta, levada no JWT: trocar o email ou a role
+-- (ou incrementar a coluna direto no banco, para forçar o logout) invalida
+-- os tokens emitidos com a versão anterior
+ALTER TABLE usuario ADD COLUMN IF NOT EXISTS versao_token INTEGER NOT NULL DEFAULT 0;
+
+ALTER TABLE ong ADD COLUMN IF NOT EXISTS versao_token INTEGER NOT NULL DEFAULT 0;
+
+ALTER TABLE administrador ADD COLUMN IF NOT EXISTS versao_token INTEGER NOT NULL DEFAULT 0;
+
+-- a coluna nova entra no fim, como o CREATE OR REPLACE VIEW exige
+CREATE
+OR REPLACE VIEW v_login_identity AS
+SELECT
+    id,
+    email,
+    senha,
+    nome_usuario,
+    role,
+    versao_token
+FROM
+    usuario
+UNION
+SELECT
+    id,
+    email,
+    senha,
+    nome_usuario,
+    role,
+    versao_token
+FROM
+    ong
+UNION
+SELECT
+    id,
+    email,
+    senha,
+    nome_usuario,
+    role,
+    versao_token
+from
+    administrador;
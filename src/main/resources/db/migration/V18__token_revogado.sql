@@ -0,0 +1,11 @@
+-- tokens revogados no logout, por jti; as instâncias leem as linhas novas
+-- periodicamente (revogado_em) e apagam as que já expiraram (expira_em)
+CREATE TABLE IF NOT EXISTS token_revogado (
+    jti VARCHAR(100) PRIMARY KEY,
+    expira_em TIMESTAMP WITH TIME ZONE NOT NULL,
+    revogado_em TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_token_revogado_revogado_em ON token_revogado (revogado_em);
+
+CREATE INDEX IF NOT EXISTS idx_token_revogado_expira_em ON token_revogado (expira_em);
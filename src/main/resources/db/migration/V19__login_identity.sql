@@ -0,0 +1,135 @@
+-- identidade de login materializada: uma linha por usuario, ong ou
+-- administrador, mantida pelos gatilhos abaixo. Substitui a view
+-- v_login_identity, um UNION das três tabelas deduplicado a cada login, e
+-- tem chave própria (os ids das três tabelas se repetem)
+DROP VIEW IF EXISTS v_login_identity;
+
+CREATE TABLE IF NOT EXISTS login_identity (
+    id BIGSERIAL PRIMARY KEY,
+    tipo VARCHAR(20) NOT NULL,
+    perfil_id BIGINT NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    senha VARCHAR(255) NOT NULL,
+    nome_usuario VARCHAR(80) NOT NULL,
+    role VARCHAR(255) NOT NULL,
+    versao_token INTEGER NOT NULL DEFAULT 0,
+    CONSTRAINT uk_login_identity_perfil UNIQUE (tipo, perfil_id)
+);
+
+-- o login procura pelo email ou pelo nome de usuário numa consulta só; os
+-- dois passam a ser únicos entre as três tabelas
+CREATE UNIQUE INDEX IF NOT EXISTS uk_login_identity_email ON login_identity (lower(email));
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_login_identity_nome_usuario ON login_identity (nome_usuario);
+
+-- bancos existentes podem ter o mesmo email (sem diferenciar maiúsculas) ou
+-- nome de usuário em tabelas diferentes, o que faria a carga abaixo violar os
+-- índices. A migração não escolhe por ninguém: lista cada valor repetido com
+-- os perfis que o usam e falha, para os cadastros serem acertados à mão (com
+-- o dono da conta) antes de rodar de novo
+DO $$
+DECLARE
+    repetido RECORD;
+    conflitos INTEGER := 0;
+BEGIN
+    FOR repetido IN
+        WITH perfis AS (
+            SELECT 'administrador' AS tipo, id, email, nome_usuario FROM administrador
+            UNION ALL
+            SELECT 'ong', id, email, nome_usuario FROM ong
+            UNION ALL
+            SELECT 'usuario', id, email, nome_usuario FROM usuario
+        )
+        SELECT 'email' AS campo, lower(email) AS valor, string_agg(tipo || ' ' || id, ', ' ORDER BY tipo, id) AS perfis
+        FROM perfis
+        GROUP BY lower(email)
+        HAVING count(*) > 1
+        UNION ALL
+        SELECT 'nome_usuario', nome_usuario, string_agg(tipo || ' ' || id, ', ' ORDER BY tipo, id)
+        FROM perfis
+        GROUP BY nome_usuario
+        HAVING count(*) > 1
+    LOOP
+        conflitos := conflitos + 1;
+        RAISE WARNING 'login_identity: % "%" repetido em %', repetido.campo, repetido.valor, repetido.perfis;
+    END LOOP;
+
+    IF conflitos > 0 THEN
+        RAISE EXCEPTION 'login_identity: % valor(es) de email ou nome de usuário repetidos entre perfis', conflitos
+            USING HINT = 'Acerte os cadastros listados nos avisos acima e rode a migração de novo';
+    END IF;
+END;
+$$;
+
+INSERT INTO
+    login_identity (tipo, perfil_id, email, senha, nome_usuario, role, versao_token)
+SELECT 'usuario', id, email, senha, nome_usuario, role, versao_token FROM usuario
+UNION ALL
+SELECT 'ong', id, email, senha, nome_usuario, role, versao_token FROM ong
+UNION ALL
+SELECT 'administrador', id, email, senha, nome_usuario, role, versao_token FROM administrador;
+
+-- o tipo é o nome da tabela que disparou o gatilho
+CREATE
+OR REPLACE FUNCTION sincronizar_login_identity() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO
+            login_identity (tipo, perfil_id, email, senha, nome_usuario, role, versao_token)
+        VALUES
+            (TG_TABLE_NAME, NEW.id, NEW.email, NEW.senha, NEW.nome_usuario, NEW.role, NEW.versao_token);
+        RETURN NEW;
+    ELSIF TG_OP = 'UPDATE' THEN
+        UPDATE login_identity
+        SET
+            perfil_id = NEW.id,
+            email = NEW.email,
+            senha = NEW.senha,
+            nome_usuario = NEW.nome_usuario,
+            role = NEW.role,
+            versao_token = NEW.versao_token
+        WHERE
+            tipo = TG_TABLE_NAME
+            AND perfil_id = OLD.id;
+        RETURN NEW;
+    ELSE
+        DELETE FROM login_identity WHERE tipo = TG_TABLE_NAME AND perfil_id = OLD.id;
+        RETURN OLD;
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+-- o Hibernate regrava todas as colunas no UPDATE; a identidade só é tocada
+-- quando muda alguma coluna que ela carrega
+CREATE TRIGGER trg_usuario_login_identity
+AFTER INSERT OR DELETE ON usuario
+FOR EACH ROW EXECUTE FUNCTION sincronizar_login_identity();
+
+CREATE TRIGGER trg_usuario_login_identity_update
+AFTER UPDATE ON usuario
+FOR EACH ROW
+WHEN ((OLD.id, OLD.email, OLD.senha, OLD.nome_usuario, OLD.role, OLD.versao_token)
+    IS DISTINCT FROM (NEW.id, NEW.email, NEW.senha, NEW.nome_usuario, NEW.role, NEW.versao_token))
+EXECUTE FUNCTION sincronizar_login_identity();
+
+CREATE TRIGGER trg_ong_login_identity
+AFTER INSERT OR DELETE ON ong
+FOR EACH ROW EXECUTE FUNCTION sincronizar_login_identity();
+
+CREATE TRIGGER trg_ong_login_identity_update
+AFTER UPDATE ON ong
+FOR EACH ROW
+WHEN ((OLD.id, OLD.email, OLD.senha, OLD.nome_usuario, OLD.role, OLD.versao_token)
+    IS DISTINCT FROM (NEW.id, NEW.email, NEW.senha, NEW.nome_usuario, NEW.role, NEW.versao_token))
+EXECUTE FUNCTION sincronizar_login_identity();
+
+CREATE TRIGGER trg_administrador_login_identity
+AFTER INSERT OR DELETE ON administrador
+FOR EACH ROW EXECUTE FUNCTION sincronizar_login_identity();
+
+CREATE TRIGGER trg_administrador_login_identity_update
+AFTER UPDATE ON administrador
+FOR EACH ROW
+WHEN ((OLD.id, OLD.email, OLD.senha, OLD.nome_usuario, OLD.role, OLD.versao_token)
+    IS DISTINCT FROM (NEW.id, NEW.email, NEW.senha, NEW.nome_usuario, NEW.role, NEW.versao_token))
+EXECUTE FUNCTION sincronizar_login_identity();
@@ -0,0 +1,43 @@
+-- contas removidas, pelo id da login_identity que os tokens carregam (claim
+-- "conta"): sem isso, a conta some da tabela e as outras instâncias não têm
+-- como saber que os tokens dela foram revogados. Um cadastro novo com o mesmo
+-- email ganha outro id, então os tokens antigos continuam revogados. As
+-- linhas mais velhas que a validade do token são apagadas pelo VersoesToken
+CREATE TABLE IF NOT EXISTS login_identity_removida (
+    id BIGINT PRIMARY KEY,
+    removida_em TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_login_identity_removida_removida_em ON login_identity_removida (removida_em);
+
+CREATE
+OR REPLACE FUNCTION sincronizar_login_identity() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO
+            login_identity (tipo, perfil_id, email, senha, nome_usuario, role, versao_token)
+        VALUES
+            (TG_TABLE_NAME, NEW.id, NEW.email, NEW.senha, NEW.nome_usuario, NEW.role, NEW.versao_token);
+        RETURN NEW;
+    ELSIF TG_OP = 'UPDATE' THEN
+        UPDATE login_identity
+        SET
+            perfil_id = NEW.id,
+            email = NEW.email,
+            senha = NEW.senha,
+            nome_usuario = NEW.nome_usuario,
+            role = NEW.role,
+            versao_token = NEW.versao_token
+        WHERE
+            tipo = TG_TABLE_NAME
+            AND perfil_id = OLD.id;
+        RETURN NEW;
+    ELSE
+        WITH removida AS (
+            DELETE FROM login_identity WHERE tipo = TG_TABLE_NAME AND perfil_id = OLD.id RETURNING id
+        )
+        INSERT INTO login_identity_removida (id) SELECT id FROM removida ON CONFLICT DO NOTHING;
+        RETURN OLD;
+    END IF;
+END;
+$$ LANGUAGE plpgsql;
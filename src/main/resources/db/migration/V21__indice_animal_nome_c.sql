@@ -0,0 +1,2 @@
+-- ordem do filtro de animais (nome COLLATE "C", id), a mesma do IndiceAnimais
+CREATE INDEX IF NOT EXISTS idx_animal_nome_c_id ON animal (nome COLLATE "C", id);
@@ -0,0 +1,3 @@
+-- o filtro de animais voltou a ordenar pela collation do banco (nome, id),
+-- servida pelo idx_animal_nome_id
+DROP INDEX IF EXISTS idx_animal_nome_c_id;
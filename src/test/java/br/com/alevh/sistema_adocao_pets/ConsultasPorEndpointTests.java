@@ -0,0 +1,58 @@
+package br.com.alevh.sistema_adocao_pets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// quantidade de comandos SQL por endpoint, sobre os dados iniciais das
+// migrações; pega o retorno de associações EAGER ou de um N+1 num mapeamento.
+// size=1 garante que a contagem da página rode
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@WithMockUser(roles = "ADMIN")
+class ConsultasPorEndpointTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	// com o cache de segundo nível frio, para contar as consultas de verdade
+	@BeforeEach
+	void limparEstatisticasECache() {
+		SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+		sessionFactory.getCache().evictAllRegions();
+		statistics = sessionFactory.getStatistics();
+		statistics.clear();
+	}
+
+	@ParameterizedTest
+	@CsvSource({
+			"/api/v1/adocoes?size=1, 2", // lista de adoções: página + contagem
+			"/api/v1/adocoes/1, 1", // detalhe da adoção: animal e usuário no mesmo SELECT
+			"/api/v1/usuarios/NomeUsuario1, 1", // perfil do usuário: sem os favoritos
+			"/api/v1/ongs/NomeOng1/animais?size=1, 2", // animais da ong: página + contagem
+			"/api/v1/animais/Rex, 1" // detalhe do animal: a ong no mesmo SELECT
+	})
+	void endpointExecutaAsConsultasEsperadas(String uri, long comandos) throws Exception {
+		mockMvc.perform(get(uri)).andExpect(status().isOk());
+
+		assertEquals(comandos, statistics.getPrepareStatementCount(), uri);
+	}
+}
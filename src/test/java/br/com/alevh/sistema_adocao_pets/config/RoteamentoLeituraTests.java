@@ -0,0 +1,160 @@
+package br.com.alevh.sistema_adocao_pets.config;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.TransactionExecution;
+
+import jakarta.servlet.http.Cookie;
+
+// roteamento entre primário e réplica com dois DataSources falsos: conexão
+// readOnly na réplica, escrita no primário, e a janela de leitura própria
+// aberta só pelo commit de uma transação de escrita
+class RoteamentoLeituraTests {
+
+	private DataSource primario;
+
+	private DataSource replica;
+
+	private DataSource dataSource;
+
+	private LeituraPropriaInterceptor interceptor;
+
+	@BeforeEach
+	void montarDataSources() throws SQLException {
+		primario = dataSourceFalso();
+		replica = dataSourceFalso();
+		dataSource = new DataSourceConfig().dataSource(primario, replica);
+		interceptor = new LeituraPropriaInterceptor(5000);
+		// a primeira conexão do proxy abre uma no primário para ler os padrões
+		dataSource.getConnection().close();
+		clearInvocations(primario, replica);
+	}
+
+	@AfterEach
+	void limparThread() {
+		RoteamentoLeitura.usarPrimario(false);
+	}
+
+	@Test
+	void leituraVaiParaReplica() throws SQLException {
+		usar(true);
+
+		verify(replica).getConnection();
+		verify(primario, never()).getConnection();
+	}
+
+	@Test
+	void escritaVaiParaPrimario() throws SQLException {
+		usar(false);
+
+		verify(primario).getConnection();
+		verify(replica, never()).getConnection();
+	}
+
+	@Test
+	void leituraDepoisDeEscritaDoMesmoClienteVaiParaPrimario() throws Exception {
+		MockHttpServletResponse resposta = requisicao("PATCH", transacao(false));
+
+		leitura();
+		usar(true);
+
+		verify(primario).getConnection();
+		verify(replica, never()).getConnection();
+		assertNotNull(resposta.getCookie(LeituraPropriaInterceptor.COOKIE));
+	}
+
+	@Test
+	void consultaPorPostNaoTiraLeiturasDaReplica() throws Exception {
+		MockHttpServletResponse resposta = requisicao("POST", transacao(true));
+
+		leitura();
+		usar(true);
+
+		verify(replica).getConnection();
+		assertNull(resposta.getCookie(LeituraPropriaInterceptor.COOKIE));
+	}
+
+	@Test
+	void cookieDeOutroNoLevaLeituraParaPrimario() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/animais");
+		request.setRemoteAddr("10.0.0.9");
+		request.setCookies(new Cookie(LeituraPropriaInterceptor.COOKIE,
+				Long.toString(System.currentTimeMillis() + 3000)));
+
+		interceptor.preHandle(request, new MockHttpServletResponse(), null);
+		usar(true);
+
+		verify(primario).getConnection();
+	}
+
+	@Test
+	void cookieAlemDaJanelaEIgnorado() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/animais");
+		request.setCookies(new Cookie(LeituraPropriaInterceptor.COOKIE, Long.toString(Long.MAX_VALUE)));
+
+		interceptor.preHandle(request, new MockHttpServletResponse(), null);
+		usar(true);
+
+		verify(replica).getConnection();
+	}
+
+	// requisição completa: preHandle, commit da transação e afterCompletion
+	private MockHttpServletResponse requisicao(String metodo, TransactionExecution commit) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest(metodo, "/api/v1/animais");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		interceptor.preHandle(request, response, null);
+		interceptor.afterCommit(commit, null);
+		interceptor.afterCompletion(request, response, null, null);
+		return response;
+	}
+
+	// início de um GET do mesmo cliente: o roteamento vale até o afterCompletion
+	private void leitura() throws Exception {
+		interceptor.preHandle(new MockHttpServletRequest("GET", "/api/v1/animais"), new MockHttpServletResponse(),
+				null);
+	}
+
+	// como o Hibernate usa a conexão: marca readOnly e só então executa
+	private void usar(boolean somenteLeitura) throws SQLException {
+		try (Connection conexao = dataSource.getConnection()) {
+			conexao.setReadOnly(somenteLeitura);
+			conexao.createStatement();
+		}
+	}
+
+	private static TransactionExecution transacao(boolean somenteLeitura) {
+		return new TransactionExecution() {
+			@Override
+			public boolean isNewTransaction() {
+				return true;
+			}
+
+			@Override
+			public boolean isReadOnly() {
+				return somenteLeitura;
+			}
+		};
+	}
+
+	private static DataSource dataSourceFalso() throws SQLException {
+		DataSource dataSource = mock(DataSource.class);
+		when(dataSource.getConnection()).thenAnswer(invocacao -> mock(Connection.class));
+		return dataSource;
+	}
+}
@@ -0,0 +1,81 @@
+package br.com.alevh.sistema_adocao_pets.repository.custom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.AnimalFiltroDTO;
+
+// SQL gerado por combinação de campos preenchidos, reaproveitado entre
+// filtros do mesmo formato, e o escape do LIKE
+class CompiladorFiltroTests {
+
+	private final CompiladorFiltro<AnimalFiltroDTO> compilador = new CompiladorFiltro<AnimalFiltroDTO>()
+			.igual(AnimalFiltroDTO::getEspecie, "a.especie", "especie")
+			.igual(AnimalFiltroDTO::getPorte, "a.porte", "porte")
+			.contem(AnimalFiltroDTO::getNome, "a.nome", "nome");
+
+	private final CompiladorFiltro.Formato<AnimalFiltroDTO> formato = compilador
+			.formato("SELECT a.* FROM animal a", " ORDER BY a.nome");
+
+	@Test
+	void semFiltrosNaoTemWhere() {
+		ConsultaFiltro consulta = formato.compilar(new AnimalFiltroDTO());
+
+		assertEquals("SELECT a.* FROM animal a ORDER BY a.nome", consulta.sql());
+		assertTrue(consulta.params().isEmpty());
+	}
+
+	@Test
+	void soOsCamposPreenchidosEntram() {
+		AnimalFiltroDTO filtro = new AnimalFiltroDTO();
+		filtro.setEspecie("cachorro");
+		filtro.setNome("rex");
+
+		ConsultaFiltro consulta = formato.compilar(filtro);
+
+		assertEquals("SELECT a.* FROM animal a WHERE a.especie = :especie AND a.nome ILIKE :nome ORDER BY a.nome",
+				consulta.sql());
+		assertEquals(Map.of("especie", "cachorro", "nome", "%rex%"), consulta.params());
+	}
+
+	@Test
+	void condicaoFixaVemAntesDosPredicados() {
+		AnimalFiltroDTO filtro = new AnimalFiltroDTO();
+		filtro.setPorte("grande");
+
+		ConsultaFiltro consulta = compilador.formato("SELECT COUNT(*) FROM animal a", "a.status = 'DISPONIVEL'", "")
+				.compilar(filtro);
+
+		assertEquals("SELECT COUNT(*) FROM animal a WHERE a.status = 'DISPONIVEL' AND a.porte = :porte",
+				consulta.sql());
+	}
+
+	@Test
+	void mesmaCombinacaoReaproveitaOTexto() {
+		AnimalFiltroDTO primeiro = new AnimalFiltroDTO();
+		primeiro.setEspecie("gato");
+		AnimalFiltroDTO segundo = new AnimalFiltroDTO();
+		segundo.setEspecie("cachorro");
+
+		ConsultaFiltro consultaPrimeiro = formato.compilar(primeiro);
+		ConsultaFiltro consultaSegundo = formato.compilar(segundo);
+
+		assertSame(consultaPrimeiro.sql(), consultaSegundo.sql());
+		assertEquals("cachorro", consultaSegundo.params().get("especie"));
+	}
+
+	@Test
+	void curingasDoLikeViramTexto() {
+		AnimalFiltroDTO filtro = new AnimalFiltroDTO();
+		filtro.setNome("50%_a\\b");
+
+		ConsultaFiltro consulta = formato.compilar(filtro);
+
+		assertEquals("%50\\%\\_a\\\\b%", consulta.params().get("nome"));
+	}
+}
@@ -0,0 +1,65 @@
+package br.com.alevh.sistema_adocao_pets.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+// consumo, reposição pela taxa, teto na capacidade e o LRU de cada listra,
+// com o relógio passado pelo teste
+class BaldesTokensTests {
+
+	// um token por segundo, em tokens por nanossegundo
+	private static final double UM_POR_SEGUNDO = 1e-9;
+
+	private static final long SEGUNDO = 1_000_000_000L;
+
+	@Test
+	void esvaziaEPedeEspera() {
+		BaldesTokens baldes = new BaldesTokens(4, 100);
+
+		assertEquals(2, baldes.consumir("a", 3, UM_POR_SEGUNDO, 0).restantes());
+		assertEquals(1, baldes.consumir("a", 3, UM_POR_SEGUNDO, 0).restantes());
+		BaldesTokens.Consumo ultimo = baldes.consumir("a", 3, UM_POR_SEGUNDO, 0);
+		BaldesTokens.Consumo recusado = baldes.consumir("a", 3, UM_POR_SEGUNDO, 0);
+
+		assertTrue(ultimo.permitido());
+		assertFalse(recusado.permitido());
+		assertEquals(0, recusado.restantes());
+		assertEquals(SEGUNDO, recusado.nanosAteProximo());
+		assertEquals(3 * SEGUNDO, recusado.nanosAteCheio());
+	}
+
+	@Test
+	void repoePelaTaxaAteACapacidade() {
+		BaldesTokens baldes = new BaldesTokens(4, 100);
+		baldes.consumir("a", 2, UM_POR_SEGUNDO, 0);
+		baldes.consumir("a", 2, UM_POR_SEGUNDO, 0);
+
+		assertTrue(baldes.consumir("a", 2, UM_POR_SEGUNDO, SEGUNDO).permitido());
+		assertFalse(baldes.consumir("a", 2, UM_POR_SEGUNDO, SEGUNDO).permitido());
+		// parado muito tempo, volta só até a capacidade
+		assertEquals(1, baldes.consumir("a", 2, UM_POR_SEGUNDO, 100 * SEGUNDO).restantes());
+	}
+
+	@Test
+	void chavesTemBaldesSeparados() {
+		BaldesTokens baldes = new BaldesTokens(1, 100);
+		baldes.consumir("a", 1, UM_POR_SEGUNDO, 0);
+
+		assertFalse(baldes.consumir("a", 1, UM_POR_SEGUNDO, 0).permitido());
+		assertTrue(baldes.consumir("b", 1, UM_POR_SEGUNDO, 0).permitido());
+	}
+
+	@Test
+	void baldeEsquecidoPeloLruVoltaCheio() {
+		BaldesTokens baldes = new BaldesTokens(1, 2);
+		baldes.consumir("a", 1, UM_POR_SEGUNDO, 0);
+		baldes.consumir("b", 1, UM_POR_SEGUNDO, 0);
+		baldes.consumir("c", 1, UM_POR_SEGUNDO, 0);
+
+		assertTrue(baldes.consumir("a", 1, UM_POR_SEGUNDO, 0).permitido());
+		assertFalse(baldes.consumir("c", 1, UM_POR_SEGUNDO, 0).permitido());
+	}
+}
@@ -0,0 +1,134 @@
+package br.com.alevh.sistema_adocao_pets.security;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// limites do login (endereço e identificador) e do cadastro, com reposição
+// de um token por minuto para o teste não depender do relógio
+class LimiteRequisicoesFilterTests {
+
+	private static final String LOGIN = "/auth/user/login";
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private LimiteRequisicoesFilter filtro;
+
+	@BeforeEach
+	void montarFiltro() {
+		meterRegistry = new SimpleMeterRegistry();
+		filtro = new LimiteRequisicoesFilter(meterRegistry, 4, 1000, List.of("/auth/*/login"), 5, 1, 2, 1,
+				List.of("/auth/*/register", "/api/v1/administradores/register"), 1, 1);
+	}
+
+	@Test
+	void identificadorLimitadoEntreEnderecos() throws Exception {
+		assertEquals(200, login("10.0.0.1", "Ana@Exemplo.com").getStatus());
+		assertEquals(200, login("10.0.0.2", "ana@exemplo.com ").getStatus());
+
+		MockHttpServletResponse recusada = login("10.0.0.3", "ana@exemplo.com");
+
+		assertEquals(429, recusada.getStatus());
+		assertEquals("2", recusada.getHeader("RateLimit-Limit"));
+		assertNotNull(recusada.getHeader("Retry-After"));
+		assertEquals(1, meterRegistry.get("limite.requisicoes.rejeitadas").tag("grupo", "login")
+				.tag("chave", "identificador").counter().count());
+		assertEquals(200, login("10.0.0.3", "bia@exemplo.com").getStatus());
+	}
+
+	@Test
+	void enderecoLimitadoEntreIdentificadores() throws Exception {
+		for (int i = 0; i < 5; i++) {
+			assertEquals(200, login("10.0.0.1", "conta" + i).getStatus());
+		}
+
+		assertEquals(429, login("10.0.0.1", "outra").getStatus());
+		assertEquals(200, login("10.0.0.2", "outra").getStatus());
+	}
+
+	@Test
+	void corpoSemIdentificadorLimitadoPorEndereco() throws Exception {
+		assertEquals(200, corpo("10.0.0.1", "text/plain", "x").getStatus());
+		assertEquals(200, corpo("10.0.0.1", "application/json", "{invalido").getStatus());
+		assertEquals(429, corpo("10.0.0.1", "text/plain", "x").getStatus());
+
+		assertEquals(200, corpo("10.0.0.2", "text/plain", "x").getStatus());
+	}
+
+	@Test
+	void corpoChegaIntactoAoController() throws Exception {
+		MockHttpServletRequest request = requisicao(LOGIN, "10.0.0.1");
+		byte[] json = "{\"identifier\":\"ana\",\"password\":\"x\"}".getBytes(StandardCharsets.UTF_8);
+		request.setContentType("application/json");
+		request.setContent(json);
+		MockFilterChain chain = new MockFilterChain();
+
+		filtro.doFilter(request, new MockHttpServletResponse(), chain);
+
+		assertArrayEquals(json, chain.getRequest().getInputStream().readAllBytes());
+	}
+
+	@Test
+	void corpoGrandeRecusado() throws Exception {
+		assertEquals(413, corpo("10.0.0.1", "application/json", "x".repeat(4097)).getStatus());
+	}
+
+	@Test
+	void cadastroDoAdministradorLimitado() throws Exception {
+		assertEquals(200, post("/api/v1/administradores/register", "10.0.0.1").getStatus());
+		assertEquals(429, post("/api/v1/administradores/register", "10.0.0.1").getStatus());
+		assertEquals(429, post("/auth/ong/register", "10.0.0.1").getStatus());
+	}
+
+	@Test
+	void outrasRotasEMetodosPassamDireto() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			assertNull(post("/api/v1/animais/filtro", "10.0.0.1").getHeader("RateLimit-Limit"));
+		}
+		MockHttpServletRequest get = requisicao(LOGIN, "10.0.0.1");
+		get.setMethod("GET");
+		MockHttpServletResponse resposta = new MockHttpServletResponse();
+
+		filtro.doFilter(get, resposta, new MockFilterChain());
+
+		assertNull(resposta.getHeader("RateLimit-Limit"));
+	}
+
+	private MockHttpServletResponse login(String endereco, String identificador) throws Exception {
+		return corpo(endereco, "application/json", "{\"identifier\":\"" + identificador + "\",\"password\":\"x\"}");
+	}
+
+	private MockHttpServletResponse corpo(String endereco, String tipo, String corpo) throws Exception {
+		MockHttpServletRequest request = requisicao(LOGIN, endereco);
+		request.setContentType(tipo);
+		request.setContent(corpo.getBytes(StandardCharsets.UTF_8));
+		MockHttpServletResponse resposta = new MockHttpServletResponse();
+		filtro.doFilter(request, resposta, new MockFilterChain());
+		return resposta;
+	}
+
+	private MockHttpServletResponse post(String rota, String endereco) throws Exception {
+		MockHttpServletResponse resposta = new MockHttpServletResponse();
+		filtro.doFilter(requisicao(rota, endereco), resposta, new MockFilterChain());
+		return resposta;
+	}
+
+	private static MockHttpServletRequest requisicao(String rota, String endereco) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", rota);
+		request.setServletPath(rota);
+		request.setRemoteAddr(endereco);
+		return request;
+	}
+}
@@ -0,0 +1,126 @@
+package br.com.alevh.sistema_adocao_pets.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.alevh.sistema_adocao_pets.exceptions.HashingOverloadedException;
+
+// custo fixo e calibrado (com custos baixos para o teste ser rápido), leitura
+// do custo de um hash gravado e a recusa quando executor e fila estão cheios
+class SenhaEncoderTests {
+
+	@Test
+	void hashComOCustoFixado() {
+		try (SenhaEncoder encoder = new SenhaEncoder(1, 4, 250, 4, 5)) {
+			String hash = encoder.encode("segredo");
+
+			assertEquals(5, SenhaEncoder.custoDo(hash));
+			assertTrue(encoder.matches("segredo", hash));
+			assertFalse(encoder.matches("outro", hash));
+		}
+	}
+
+	@Test
+	void custoFixoNuncaAbaixoDoMinimo() {
+		try (SenhaEncoder encoder = new SenhaEncoder(1, 4, 250, 5, 4)) {
+			assertEquals(5, SenhaEncoder.custoDo(encoder.encode("segredo")));
+		}
+	}
+
+	@Test
+	void calibracaoFicaEntreOMinimoEOMaximo() {
+		try (SenhaEncoder rapido = new SenhaEncoder(1, 4, 0, 4, 0);
+				SenhaEncoder lento = new SenhaEncoder(1, 4, Long.MAX_VALUE, 4, 0)) {
+			assertEquals(4, SenhaEncoder.custoDo(rapido.encode("segredo")));
+			assertTrue(lento.upgradeEncoding("$2a$30$" + "x".repeat(53)));
+			assertFalse(lento.upgradeEncoding("$2a$31$" + "x".repeat(53)));
+		}
+	}
+
+	@Test
+	void rehashSoParaCima() {
+		try (SenhaEncoder encoder = new SenhaEncoder(1, 4, 250, 4, 6)) {
+			assertTrue(encoder.upgradeEncoding("$2a$05$" + "x".repeat(53)));
+			assertFalse(encoder.upgradeEncoding("$2a$06$" + "x".repeat(53)));
+			assertFalse(encoder.upgradeEncoding("$2a$12$" + "x".repeat(53)));
+			assertFalse(encoder.upgradeEncoding("texto-puro"));
+		}
+	}
+
+	@Test
+	void custoDoHash() {
+		assertEquals(10, SenhaEncoder.custoDo("$2a$10$" + "x".repeat(53)));
+		assertEquals(12, SenhaEncoder.custoDo("$2y$12$abc"));
+		assertNull(SenhaEncoder.custoDo(null));
+		assertNull(SenhaEncoder.custoDo("$2a$"));
+		assertNull(SenhaEncoder.custoDo("$2a$ab$xyz"));
+		assertNull(SenhaEncoder.custoDo("{noop}senha"));
+	}
+
+	@Test
+	void executorEFilaCheiosRecusamNaHora() throws Exception {
+		CountDownLatch liberar = new CountDownLatch(1);
+		CountDownLatch ocupado = new CountDownLatch(1);
+		try (SenhaEncoder encoder = new SenhaEncoder(1, 1, 250, 4, 4)) {
+			CompletableFuture<String> emExecucao = CompletableFuture
+					.supplyAsync(() -> encoder.encode(new SenhaPresa(ocupado, liberar)));
+			assertTrue(ocupado.await(5, TimeUnit.SECONDS));
+			CompletableFuture<String> naFila = new CompletableFuture<>();
+			Thread enfileirada = new Thread(() -> naFila.complete(encoder.encode("segredo")));
+			enfileirada.start();
+			// parada no get(): a tarefa dela já ocupa a única vaga da fila
+			long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+			while (enfileirada.getState() != Thread.State.WAITING && System.nanoTime() < limite) {
+				Thread.sleep(5);
+			}
+
+			HashingOverloadedException recusa = assertThrows(HashingOverloadedException.class,
+					() -> encoder.matches("segredo", "$2a$04$" + "x".repeat(53)));
+
+			assertTrue(recusa.getRetryAfterSegundos() >= 1);
+			liberar.countDown();
+			assertEquals(4, SenhaEncoder.custoDo(emExecucao.get(5, TimeUnit.SECONDS)));
+			assertEquals(4, SenhaEncoder.custoDo(naFila.get(5, TimeUnit.SECONDS)));
+		}
+	}
+
+	// segura a thread do executor até o teste liberar; o BCrypt lê a senha
+	// pelo toString
+	private record SenhaPresa(CountDownLatch lida, CountDownLatch liberar) implements CharSequence {
+
+		@Override
+		public String toString() {
+			lida.countDown();
+			try {
+				liberar.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return "segredo";
+		}
+
+		@Override
+		public int length() {
+			return toString().length();
+		}
+
+		@Override
+		public char charAt(int index) {
+			return toString().charAt(index);
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			return toString().subSequence(start, end);
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package br.com.alevh.sistema_adocao_pets.service.auth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+// sem falsos negativos e com a taxa de falsos positivos perto do 1% previsto
+class FiltroBloomTests {
+
+	@Test
+	void vazioNaoContemNada() {
+		assertFalse(new FiltroBloom(0).podeConter("jti"));
+	}
+
+	@Test
+	void capacidadeMinima() {
+		assertEquals(1024, new FiltroBloom(10).capacidade());
+		assertEquals(5000, new FiltroBloom(5000).capacidade());
+	}
+
+	@Test
+	void todosOsIncluidosPodemEstar() {
+		FiltroBloom filtro = new FiltroBloom(10_000);
+		String[] incluidos = new String[10_000];
+		for (int i = 0; i < incluidos.length; i++) {
+			incluidos[i] = UUID.randomUUID().toString();
+			filtro.adicionar(incluidos[i]);
+		}
+
+		for (String jti : incluidos) {
+			assertTrue(filtro.podeConter(jti));
+		}
+	}
+
+	@Test
+	void falsosPositivosNaCapacidade() {
+		FiltroBloom filtro = new FiltroBloom(10_000);
+		for (int i = 0; i < filtro.capacidade(); i++) {
+			filtro.adicionar(UUID.randomUUID().toString());
+		}
+
+		int falsos = 0;
+		int consultas = 100_000;
+		for (int i = 0; i < consultas; i++) {
+			if (filtro.podeConter(UUID.randomUUID().toString())) {
+				falsos++;
+			}
+		}
+
+		assertTrue(falsos < consultas * 0.02, "falsos positivos: " + falsos);
+	}
+}
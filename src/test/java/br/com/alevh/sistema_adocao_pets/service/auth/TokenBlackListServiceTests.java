@@ -0,0 +1,115 @@
+package br.com.alevh.sistema_adocao_pets.service.auth;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+
+import br.com.alevh.sistema_adocao_pets.model.TokenRevogado;
+import br.com.alevh.sistema_adocao_pets.repository.TokenRevogadoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// revogação no logout desta instância, leitura das revogações das outras pela
+// tabela e expiração junto com o token
+class TokenBlackListServiceTests {
+
+	private static final String SEGREDO = "segredo-de-teste";
+
+	private TokenRevogadoRepository repository;
+
+	private TokenBlackListService blacklist;
+
+	@BeforeEach
+	void montarServico() {
+		repository = mock(TokenRevogadoRepository.class);
+		when(repository.findRevogadosDesde(any(), any())).thenReturn(List.of());
+		TokenService tokenService = new TokenService(new MockEnvironment().withProperty("security.jwt.secret", SEGREDO),
+				new SimpleMeterRegistry(), 3_600_000, 100);
+		blacklist = new TokenBlackListService(tokenService, repository);
+	}
+
+	@Test
+	void logoutRevogaOJtiNaHora() {
+		Instant expiraEm = Instant.now().plus(1, ChronoUnit.HOURS).truncatedTo(ChronoUnit.SECONDS);
+
+		blacklist.addToBlacklist(requisicao(token("jti-1", expiraEm)));
+
+		verify(repository).revogar("jti-1", expiraEm);
+		assertTrue(blacklist.isTokenRevogado("jti-1"));
+		assertFalse(blacklist.isTokenRevogado("jti-2"));
+	}
+
+	@Test
+	void tokenInvalidoNaoGrava() {
+		blacklist.addToBlacklist(requisicao("nao.e.jwt"));
+
+		verify(repository, never()).revogar(anyString(), any());
+	}
+
+	@Test
+	void semBearerRecusado() {
+		assertThrows(RuntimeException.class, () -> blacklist.addToBlacklist(new MockHttpServletRequest()));
+	}
+
+	@Test
+	void revogacoesDeOutrasInstanciasLidasDaTabela() {
+		Instant agora = Instant.now();
+		List<TokenRevogado> tabela = List.of(revogado("outro-no", agora.plus(1, ChronoUnit.HOURS), agora),
+				revogado("vencido", agora.minusSeconds(1), agora));
+		when(repository.findRevogadosDesde(any(), any())).thenReturn(tabela);
+
+		blacklist.atualizar();
+
+		assertTrue(blacklist.isTokenRevogado("outro-no"));
+		assertFalse(blacklist.isTokenRevogado("vencido"));
+	}
+
+	@Test
+	void primeiraConsultaCarregaATabela() {
+		Instant agora = Instant.now();
+		List<TokenRevogado> tabela = List.of(revogado("antes-da-subida", agora.plus(1, ChronoUnit.HOURS), agora));
+		when(repository.findRevogadosDesde(any(), any())).thenReturn(tabela);
+
+		assertTrue(blacklist.isTokenRevogado("antes-da-subida"));
+	}
+
+	private static String token(String jti, Instant expiraEm) {
+		return JWT.create()
+				.withIssuer("auth-api")
+				.withSubject("ana@exemplo.com")
+				.withJWTId(jti)
+				.withExpiresAt(expiraEm)
+				.sign(Algorithm.HMAC256(SEGREDO));
+	}
+
+	private static MockHttpServletRequest requisicao(String token) {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader("Authorization", "Bearer " + token);
+		return request;
+	}
+
+	private static TokenRevogado revogado(String jti, Instant expiraEm, Instant revogadoEm) {
+		TokenRevogado revogado = mock(TokenRevogado.class);
+		when(revogado.getJti()).thenReturn(jti);
+		when(revogado.getExpiraEm()).thenReturn(expiraEm);
+		when(revogado.getRevogadoEm()).thenReturn(revogadoEm);
+		return revogado;
+	}
+}
@@ -0,0 +1,139 @@
+package br.com.alevh.sistema_adocao_pets.service.auth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.SignatureVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
+import com.github.benmanes.caffeine.cache.Cache;
+
+import br.com.alevh.sistema_adocao_pets.security.Roles;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// cache de tokens verificados: acerto na segunda verificação, chave pelo hash
+// do token, e nada servido do cache depois da troca do segredo
+class TokenServiceTests {
+
+	private static final String SEGREDO = "segredo-de-teste";
+
+	private MockEnvironment environment;
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private TokenService tokenService;
+
+	@BeforeEach
+	void montarServico() {
+		environment = new MockEnvironment().withProperty("security.jwt.secret", SEGREDO);
+		meterRegistry = new SimpleMeterRegistry();
+		tokenService = new TokenService(environment, meterRegistry, 3_600_000, 100);
+	}
+
+	@Test
+	void claimsDoToken() {
+		Instant expiraEm = Instant.now().plus(1, ChronoUnit.HOURS).truncatedTo(ChronoUnit.SECONDS);
+
+		TokenService.Claims claims = tokenService.validateToken(token(SEGREDO, expiraEm));
+
+		assertEquals(new TokenService.Claims("ana@exemplo.com", Roles.ONG, 3, 7L, "jti-1", expiraEm), claims);
+	}
+
+	@Test
+	void segundaVerificacaoVemDoCache() {
+		String token = token(SEGREDO, Instant.now().plus(1, ChronoUnit.HOURS));
+
+		TokenService.Claims primeira = tokenService.validateToken(token);
+		TokenService.Claims segunda = tokenService.validateToken(token);
+
+		assertSame(primeira, segunda);
+		assertEquals(1, gets("hit"));
+		assertEquals(1, gets("miss"));
+	}
+
+	@Test
+	void cacheGuardaOHashDoTokenENaoOToken() throws Exception {
+		String token = token(SEGREDO, Instant.now().plus(1, ChronoUnit.HOURS));
+
+		tokenService.validateToken(token);
+
+		String sha256 = HexFormat.of().formatHex(
+				MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+		assertEquals(Set.of(sha256), verificados().asMap().keySet());
+	}
+
+	@Test
+	void segredoTrocadoInvalidaOCache() {
+		String token = token(SEGREDO, Instant.now().plus(1, ChronoUnit.HOURS));
+		tokenService.validateToken(token);
+
+		environment.setProperty("security.jwt.secret", "segredo-novo");
+		tokenService.verificarSegredo();
+
+		assertThrows(SignatureVerificationException.class, () -> tokenService.validateToken(token));
+		tokenService.validateToken(token("segredo-novo", Instant.now().plus(1, ChronoUnit.HOURS)));
+	}
+
+	@Test
+	void tokenExpiradoOuDeOutroSegredoRecusado() throws Exception {
+		assertThrows(TokenExpiredException.class,
+				() -> tokenService.validateToken(token(SEGREDO, Instant.now().minusSeconds(5))));
+		assertThrows(SignatureVerificationException.class,
+				() -> tokenService.validateToken(token("outro", Instant.now().plus(1, ChronoUnit.HOURS))));
+		assertEquals(0, verificados().estimatedSize());
+	}
+
+	@Test
+	void tokenAntigoSemClaimsNovas() {
+		String token = JWT.create()
+				.withIssuer("auth-api")
+				.withSubject("ana@exemplo.com")
+				.withExpiresAt(Instant.now().plus(1, ChronoUnit.HOURS))
+				.sign(Algorithm.HMAC256(SEGREDO));
+
+		TokenService.Claims claims = tokenService.validateToken(token);
+
+		assertNull(claims.role());
+		assertNull(claims.versao());
+		assertNull(claims.conta());
+		assertEquals(JWT.decode(token).getSignature(), claims.id());
+	}
+
+	private double gets(String resultado) {
+		return meterRegistry.get("cache.gets").tag("cache", "tokens-verificados").tag("result", resultado)
+				.functionCounter().count();
+	}
+
+	private Cache<?, ?> verificados() throws ReflectiveOperationException {
+		Field campo = TokenService.class.getDeclaredField("verificados");
+		campo.setAccessible(true);
+		return (Cache<?, ?>) campo.get(tokenService);
+	}
+
+	private static String token(String segredo, Instant expiraEm) {
+		return JWT.create()
+				.withIssuer("auth-api")
+				.withSubject("ana@exemplo.com")
+				.withJWTId("jti-1")
+				.withClaim("role", "ONG")
+				.withClaim("ver", 3)
+				.withClaim("conta", 7L)
+				.withExpiresAt(expiraEm)
+				.sign(Algorithm.HMAC256(segredo));
+	}
+}
@@ -0,0 +1,161 @@
+package br.com.alevh.sistema_adocao_pets.service.indice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.com.alevh.sistema_adocao_pets.data.dto.common.EnderecoVO;
+import br.com.alevh.sistema_adocao_pets.data.dto.v1.AnimalFiltroDTO;
+import br.com.alevh.sistema_adocao_pets.enums.StatusAnimal;
+import br.com.alevh.sistema_adocao_pets.model.Animal;
+import br.com.alevh.sistema_adocao_pets.model.Ong;
+import br.com.alevh.sistema_adocao_pets.repository.AnimalRepository;
+
+// índice montado a partir de linhas falsas do banco: AND entre atributos,
+// cidade por trecho sem curingas, ordem da collation pt_BR do SQL nas duas
+// formas de paginar e as alterações recebidas depois do commit
+class IndiceAnimaisTests {
+
+	private final List<Object[]> linhas = new ArrayList<>();
+
+	private IndiceAnimais indice;
+
+	@BeforeEach
+	void montarIndice() {
+		linha(1, "Zeca", "cachorro", "DISPONIVEL", 10, "Campinas");
+		linha(2, "abel", "gato", "DISPONIVEL", 10, "Campinas");
+		linha(3, "Ágata", "cachorro", "ADOTADO", 20, "São Paulo");
+		linha(4, "Bob", "cachorro", "DISPONIVEL", 20, "São Paulo");
+		linha(5, "bea", "cachorro", "DISPONIVEL", 30, "Santos");
+		linha(6, "Bob", "cachorro", "DISPONIVEL", 30, "Santos");
+		AnimalRepository repository = mock(AnimalRepository.class);
+		when(repository.findAtributosIndexados()).thenAnswer(invocacao -> List.copyOf(linhas));
+		indice = new IndiceAnimais(repository);
+		indice.montar();
+	}
+
+	@Test
+	void semFiltroSegueACollationDoBanco() {
+		IndiceAnimais.Resultado resultado = consultar(new AnimalFiltroDTO(), 0, 10);
+
+		assertEquals(List.of(2L, 3L, 5L, 4L, 6L, 1L), resultado.ids());
+		assertEquals(6, resultado.total());
+	}
+
+	@Test
+	void paginaComOffsetPercorrendoAOrdem() {
+		IndiceAnimais.Resultado resultado = consultar(new AnimalFiltroDTO(), 2, 3);
+
+		assertEquals(List.of(5L, 4L, 6L), resultado.ids());
+		assertEquals(6, resultado.total());
+	}
+
+	@Test
+	void poucosResultadosOrdenadosSoEntreSi() {
+		for (int id = 7; id <= 30; id++) {
+			linha(id, "Zz" + id, "coelho", "DISPONIVEL", 40, "Sorocaba");
+		}
+		indice.verificar();
+		AnimalFiltroDTO filtro = new AnimalFiltroDTO();
+		filtro.setEspecie("cachorro");
+		filtro.setStatus("DISPONIVEL");
+
+		IndiceAnimais.Resultado resultado = consultar(filtro, 1, 2);
+
+		assertEquals(List.of(4L, 6L), resultado.ids());
+		assertEquals(4, resultado.total());
+	}
+
+	@Test
+	void cidadePorTrechoSemDiferencaDeCaixa() {
+		AnimalFiltroDTO filtro = new AnimalFiltroDTO();
+		filtro.setCidadeOng("SÃO paulo");
+
+		assertEquals(List.of(3L, 4L), consultar(filtro, 0, 10).ids());
+	}
+
+	@Test
+	void curingaDoLikeNaCidadeEhTexto() {
+		AnimalFiltroDTO filtro = new AnimalFiltroDTO();
+		filtro.setCidadeOng("%");
+
+		assertEquals(0, consultar(filtro, 0, 10).total());
+	}
+
+	@Test
+	void filtroPorNomeVaiParaOSql() {
+		AnimalFiltroDTO filtro = new AnimalFiltroDTO();
+		filtro.setNome("bob");
+
+		assertTrue(indice.consultar(filtro, 0, 10).isEmpty());
+	}
+
+	@Test
+	void alteracoesDepoisDoCommitEntramNoIndice() {
+		indice.animalAlterado(2L, new IndiceAnimais.Entrada("abel", "cachorro", null, null, null, "DISPONIVEL", 30L),
+				"Santos");
+		indice.animalRemovido(6L);
+		indice.ongAlterada(20L, "Campinas");
+		AnimalFiltroDTO filtro = new AnimalFiltroDTO();
+		filtro.setCidadeOng("campinas");
+
+		assertEquals(List.of(3L, 4L, 1L), consultar(filtro, 0, 10).ids());
+		filtro.setCidadeOng("santos");
+		assertEquals(List.of(2L, 5L), consultar(filtro, 0, 10).ids());
+	}
+
+	@Test
+	void idAcimaDe32BitsDesativa() {
+		indice.animalAlterado((long) Integer.MAX_VALUE + 1,
+				new IndiceAnimais.Entrada("x", "gato", null, null, null, "DISPONIVEL", 10L), "Campinas");
+
+		assertFalse(indice.pronto());
+		assertTrue(indice.consultar(new AnimalFiltroDTO(), 0, 10).isEmpty());
+	}
+
+	@Test
+	void satisfazConfereOAnimalLidoDoBanco() {
+		AnimalFiltroDTO filtro = new AnimalFiltroDTO();
+		filtro.setEspecie("cachorro");
+		filtro.setCidadeOng("paulo");
+		Animal animal = animal("cachorro", StatusAnimal.DISPONIVEL, "São Paulo");
+
+		assertTrue(IndiceAnimais.satisfaz(filtro, animal));
+		animal.getOng().getEndereco().setCidade("Santos");
+		assertFalse(IndiceAnimais.satisfaz(filtro, animal));
+		animal.getOng().setEndereco(null);
+		assertFalse(IndiceAnimais.satisfaz(filtro, animal));
+		filtro.setCidadeOng(null);
+		filtro.setStatus("ADOTADO");
+		assertFalse(IndiceAnimais.satisfaz(filtro, animal));
+	}
+
+	private IndiceAnimais.Resultado consultar(AnimalFiltroDTO filtro, long offset, int tamanho) {
+		return indice.consultar(filtro, offset, tamanho).orElseThrow();
+	}
+
+	private void linha(long id, String nome, String especie, String status, long ongId, String cidade) {
+		linhas.add(new Object[] { id, nome, especie, null, null, null, status, ongId, cidade });
+	}
+
+	private static Animal animal(String especie, StatusAnimal status, String cidade) {
+		EnderecoVO endereco = new EnderecoVO();
+		endereco.setCidade(cidade);
+		Ong ong = new Ong();
+		ong.setIdOng(20L);
+		ong.setEndereco(endereco);
+		Animal animal = new Animal();
+		animal.setEspecie(especie);
+		animal.setStatus(status);
+		animal.setOng(ong);
+		return animal;
+	}
+}
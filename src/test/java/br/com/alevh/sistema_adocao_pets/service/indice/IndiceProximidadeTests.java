@@ -0,0 +1,95 @@
+package br.com.alevh.sistema_adocao_pets.service.indice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import br.com.alevh.sistema_adocao_pets.repository.OngRepository;
+
+// grade de ongs em volta da Praça da Sé: raio atravessando células vizinhas,
+// ordem por distância e as alterações recebidas depois do commit
+class IndiceProximidadeTests {
+
+	private static final double LATITUDE = -23.5505;
+
+	private static final double LONGITUDE = -46.6333;
+
+	private final List<Object[]> linhas = new ArrayList<>();
+
+	private OngRepository repository;
+
+	private IndiceProximidade indice;
+
+	@BeforeEach
+	void montarGrade() {
+		linha(1, LATITUDE, LONGITUDE);
+		// ~10,2 km a oeste e ~11,1 km ao sul, em outras células
+		linha(2, LATITUDE, LONGITUDE - 0.1);
+		linha(3, LATITUDE - 0.1, LONGITUDE);
+		// Rio de Janeiro
+		linha(4, -22.9068, -43.1729);
+		repository = mock(OngRepository.class);
+		when(repository.findCoordenadas()).thenAnswer(invocacao -> List.copyOf(linhas));
+		indice = new IndiceProximidade(repository);
+	}
+
+	@Test
+	void distanciaPelaHaversine() {
+		assertEquals(361, IndiceProximidade.distanciaKm(LATITUDE, LONGITUDE, -22.9068, -43.1729), 1);
+		assertEquals(0, IndiceProximidade.distanciaKm(LATITUDE, LONGITUDE, LATITUDE, LONGITUDE));
+	}
+
+	@Test
+	void maisProximaPrimeiroDentroDoRaio() {
+		indice.montar();
+
+		assertEquals(List.of(1L, 2L, 3L), ids(indice.proximas(LATITUDE, LONGITUDE, 12)));
+		assertEquals(List.of(1L, 2L), ids(indice.proximas(LATITUDE, LONGITUDE, 10.5)));
+	}
+
+	@Test
+	void antesDaMontagemLeDoBancoACadaBusca() {
+		indice.proximas(LATITUDE, LONGITUDE, 12);
+		indice.proximas(LATITUDE, LONGITUDE, 12);
+		indice.montar();
+		indice.proximas(LATITUDE, LONGITUDE, 12);
+
+		verify(repository, times(3)).findCoordenadas();
+	}
+
+	@Test
+	void alteracoesDepoisDoCommitMovemAOng() {
+		indice.montar();
+
+		indice.ongAlterada(4L, LATITUDE + 0.01, LONGITUDE);
+		indice.ongAlterada(2L, null, null);
+		indice.ongRemovida(3L);
+
+		assertEquals(List.of(1L, 4L), ids(indice.proximas(LATITUDE, LONGITUDE, 12)));
+	}
+
+	@ParameterizedTest
+	@CsvSource({ "-91, 0, 10", "0, 181, 10", "NaN, 0, 10", "0, 0, 0", "0, 0, 101", "0, 0, NaN" })
+	void coordenadaOuRaioForaDaFaixa(double latitude, double longitude, double raioKm) {
+		assertThrows(IllegalArgumentException.class, () -> indice.proximas(latitude, longitude, raioKm));
+	}
+
+	private void linha(long idOng, double latitude, double longitude) {
+		linhas.add(new Object[] { idOng, latitude, longitude });
+	}
+
+	private static List<Long> ids(List<IndiceProximidade.OngProxima> proximas) {
+		return proximas.stream().map(IndiceProximidade.OngProxima::idOng).toList();
+	}
+}
@@ -0,0 +1,91 @@
+package br.com.alevh.sistema_adocao_pets.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+
+import br.com.alevh.sistema_adocao_pets.exceptions.InvalidCursorException;
+
+// ida e volta do cursor opaco, cursores inválidos e a montagem da página com
+// a linha extra que indica a próxima
+class CursorTests {
+
+	@Test
+	void codificadoVoltaIgual() {
+		Cursor cursor = Cursor.of("Rex / Totó", 42L);
+
+		assertEquals(cursor, Cursor.decodificar(cursor.codificar()));
+	}
+
+	@Test
+	void chaveComSeparadorUsaOUltimo() {
+		Cursor cursor = Cursor.of("a\u0000b", 7L);
+
+		assertEquals(cursor, Cursor.decodificar(cursor.codificar()));
+	}
+
+	@Test
+	void afterVazioPedeAPrimeiraPagina() {
+		Cursor inicio = Cursor.decodificar(" ");
+
+		assertEquals("", inicio.chave());
+		assertEquals(0L, inicio.id());
+		assertEquals(Float.POSITIVE_INFINITY, inicio.chaveComoRelevancia());
+		assertEquals(LocalDate.of(1, 1, 1), inicio.chaveComoData());
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "não-é-base64!", "c2VtLXNlcGFyYWRvcg", "eAB4" })
+	void cursorInvalidoRecusado(String after) {
+		assertThrows(InvalidCursorException.class, () -> Cursor.decodificar(after));
+	}
+
+	@Test
+	void chaveDeOutroTipoRecusada() {
+		Cursor cursor = Cursor.of("rex", 1L);
+
+		assertThrows(InvalidCursorException.class, cursor::chaveComoRelevancia);
+		assertThrows(InvalidCursorException.class, cursor::chaveComoData);
+	}
+
+	@Test
+	void linhaExtraGeraLinkDaProxima() {
+		CollectionModel<EntityModel<String>> pagina = Cursor.pagina(List.of("a", "b", "c"), 2, Link.of("/self"),
+				linha -> Cursor.of(linha, 1L), after -> Link.of("/next?after=" + after, IanaLinkRelations.NEXT));
+
+		assertEquals(List.of("a", "b"), pagina.getContent().stream().map(EntityModel::getContent).toList());
+		assertEquals("/next?after=" + Cursor.of("b", 1L).codificar(),
+				pagina.getRequiredLink(IanaLinkRelations.NEXT).getHref());
+	}
+
+	@Test
+	void ultimaPaginaSemLinkDaProxima() {
+		CollectionModel<EntityModel<Integer>> pagina = Cursor.pagina(List.of("1", "2"), 2, Link.of("/self"),
+				linha -> Cursor.of(linha, 1L), Integer::valueOf, after -> Link.of("/next", IanaLinkRelations.NEXT));
+
+		assertEquals(List.of(1, 2), pagina.getContent().stream().map(EntityModel::getContent).toList());
+		assertFalse(pagina.hasLink(IanaLinkRelations.NEXT));
+		assertEquals("/self", pagina.getRequiredLink(IanaLinkRelations.SELF).getHref());
+	}
+
+	@Test
+	void tamanhoZeroSemItensNemProxima() {
+		CollectionModel<EntityModel<String>> pagina = Cursor.pagina(List.of("a"), 0, Link.of("/self"),
+				linha -> Cursor.of(linha, 1L), Function.identity(), after -> Link.of("/next", IanaLinkRelations.NEXT));
+
+		assertEquals(0, pagina.getContent().size());
+		assertFalse(pagina.hasLink(IanaLinkRelations.NEXT));
+	}
+}
@@ -0,0 +1,90 @@
+package br.com.alevh.sistema_adocao_pets.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.alevh.sistema_adocao_pets.data.dto.common.EnderecoVO;
+import br.com.alevh.sistema_adocao_pets.enums.StatusAnimal;
+import br.com.alevh.sistema_adocao_pets.model.Animal;
+import br.com.alevh.sistema_adocao_pets.model.Ong;
+
+// semântica do JSON merge patch (RFC 7396) sobre as entidades: substituição
+// com conversão de tipo, null limpa, VO mesclado campo a campo e chaves
+// desconhecidas ignoradas
+class MergePatchTests {
+
+	@Test
+	void valoresSubstituidosPeloTipoDeclarado() {
+		Animal animal = new Animal();
+		animal.setNome("Rex");
+
+		MergePatch.aplicar(animal, Map.of("status", "ADOTADO", "dataNascimento", "2020-05-01"));
+
+		assertEquals("Rex", animal.getNome());
+		assertEquals(StatusAnimal.ADOTADO, animal.getStatus());
+		assertEquals(LocalDate.of(2020, 5, 1), animal.getDataNascimento());
+	}
+
+	@Test
+	void nullLimpaOCampo() {
+		Animal animal = new Animal();
+		animal.setRaca("vira-lata");
+		Map<String, Object> patch = new HashMap<>();
+		patch.put("raca", null);
+
+		MergePatch.aplicar(animal, patch);
+
+		assertNull(animal.getRaca());
+	}
+
+	@Test
+	void voMescladoCampoACampo() {
+		Ong ong = new Ong();
+		ong.setEndereco(new EnderecoVO("Rua A", "10", null, "Centro", "Campinas", "SP", "13000000"));
+
+		MergePatch.aplicar(ong, Map.of("endereco", Map.of("numero", "20", "complemento", "fundos")));
+
+		assertEquals("Rua A", ong.getEndereco().getLogradouro());
+		assertEquals("20", ong.getEndereco().getNumero());
+		assertEquals("fundos", ong.getEndereco().getComplemento());
+		assertEquals("Campinas", ong.getEndereco().getCidade());
+	}
+
+	@Test
+	void voAusenteCriadoPeloPatch() {
+		Ong ong = new Ong();
+
+		MergePatch.aplicar(ong, Map.of("endereco", Map.of("cidade", "Santos")));
+
+		assertNotNull(ong.getEndereco());
+		assertEquals("Santos", ong.getEndereco().getCidade());
+		assertNull(ong.getEndereco().getCep());
+	}
+
+	@Test
+	void camposDaSuperclasseAplicados() {
+		Ong ong = new Ong();
+
+		MergePatch.aplicar(ong, Map.of("nome", "Patas", "responsavel", "Ana"));
+
+		assertEquals("Patas", ong.getNome());
+		assertEquals("Ana", ong.getResponsavel());
+	}
+
+	@Test
+	void chavesDesconhecidasETransientIgnoradas() {
+		Ong ong = new Ong();
+		ong.setNome("Patas");
+
+		MergePatch.aplicar(ong, Map.of("naoExiste", "x", "carregadas", "y", "serialVersionUID", 2L));
+
+		assertEquals("Patas", ong.getNome());
+	}
+}